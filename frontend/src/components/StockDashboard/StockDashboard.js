@@ -42,67 +42,65 @@ function StockChart() {
     };
     
     /**
-     * Async function to fetch income statement data from the API.
+     * Shows a report, fetching it only if the bundle did not deliver it.
+     */
+    const showReport = async (tableKey, data, setState, setLoadingState) => {
+        if (!data) {
+            await fetchDataAndSetState(tableKey, setState, setLoadingState);
+        }
+        setSelectedReport(tableKey);
+    };
+
+    /**
+     * Async function to show income statement data.
      */
     const fetchIncomeStatementData = async () => {
-        await fetchDataAndSetState("incomeStatement", setIncomeStatement, setLoadingIncomeStatement);
-        setSelectedReport("incomeStatement");
+        await showReport("incomeStatement", incomeStatement, setIncomeStatement, setLoadingIncomeStatement);
     };
     
     /**
-     * Async function to fetch balance sheet data from the API.
+     * Async function to show balance sheet data.
      */
     const fetchBalanceSheetData = async () => {
-        await fetchDataAndSetState("balanceSheet", setBalanceSheet, setLoadingBalanceSheet);
-        setSelectedReport("balanceSheet");
+        await showReport("balanceSheet", balanceSheet, setBalanceSheet, setLoadingBalanceSheet);
     };
     
     /**
-     * Async function to fetch cash flow statement data from the API.
+     * Async function to show cash flow statement data.
      */
     const fetchCashFlowStatementData = async () => {
-        await fetchDataAndSetState("cashFlowStatement", setCashFlowStatement, setLoadingCashFlowStatement);
-        setSelectedReport("cashFlowStatement");
+        await showReport("cashFlowStatement", cashFlowStatement, setCashFlowStatement, setLoadingCashFlowStatement);
     };
 
     
     /**
-     * useEffect hook to fetch stock data from the API.
-     * Runs when the stock symbol changes.
+     * useEffect hook to fetch all dashboard data from the API in one request.
+     * Runs when the stock symbol changes. Sections that failed on the server stay empty
+     * and are fetched on demand.
      */
     useEffect(() => {
-        const fetchStockData = async () => {
-            try {
-                const data = await fetches.fetchData(`${symbol}/stocks`);
-                setStocks(data);
-            } catch (error) {
-                console.error("Error fetching stocks:", error);
-            } finally {
-                setLoadingStocks(false);
-            }
-        };
-
-        fetchStockData();
-    }, [symbol]);
-
-    /**
-     * useEffect hook to fetch overview data from the API.
-     * Runs when the stock symbol changes.
-     */
-    useEffect(() => {
-        const fetchOverviewData = async () => {
+        const fetchDashboardData = async () => {
+            setLoadingStocks(true);
             setLoadingOverview(true);
             try {
-                const data = await fetches.fetchData(`${symbol}/overview`);
-                setOverviewData(data);
+                const bundle = await fetches.fetchBundle(symbol);
+                if (bundle.errors && Object.keys(bundle.errors).length > 0) {
+                    console.error("Errors in dashboard bundle:", bundle.errors);
+                }
+                setStocks(bundle.stocks || []);
+                setOverviewData(bundle.overview || null);
+                setIncomeStatement(bundle.incomeStatement || null);
+                setBalanceSheet(bundle.balanceSheet || null);
+                setCashFlowStatement(bundle.cashFlowStatement || null);
             } catch (error) {
-                console.error("Error fetching overview data:", error);
+                console.error("Error fetching dashboard data:", error);
             } finally {
+                setLoadingStocks(false);
                 setLoadingOverview(false);
             }
         };
 
-        fetchOverviewData();
+        fetchDashboardData();
     }, [symbol]);
 
     /**
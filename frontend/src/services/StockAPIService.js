@@ -11,4 +11,15 @@ export const fetchData = async (endpoint, params = {}) => {
         console.error(`Error fetching data from ${endpoint}:`, error);
         throw error;
     }
-};
\ No newline at end of file
+};
+/**
+ * Fetches several dashboard datasets of a symbol in a single request.
+ *
+ * @param {string} symbol - The stock symbol.
+ * @param {string[]} [sections] - Section keys to include; all sections if omitted.
+ * @returns {Promise<object>} The bundle with one entry per section and an "errors" map.
+ */
+export const fetchBundle = async (symbol, sections) => {
+    const params = sections ? { sections: sections.join(',') } : {};
+    return fetchData(`${symbol}/bundle`, params);
+};
@@ -0,0 +1,137 @@
+package com.stockapp.StockApp.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stockapp.StockApp.util.DCFValuationUtil;
+import com.stockapp.StockApp.util.Distribution;
+import com.stockapp.StockApp.util.MonteCarloDCF;
+
+/**
+ * DCF and WACC calculations with the inputs of the IBM fixtures, for projections of 5 and
+ * 10 years plus the terminal growth rate, in both DCF precisions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DcfBenchmarks {
+    private static final BigDecimal RISK_FREE_RATE = new BigDecimal("0.0461");
+    private static final BigDecimal MARKET_RISK_PREMIUM = new BigDecimal("0.1");
+
+    private static final MonteCarloDCF.Company IBM = new MonteCarloDCF.Company(12_634_000_000.0, 927_256_000.0,
+            41_049_600_000.0, 0.0461, 1_712_000_000.0, 58_642_000_000.0, 236_574_000_000.0, -218_000_000.0,
+            5_797_000_000.0);
+
+    private final DCFValuationUtil dcfUtil = new DCFValuationUtil();
+    private final BigDecimal lastYearFCF = new BigDecimal("12634000000");
+    private final BigDecimal wacc = new BigDecimal("0.0903");
+    private final BigDecimal numberOfShares = new BigDecimal("927256000");
+    private final BigDecimal netDebt = new BigDecimal("41049600000");
+
+    /**
+     * Growth rates of the projection: declining from 8%, then 2.5% terminal growth.
+     */
+    @State(Scope.Benchmark)
+    public static class Projection {
+        @Param({"5", "10"})
+        private int years;
+
+        @Param({"DOUBLE", "BIG_DECIMAL"})
+        private DCFValuationUtil.Precision precision;
+
+        private DCFValuationUtil dcfUtil;
+        private List<BigDecimal> growthRates;
+
+        @Setup
+        public void setUp() {
+            dcfUtil = new DCFValuationUtil(precision);
+            BigDecimal[] rates = new BigDecimal[years + 1];
+            for (int i = 0; i < years; i++) {
+                rates[i] = BigDecimal.valueOf(0.08 - 0.005 * i);
+            }
+            rates[years] = new BigDecimal("0.025");
+            growthRates = List.of(rates);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateDCF(Projection projection) {
+        return projection.dcfUtil.calculateDCF(lastYearFCF, projection.growthRates, wacc, numberOfShares, netDebt);
+    }
+
+    @Benchmark
+    public BigDecimal calculateWACC() {
+        return dcfUtil.calculateWACCFromFinancialAndMarketData(RISK_FREE_RATE, new BigDecimal("0.71"),
+                new BigDecimal("1712000000"), new BigDecimal("58642000000"), new BigDecimal("236574000000"),
+                new BigDecimal("-218000000"), new BigDecimal("5797000000"), MARKET_RISK_PREMIUM);
+    }
+
+    /**
+     * A 50 x 50 sensitivity grid (discount rate x terminal growth rate) of a 10-year projection.
+     */
+    @Benchmark
+    public double[][] sensitivityGrid(Grid grid) {
+        double[] projected = grid.dcfUtil.projectCashFlows(12_634_000_000.0, grid.growthRates);
+        return grid.dcfUtil.calculateSensitivityGrid(projected, grid.discountRates, grid.terminalGrowthRates,
+                927_256_000.0, 41_049_600_000.0, grid.pool);
+    }
+
+    /**
+     * A Monte Carlo simulation of 100,000 valuations of a 10-year projection, drawing every
+     * growth rate, the terminal growth rate and beta.
+     */
+    @Benchmark
+    public MonteCarloDCF.Result monteCarlo100k(Grid grid) {
+        MonteCarloDCF.Inputs inputs = new MonteCarloDCF.Inputs(
+                Collections.nCopies(10, new Distribution(Distribution.Type.NORMAL, null, 0.06, 0.03, -0.2, null, 0.4)),
+                new Distribution(Distribution.Type.TRIANGULAR, null, null, null, 0.0, 0.025, 0.04),
+                new Distribution(Distribution.Type.UNIFORM, null, null, null, 0.5, null, 1.0), Distribution.fixed(0.1));
+        return new MonteCarloDCF(grid.dcfUtil, 0.005).simulate(IBM, inputs, 100_000, 42, Duration.ofMinutes(1), grid.pool);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Grid {
+        @Param({"1", "4"})
+        private int parallelism;
+
+        private final DCFValuationUtil dcfUtil = new DCFValuationUtil();
+        private final double[] growthRates = {0.08, 0.075, 0.07, 0.065, 0.06, 0.055, 0.05, 0.045, 0.04, 0.035, 0.025};
+        private final double[] discountRates = new double[50];
+        private final double[] terminalGrowthRates = new double[50];
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < 50; i++) {
+                discountRates[i] = 0.04 + 0.002 * i;
+                terminalGrowthRates[i] = 0.001 * i;
+            }
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.stockapp.StockApp.benchmark;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Cost of logging the DCF inputs of one valuation from 8 concurrent request threads: the nine
+ * {@code System.out.println} calls the valuation used to make (to an auto-flushing stream, like
+ * the console), against the single parameterized SLF4J line that replaced them, with DEBUG
+ * disabled (the default) and enabled behind the asynchronous appender of logback-spring.xml,
+ * and enabled behind a synchronous file appender for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmarks {
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%X{correlationId:-}] --- [%t] %logger{39} : %m%n";
+
+    private final BigDecimal totalDebt = new BigDecimal("58642000000");
+    private final BigDecimal netDebt = new BigDecimal("41049400000");
+    private final BigDecimal interestExpense = new BigDecimal("1712000000");
+    private final BigDecimal taxProvision = new BigDecimal("-218000000");
+    private final BigDecimal pretaxIncome = new BigDecimal("5797000000");
+    private final BigDecimal lastYearFCF = new BigDecimal("12634000000");
+    private final BigDecimal beta = new BigDecimal("0.71");
+    private final BigDecimal marketCapitalization = new BigDecimal("236574000000");
+    private final BigDecimal numberOfShares = new BigDecimal("927256000");
+
+    private Path directory;
+    private PrintStream console;
+    private Logger disabled;
+    private Logger async;
+    private Logger sync;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        console = new PrintStream(new FileOutputStream(directory.resolve("console.log").toFile()), true);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+
+        disabled = context.getLogger("benchmark.disabled");
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.setIncludeCallerData(false);
+        asyncAppender.addAppender(fileAppender(context, "async.log"));
+        asyncAppender.start();
+        async = logger(context, "benchmark.async", asyncAppender);
+
+        sync = logger(context, "benchmark.sync", fileAppender(context, "sync.log"));
+        MDC.put("correlationId", "3f2b9c1e-4d5a-4e8b-9a7c-1d2e3f4a5b6c");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        console.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void systemOutPrintln() {
+        console.println("totalDebt: " + totalDebt);
+        console.println("netDebt: " + netDebt);
+        console.println("interestExpense: " + interestExpense);
+        console.println("taxProvision: " + taxProvision);
+        console.println("pretaxIncome: " + pretaxIncome);
+        console.println("lastYearFCF: " + lastYearFCF);
+        console.println("beta: " + beta);
+        console.println("marketCapitalization: " + marketCapitalization);
+        console.println("numberOfShares: " + numberOfShares);
+    }
+
+    @Benchmark
+    public void debugDisabled() {
+        logInputs(disabled);
+    }
+
+    @Benchmark
+    public void debugAsyncAppender() {
+        logInputs(async);
+    }
+
+    @Benchmark
+    public void debugSyncFileAppender() {
+        logInputs(sync);
+    }
+
+    private void logInputs(Logger log) {
+        if (log.isDebugEnabled()) {
+            log.debug("DCF inputs of {}: totalDebt={}, netDebt={}, interestExpense={}, taxProvision={}, pretaxIncome={}, "
+                            + "lastYearFCF={}, beta={}, marketCapitalization={}, numberOfShares={}",
+                    "IBM", totalDebt, netDebt, interestExpense, taxProvision, pretaxIncome, lastYearFCF, beta,
+                    marketCapitalization, numberOfShares);
+        }
+    }
+
+    private FileAppender<ILoggingEvent> fileAppender(LoggerContext context, String file) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(directory.resolve(file).toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private static Logger logger(LoggerContext context, String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,105 @@
+package com.stockapp.StockApp.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stockapp.StockApp.AlphaVantageStubServer;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.model.BalanceSheet;
+import com.stockapp.StockApp.model.CashFlow;
+import com.stockapp.StockApp.model.IncomeStatement;
+import com.stockapp.StockApp.model.Overview;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator.FunctionType;
+import com.stockapp.StockApp.service.AlphaVantageService;
+import com.stockapp.StockApp.service.ResponseStore;
+import com.stockapp.StockApp.service.UpstreamQuotaScheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Parsing of upstream responses, from the bytes of a response body as the streaming parsers
+ * receive them: the recorded IBM fixtures and a synthetic 5000 row daily history (the size of
+ * a full daily download).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmarks {
+    private AlphaVantageService service;
+    private byte[] monthly;
+    private byte[] dailyFull;
+    private byte[] incomeStatement;
+    private byte[] balanceSheet;
+    private byte[] cashFlow;
+    private byte[] overview;
+
+    @Setup
+    public void setUp() {
+        AlphaVantageProperties properties = new AlphaVantageProperties();
+        service = new AlphaVantageService(null, properties, ResponseStore.NONE,
+                new UpstreamQuotaScheduler(properties, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        monthly = bytes(Fixtures.forFunction(FunctionType.TIME_SERIES_MONTHLY_ADJUSTED));
+        dailyFull = bytes(AlphaVantageStubServer.responseBody(FunctionType.TIME_SERIES_DAILY_ADJUSTED, "IBM", false));
+        incomeStatement = bytes(Fixtures.forFunction(FunctionType.INCOME_STATEMENT));
+        balanceSheet = bytes(Fixtures.forFunction(FunctionType.BALANCE_SHEET));
+        cashFlow = bytes(Fixtures.forFunction(FunctionType.CASH_FLOW));
+        overview = bytes(Fixtures.forFunction(FunctionType.OVERVIEW));
+    }
+
+    @Benchmark
+    public PriceSeries parseMonthlyStockData() {
+        return service.parseStockData("IBM", new ByteArrayInputStream(monthly), FunctionType.TIME_SERIES_MONTHLY_ADJUSTED);
+    }
+
+    @Benchmark
+    public PriceSeries parseDailyStockData() {
+        return service.parseStockData("IBM", new ByteArrayInputStream(dailyFull), FunctionType.TIME_SERIES_DAILY_ADJUSTED);
+    }
+
+    @Benchmark
+    public PriceSeries parseDailyStockDataWithOhlcv() {
+        return service.parseStockData("IBM", new ByteArrayInputStream(dailyFull), FunctionType.TIME_SERIES_DAILY_ADJUSTED, true);
+    }
+
+    @Benchmark
+    public List<IncomeStatement> parseAnnualIncomeStatement() {
+        return service.parseAnnualIncomeStatement("IBM", new ByteArrayInputStream(incomeStatement), FunctionType.INCOME_STATEMENT);
+    }
+
+    @Benchmark
+    public List<BalanceSheet> parseAnnualBalanceSheet() {
+        return service.parseAnnualBalanceSheet("IBM", new ByteArrayInputStream(balanceSheet), FunctionType.BALANCE_SHEET);
+    }
+
+    @Benchmark
+    public List<CashFlow> parseAnnualCashFlow() {
+        return service.parseAnnualCashFlow("IBM", new ByteArrayInputStream(cashFlow), FunctionType.CASH_FLOW);
+    }
+
+    @Benchmark
+    public Overview parseOverview() {
+        return service.parseOverview("IBM", new ByteArrayInputStream(overview), FunctionType.OVERVIEW);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
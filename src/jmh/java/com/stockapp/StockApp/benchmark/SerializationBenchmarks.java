@@ -0,0 +1,101 @@
+package com.stockapp.StockApp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockapp.StockApp.AlphaVantageStubServer;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.model.BalanceSheet;
+import com.stockapp.StockApp.model.CashFlow;
+import com.stockapp.StockApp.model.IncomeStatement;
+import com.stockapp.StockApp.model.Overview;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator.FunctionType;
+import com.stockapp.StockApp.service.AlphaVantageService;
+import com.stockapp.StockApp.service.ResponseStore;
+import com.stockapp.StockApp.service.UpstreamQuotaScheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Jackson serialization of the models as the dashboard endpoints write them, with an object
+ * mapper configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmarks {
+    private ObjectMapper objectMapper;
+    private PriceSeries monthly;
+    private PriceSeries dailyFull;
+    private List<IncomeStatement> incomeStatements;
+    private List<BalanceSheet> balanceSheets;
+    private List<CashFlow> cashFlows;
+    private Overview overview;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        AlphaVantageProperties properties = new AlphaVantageProperties();
+        AlphaVantageService service = new AlphaVantageService(null, properties, ResponseStore.NONE,
+                new UpstreamQuotaScheduler(properties, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        monthly = service.parseStockData("IBM", Fixtures.forFunction(FunctionType.TIME_SERIES_MONTHLY_ADJUSTED),
+                FunctionType.TIME_SERIES_MONTHLY_ADJUSTED);
+        dailyFull = service.parseStockData("IBM", AlphaVantageStubServer.responseBody(FunctionType.TIME_SERIES_DAILY_ADJUSTED, "IBM", false),
+                FunctionType.TIME_SERIES_DAILY_ADJUSTED);
+        incomeStatements = service.parseAnnualIncomeStatement("IBM", Fixtures.forFunction(FunctionType.INCOME_STATEMENT),
+                FunctionType.INCOME_STATEMENT);
+        balanceSheets = service.parseAnnualBalanceSheet("IBM", Fixtures.forFunction(FunctionType.BALANCE_SHEET),
+                FunctionType.BALANCE_SHEET);
+        cashFlows = service.parseAnnualCashFlow("IBM", Fixtures.forFunction(FunctionType.CASH_FLOW), FunctionType.CASH_FLOW);
+        overview = service.parseOverview("IBM", Fixtures.forFunction(FunctionType.OVERVIEW), FunctionType.OVERVIEW);
+    }
+
+    @Benchmark
+    public byte[] writeMonthlyStockData() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(monthly);
+    }
+
+    @Benchmark
+    public byte[] writeDailyStockData() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dailyFull);
+    }
+
+    @Benchmark
+    public byte[] writeIncomeStatements() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(incomeStatements);
+    }
+
+    @Benchmark
+    public byte[] writeBalanceSheets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(balanceSheets);
+    }
+
+    @Benchmark
+    public byte[] writeCashFlows() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cashFlows);
+    }
+
+    @Benchmark
+    public byte[] writeOverview() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(overview);
+    }
+}
@@ -8,6 +8,5 @@ public class StockAppApplication {
 
 	public static void main(String[] args) {
     SpringApplication.run(StockAppApplication.class, args);
-    System.out.println("-----Building finnished-----");
 	}
 }
@@ -0,0 +1,115 @@
+package com.stockapp.StockApp.config;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Externalized settings for talking to the Alpha Vantage API.
+ * Values are bound from the {@code alphavantage.*} keys in {@code application.properties}.
+ */
+@ConfigurationProperties(prefix = "alphavantage")
+public class AlphaVantageProperties {
+    private String baseUrl = "https://www.alphavantage.co/query";
+    private String apiKey = "demo";
+    private final Http http = new Http();
+    private final Quota quota = new Quota();
+
+    /**
+     * @return The query endpoint of the API; pointed at a local stub for offline load tests.
+     */
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
+    /**
+     * @return The API key sent with every request.
+     */
+    public String getApiKey() { return apiKey; }
+    public void setApiKey(String apiKey) { this.apiKey = apiKey; }
+
+    public Http getHttp() { return http; }
+    public Quota getQuota() { return quota; }
+
+    /**
+     * Settings of the shared upstream {@link java.net.http.HttpClient}.
+     */
+    public static class Http {
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(20);
+        private int maxConnections = 16;
+        private Duration keepAlive = Duration.ofMinutes(2);
+        private int executorThreads = 4;
+        private boolean gzip = true;
+
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+        public Duration getRequestTimeout() { return requestTimeout; }
+        public void setRequestTimeout(Duration requestTimeout) { this.requestTimeout = requestTimeout; }
+
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+
+        public Duration getKeepAlive() { return keepAlive; }
+        public void setKeepAlive(Duration keepAlive) { this.keepAlive = keepAlive; }
+
+        public int getExecutorThreads() { return executorThreads; }
+        public void setExecutorThreads(int executorThreads) { this.executorThreads = executorThreads; }
+
+        public boolean isGzip() { return gzip; }
+        public void setGzip(boolean gzip) { this.gzip = gzip; }
+    }
+
+    /**
+     * Request budget of the API key, enforced before any request is sent.
+     */
+    public static class Quota {
+        private boolean enabled = true;
+        private int requestsPerMinute = 5;
+        private int burst = 5;
+        private int requestsPerDay = 25;
+        private ZoneId resetZone = ZoneId.of("UTC");
+        private Duration interactiveWait = Duration.ofSeconds(15);
+        private Duration backgroundWait = Duration.ofMinutes(2);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        /**
+         * @return The rate at which the token bucket refills.
+         */
+        public int getRequestsPerMinute() { return requestsPerMinute; }
+        public void setRequestsPerMinute(int requestsPerMinute) { this.requestsPerMinute = requestsPerMinute; }
+
+        /**
+         * @return The capacity of the token bucket, i.e. how many requests may be sent back to back.
+         */
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+
+        /**
+         * @return The number of requests per day, 0 for no daily limit.
+         */
+        public int getRequestsPerDay() { return requestsPerDay; }
+        public void setRequestsPerDay(int requestsPerDay) { this.requestsPerDay = requestsPerDay; }
+
+        /**
+         * @return The time zone in which the daily budget resets at midnight.
+         */
+        public ZoneId getResetZone() { return resetZone; }
+        public void setResetZone(ZoneId resetZone) { this.resetZone = resetZone; }
+
+        /**
+         * @return How long a request made for a user may wait for quota before it fails.
+         */
+        public Duration getInteractiveWait() { return interactiveWait; }
+        public void setInteractiveWait(Duration interactiveWait) { this.interactiveWait = interactiveWait; }
+
+        /**
+         * @return How long a background (refresh, warm-up) request may wait for quota before it fails.
+         */
+        public Duration getBackgroundWait() { return backgroundWait; }
+        public void setBackgroundWait(Duration backgroundWait) { this.backgroundWait = backgroundWait; }
+    }
+}
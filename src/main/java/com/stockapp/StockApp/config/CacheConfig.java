@@ -1,9 +1,175 @@
 package com.stockapp.StockApp.config;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockapp.StockApp.model.MarketDataset;
+import com.stockapp.StockApp.model.URLCreator;
+import com.stockapp.StockApp.service.MarketDataService;
+import com.stockapp.StockApp.service.RequestPriority;
+import com.stockapp.StockApp.service.UpstreamQuotaScheduler;
+import com.stockapp.StockApp.util.PayloadSizeEstimator;
 
+/**
+ * Cache configuration of the application.
+ * <p>
+ * Every cache is a Caffeine cache with its own time-to-live and a size bound expressed as the
+ * estimated heap size of its entries, so a few long price histories weigh more than many
+ * small overviews. Statistics are recorded and published through the Actuator
+ * {@code /actuator/metrics/cache.*} and {@code /actuator/caches} endpoints.
+ * <p>
+ * Caches of dashboard datasets with a {@code refresh-after} are stale-while-revalidate: an
+ * entry older than that is still served while it is reloaded in the background, and if the
+ * reload fails the last good value stays until the hard TTL. Hot entries are additionally
+ * refreshed ahead of time by {@link com.stockapp.StockApp.service.CacheRefreshScheduler}. Like
+ * refresh-ahead, these reloads never eat into the daily reserve of the API budget
+ * ({@code stockapp.cache.refresh.daily-reserve}): once it is reached, stale entries are
+ * served as they are until the budget resets.
+ * <p>
+ * Loads and reloads always replace an entry with a new value, which gives it a new
+ * {@link com.stockapp.StockApp.service.MarketDataVersions version}.
+ */
 @Configuration
 @EnableCaching
+@EnableScheduling
+@EnableConfigurationProperties(MarketDataCacheProperties.class)
 public class CacheConfig {
-}
\ No newline at end of file
+
+    /**
+     * Creates the cache manager with one cache per configured spec. Caches requested under
+     * any other name fall back to the default spec instead of growing without bounds.
+     * <p>
+     * With virtual threads enabled the caches are asynchronous: a loader blocking on the
+     * upstream API inside the map computation of a synchronous cache would pin the carrier
+     * thread (Java 21) and, with few carriers, stall every other request. An asynchronous
+     * cache only installs a future there and loads the value on the market data executor;
+     * callers still get a synchronous view.
+     *
+     * @param properties         The per-cache TTL and weight settings.
+     * @param marketDataService  The service reloading refreshed entries (resolved lazily, it
+     *                           depends on the cache infrastructure itself).
+     * @param marketDataExecutor The pool running the background reloads.
+     * @param quotaScheduler     The API quota, checked for the daily reserve before a reload.
+     * @param environment        The environment telling whether virtual threads are enabled.
+     * @return The Caffeine based cache manager.
+     */
+    @Bean
+    public CacheManager cacheManager(MarketDataCacheProperties properties,
+            ObjectProvider<MarketDataService> marketDataService, AsyncTaskExecutor marketDataExecutor,
+            UpstreamQuotaScheduler quotaScheduler, Environment environment) {
+        boolean async = Threading.VIRTUAL.isActive(environment);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(async);
+        cacheManager.setCaffeine(builder(properties.getDefaults(), async ? marketDataExecutor : null));
+        properties.getSpecs().forEach((name, spec) -> {
+            // Background reloads and asynchronous loads run on the market data executor.
+            Caffeine<Object, Object> builder = builder(spec,
+                    async || spec.getRefreshAfter() != null ? marketDataExecutor : null);
+            MarketDataset dataset = datasetOf(name);
+            if (dataset == null || spec.getRefreshAfter() == null) {
+                register(cacheManager, name, builder, null, async);
+                return;
+            }
+            // expireAfterAccess (= TTL, so it never expires entries earlier) exposes the access
+            // age of entries to the refresh-ahead scheduler.
+            builder.refreshAfterWrite(spec.getRefreshAfter()).expireAfterAccess(spec.getTtl());
+            register(cacheManager, name, builder, new DatasetLoader(dataset, marketDataService, quotaScheduler,
+                    properties.getRefresh().getDailyReserve()), async);
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Key generator for caches keyed by stock symbol. The symbol (first argument) is
+     * normalized so that differently typed symbols share one cache entry.
+     *
+     * @return The symbol key generator.
+     */
+    @Bean
+    public KeyGenerator symbolKeyGenerator() {
+        return (target, method, params) -> URLCreator.normalizeSymbol((String) params[0]);
+    }
+
+    private static void register(CaffeineCacheManager cacheManager, String name, Caffeine<Object, Object> builder,
+            CacheLoader<Object, Object> loader, boolean async) {
+        if (async) {
+            cacheManager.registerCustomCache(name, loader == null ? builder.buildAsync() : builder.buildAsync(loader));
+        } else {
+            cacheManager.registerCustomCache(name, loader == null ? builder.build() : builder.build(loader));
+        }
+    }
+
+    private static Caffeine<Object, Object> builder(MarketDataCacheProperties.Spec spec, Executor executor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder
+                .expireAfterWrite(spec.getTtl())
+                .maximumWeight(spec.getMaxWeight().toBytes())
+                .weigher((Object key, Object value) ->
+                        (int) Math.min(Integer.MAX_VALUE, PayloadSizeEstimator.estimateBytes(value)))
+                .recordStats();
+    }
+
+    /**
+     * Loads the entries of a dashboard dataset cache at background priority. A reload that
+     * would eat into the daily reserve of the API budget is cancelled, which keeps the stale
+     * entry; the next access after the budget has reset reloads it.
+     */
+    private static final class DatasetLoader implements CacheLoader<Object, Object> {
+        private final MarketDataset dataset;
+        private final ObjectProvider<MarketDataService> marketDataService;
+        private final UpstreamQuotaScheduler quotaScheduler;
+        private final int dailyReserve;
+
+        DatasetLoader(MarketDataset dataset, ObjectProvider<MarketDataService> marketDataService,
+                UpstreamQuotaScheduler quotaScheduler, int dailyReserve) {
+            this.dataset = dataset;
+            this.marketDataService = marketDataService;
+            this.quotaScheduler = quotaScheduler;
+            this.dailyReserve = dailyReserve;
+        }
+
+        @Override
+        public Object load(Object key) throws Exception {
+            return RequestPriority.callAs(RequestPriority.BACKGROUND,
+                    () -> marketDataService.getObject().reload(dataset, (String) key));
+        }
+
+        @Override
+        public CompletableFuture<? extends Object> asyncReload(Object key, Object oldValue, Executor executor) throws Exception {
+            if (!quotaScheduler.isAboveReserve(dailyReserve)) {
+                // Caffeine keeps the entry and, unlike for other failures, logs nothing.
+                return CompletableFuture.failedFuture(new CancellationException(
+                        "Daily reserve reached, not reloading " + dataset.getKey() + " of " + key));
+            }
+            return CacheLoader.super.asyncReload(key, oldValue, executor);
+        }
+    }
+
+    private static MarketDataset datasetOf(String cacheName) {
+        for (MarketDataset dataset : MarketDataset.values()) {
+            if (dataset.getKey().equals(cacheName)) {
+                return dataset;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.stockapp.StockApp.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.stockapp.StockApp.service.CorrelationIds;
+import com.stockapp.StockApp.service.RequestPriority;
+
+/**
+ * Executors used to load market data in parallel.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} (Java 21+) Tomcat handles requests on
+ * virtual threads and the market data loads run on virtual threads too, so a burst of slow
+ * upstream calls no longer exhausts a bounded pool. Upstream concurrency is then limited by
+ * the quota scheduler and the HTTP connection pool only.
+ */
+@Configuration
+@EnableConfigurationProperties(MarketDataProperties.class)
+public class ExecutorConfig {
+    private static final TaskDecorator PROPAGATE_CONTEXT =
+            task -> RequestPriority.propagate(CorrelationIds.propagate(task));
+
+    /**
+     * Executor on which independent datasets (e.g. the four DCF inputs) are fetched
+     * concurrently. Tasks run at the upstream request priority and with the correlation ID of
+     * the thread that submitted them.
+     * <p>
+     * On platform threads it is a bounded pool; when it is saturated the requesting thread
+     * loads the dataset itself. On virtual threads every task gets its own thread.
+     *
+     * @param properties  The market data settings.
+     * @param environment The environment telling whether virtual threads are enabled.
+     * @return The executor, shut down together with the application context.
+     */
+    @Bean
+    public AsyncTaskExecutor marketDataExecutor(MarketDataProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("market-data-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(PROPAGATE_CONTEXT);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getExecutorThreads());
+        executor.setMaxPoolSize(properties.getExecutorThreads());
+        executor.setQueueCapacity(properties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("market-data-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(PROPAGATE_CONTEXT);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
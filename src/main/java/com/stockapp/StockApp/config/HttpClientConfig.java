@@ -0,0 +1,94 @@
+package com.stockapp.StockApp.config;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Builds the single, long-lived {@link HttpClient} used for every Alpha Vantage call.
+ * <p>
+ * Sharing one client lets the JDK keep its connection pool, TLS sessions and selector
+ * thread alive between requests instead of paying for them on every dashboard tile.
+ */
+@Configuration
+@EnableConfigurationProperties(AlphaVantageProperties.class)
+public class HttpClientConfig {
+
+    /**
+     * Executor running the client's asynchronous work (response handling, body publishing)
+     * on a fixed number of threads.
+     * <p>
+     * Its queue has no capacity limit of its own, because neither alternative works here. The
+     * client submits tasks from its selector thread. A rejected task makes the JDK abort the
+     * selector, which fails every exchange of the client. Running the task on the submitter
+     * would stall I/O on every connection. The queue is bounded by admission control instead.
+     * The client only queues tasks for exchanges in flight, and every exchange needs a permit
+     * of the {@link com.stockapp.StockApp.service.UpstreamQuotaScheduler} first. Each exchange
+     * is also closed once the request timeout has expired. So at most {@code burst} plus
+     * {@code requests-per-minute} times the request timeout in minutes (rounded up) exchanges
+     * are open at a time; with the defaults (5, 5/min, 20s) that is 7. With the quota
+     * disabled, the bound is the number of threads calling the API (the market data executor).
+     * <p>
+     * With virtual threads enabled every task runs on its own virtual thread instead.
+     *
+     * @param properties  The Alpha Vantage settings.
+     * @param environment The environment telling whether virtual threads are enabled.
+     * @return The executor, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService alphaVantageHttpExecutor(AlphaVantageProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("alphavantage-http-", 1).factory());
+        }
+        AlphaVantageProperties.Http http = properties.getHttp();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "alphavantage-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(http.getExecutorThreads(), threadFactory);
+    }
+
+    /**
+     * Creates the shared upstream client. HTTP/2 is preferred and the client falls back to
+     * HTTP/1.1 when the server does not offer it.
+     * <p>
+     * The JDK connection pool is configured through the {@code jdk.httpclient.*} system
+     * properties, which are JVM-wide: explicit {@code -D} flags win, and the JDK reads them
+     * into constants when the first {@code HttpClient} of the JVM is created. If any client
+     * was created before this bean (by a library or a test), {@code max-connections} and
+     * {@code keep-alive} have no effect; pass them as {@code -D} flags in that case.
+     *
+     * @param properties The Alpha Vantage settings.
+     * @param alphaVantageHttpExecutor The executor for the client's asynchronous tasks.
+     * @return The configured HttpClient.
+     */
+    @Bean
+    public HttpClient alphaVantageHttpClient(AlphaVantageProperties properties, ExecutorService alphaVantageHttpExecutor) {
+        AlphaVantageProperties.Http http = properties.getHttp();
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(http.getMaxConnections()));
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(http.getKeepAlive().toSeconds()));
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(http.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(alphaVantageHttpExecutor)
+                .build();
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
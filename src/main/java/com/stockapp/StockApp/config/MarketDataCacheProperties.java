@@ -0,0 +1,100 @@
+package com.stockapp.StockApp.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Per-cache settings of the market data caches, bound from {@code stockapp.cache.*}.
+ * <p>
+ * Every entry of {@code stockapp.cache.specs} becomes one named cache, e.g.
+ * {@code stockapp.cache.specs.stocks.ttl=1d}.
+ */
+@ConfigurationProperties(prefix = "stockapp.cache")
+public class MarketDataCacheProperties {
+    private final Map<String, Spec> specs = new LinkedHashMap<>();
+    private final Spec defaults = new Spec();
+    private final Refresh refresh = new Refresh();
+
+    public Map<String, Spec> getSpecs() { return specs; }
+    public Refresh getRefresh() { return refresh; }
+
+    /**
+     * @return The settings used for caches created on the fly without an explicit spec.
+     */
+    public Spec getDefaults() { return defaults; }
+
+    /**
+     * Time-to-live and size bound of a single cache.
+     */
+    public static class Spec {
+        private Duration ttl = Duration.ofHours(1);
+        private Duration refreshAfter;
+        private DataSize maxWeight = DataSize.ofMegabytes(16);
+
+        /**
+         * @return The hard time-to-live: no entry is served once it is older than this.
+         */
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        /**
+         * @return The age after which an entry is reloaded in the background while the stale
+         *         value is still served, or null to only expire entries after the TTL.
+         */
+        public Duration getRefreshAfter() { return refreshAfter; }
+        public void setRefreshAfter(Duration refreshAfter) { this.refreshAfter = refreshAfter; }
+
+        /**
+         * @return The upper bound of the estimated heap size of all entries in the cache.
+         */
+        public DataSize getMaxWeight() { return maxWeight; }
+        public void setMaxWeight(DataSize maxWeight) { this.maxWeight = maxWeight; }
+    }
+
+    /**
+     * Settings of the refresh-ahead of hot entries.
+     */
+    public static class Refresh {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofMinutes(1);
+        private int hotEntries = 50;
+        private double aheadRatio = 0.8;
+        private int maxPerRun = 5;
+        private int dailyReserve = 5;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public Duration getInterval() { return interval; }
+        public void setInterval(Duration interval) { this.interval = interval; }
+
+        /**
+         * @return The number of most frequently used entries per cache considered for refresh-ahead.
+         */
+        public int getHotEntries() { return hotEntries; }
+        public void setHotEntries(int hotEntries) { this.hotEntries = hotEntries; }
+
+        /**
+         * @return The fraction of {@code refresh-after} from which a hot entry is refreshed ahead.
+         */
+        public double getAheadRatio() { return aheadRatio; }
+        public void setAheadRatio(double aheadRatio) { this.aheadRatio = aheadRatio; }
+
+        /**
+         * @return The maximum number of entries refreshed per run.
+         */
+        public int getMaxPerRun() { return maxPerRun; }
+        public void setMaxPerRun(int maxPerRun) { this.maxPerRun = maxPerRun; }
+
+        /**
+         * @return The part of the daily API budget never used for refresh-ahead and
+         *         refresh-after reloads.
+         */
+        public int getDailyReserve() { return dailyReserve; }
+        public void setDailyReserve(int dailyReserve) { this.dailyReserve = dailyReserve; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.stockapp.StockApp.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the market data layer, bound from {@code stockapp.market-data.*}.
+ */
+@ConfigurationProperties(prefix = "stockapp.market-data")
+public class MarketDataProperties {
+    private int executorThreads = 16;
+    private int executorQueueCapacity = 500;
+    private Duration fetchTimeout = Duration.ofSeconds(30);
+    private HistoryStoreType historyStore = HistoryStoreType.MAPPED;
+    private Path historyDirectory = Path.of("data", "prices");
+    private DataSize historyMaxWeight = DataSize.ofMegabytes(256);
+
+    /**
+     * @return The number of threads loading datasets in parallel.
+     */
+    public int getExecutorThreads() { return executorThreads; }
+    public void setExecutorThreads(int executorThreads) { this.executorThreads = executorThreads; }
+
+    public int getExecutorQueueCapacity() { return executorQueueCapacity; }
+    public void setExecutorQueueCapacity(int executorQueueCapacity) { this.executorQueueCapacity = executorQueueCapacity; }
+
+    /**
+     * @return The overall deadline for loading several datasets of one symbol in parallel.
+     */
+    public Duration getFetchTimeout() { return fetchTimeout; }
+    public void setFetchTimeout(Duration fetchTimeout) { this.fetchTimeout = fetchTimeout; }
+
+    /**
+     * @return Where price histories are kept: memory-mapped files or the heap.
+     */
+    public HistoryStoreType getHistoryStore() { return historyStore; }
+    public void setHistoryStore(HistoryStoreType historyStore) { this.historyStore = historyStore; }
+
+    /**
+     * @return The directory of the price files (mapped store only).
+     */
+    public Path getHistoryDirectory() { return historyDirectory; }
+    public void setHistoryDirectory(Path historyDirectory) { this.historyDirectory = historyDirectory; }
+
+    /**
+     * @return The upper bound of the estimated heap size of the stored price histories (heap store only).
+     */
+    public DataSize getHistoryMaxWeight() { return historyMaxWeight; }
+    public void setHistoryMaxWeight(DataSize historyMaxWeight) { this.historyMaxWeight = historyMaxWeight; }
+
+    /**
+     * Implementations of the price history store.
+     */
+    public enum HistoryStoreType {
+        /** Fixed-width record files read through memory mapping. */
+        MAPPED,
+        /** Bounded heap cache; histories are lost on restart. */
+        MEMORY
+    }
+}
@@ -0,0 +1,72 @@
+package com.stockapp.StockApp.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.stockapp.StockApp.service.InFlightRequests;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Metrics of components that do not publish their own, on top of the ones Spring Boot
+ * provides ({@code http.server.requests}, {@code cache.gets}, {@code cache.evictions}, JVM).
+ * Everything is scrapeable from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes {@code alphavantage.inflight} (distinct upstream requests in flight) and
+     * {@code alphavantage.inflight.coalesced} (callers that shared another caller's request).
+     *
+     * @param inFlightRequests The table of in-flight upstream requests.
+     * @return The meter binder.
+     */
+    @Bean
+    public MeterBinder inFlightRequestMetrics(InFlightRequests inFlightRequests) {
+        return registry -> {
+            Gauge.builder("alphavantage.inflight", inFlightRequests, InFlightRequests::getInFlightCount)
+                    .description("Distinct upstream requests in flight")
+                    .register(registry);
+            FunctionCounter.builder("alphavantage.inflight.coalesced", inFlightRequests, InFlightRequests::getCoalescedCount)
+                    .description("Callers served by another caller's upstream request")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the hit, miss and eviction ratios of every configured cache as
+     * {@code stockapp.cache.ratio} tagged with the cache name and the kind of ratio. The
+     * eviction ratio is the share of loaded entries that were evicted again.
+     *
+     * @param cacheManager The cache manager holding the Caffeine caches.
+     * @return The meter binder.
+     */
+    @Bean
+    public MeterBinder cacheRatioMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+                    continue;
+                }
+                Gauge.builder("stockapp.cache.ratio", nativeCache, c -> c.stats().hitRate())
+                        .tags("cache", name, "kind", "hit").register(registry);
+                Gauge.builder("stockapp.cache.ratio", nativeCache, c -> c.stats().missRate())
+                        .tags("cache", name, "kind", "miss").register(registry);
+                Gauge.builder("stockapp.cache.ratio", nativeCache, c -> evictionRatio(c.stats()))
+                        .tags("cache", name, "kind", "eviction").register(registry);
+            }
+        };
+    }
+
+    private static double evictionRatio(CacheStats stats) {
+        long loads = stats.loadCount();
+        return loads == 0 ? 0 : (double) stats.evictionCount() / loads;
+    }
+}
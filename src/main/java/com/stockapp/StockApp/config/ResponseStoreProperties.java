@@ -0,0 +1,55 @@
+package com.stockapp.StockApp.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Settings of the on-disk store of upstream responses, bound from {@code stockapp.response-store.*}.
+ */
+@ConfigurationProperties(prefix = "stockapp.response-store")
+public class ResponseStoreProperties {
+    private boolean enabled = true;
+    private Path directory = Path.of("data", "responses");
+    private int retain = 2;
+    private Duration defaultFreshness = Duration.ofDays(1);
+    private final Map<URLCreator.FunctionType, Duration> freshness = new EnumMap<>(URLCreator.FunctionType.class);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Path getDirectory() { return directory; }
+    public void setDirectory(Path directory) { this.directory = directory; }
+
+    /**
+     * @return The number of responses kept per symbol and function; older ones are deleted.
+     */
+    public int getRetain() { return retain; }
+    public void setRetain(int retain) { this.retain = retain; }
+
+    /**
+     * @return The maximum age of a stored response served for functions without own freshness rule.
+     */
+    public Duration getDefaultFreshness() { return defaultFreshness; }
+    public void setDefaultFreshness(Duration defaultFreshness) { this.defaultFreshness = defaultFreshness; }
+
+    /**
+     * @return The maximum age of a stored response served instead of calling the API, per function.
+     */
+    public Map<URLCreator.FunctionType, Duration> getFreshness() { return freshness; }
+
+    /**
+     * Returns the freshness rule of a function.
+     *
+     * @param function The Alpha Vantage function.
+     * @return The maximum age of a stored response of this function.
+     */
+    public Duration freshnessOf(URLCreator.FunctionType function) {
+        return freshness.getOrDefault(function, defaultFreshness);
+    }
+}
@@ -0,0 +1,46 @@
+package com.stockapp.StockApp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.stockapp.StockApp.service.DiskResponseStore;
+import com.stockapp.StockApp.service.InMemoryPriceHistoryStore;
+import com.stockapp.StockApp.service.MappedPriceHistoryStore;
+import com.stockapp.StockApp.service.PriceHistoryStore;
+import com.stockapp.StockApp.service.ResponseStore;
+
+/**
+ * Selects where upstream responses and price histories are kept between restarts.
+ */
+@Configuration
+@EnableConfigurationProperties({ResponseStoreProperties.class, MarketDataProperties.class})
+public class StorageConfig {
+
+    /**
+     * Creates the response store: a compressed on-disk store, or a store that keeps nothing
+     * when {@code stockapp.response-store.enabled=false}.
+     *
+     * @param properties The response store settings.
+     * @return The response store.
+     */
+    @Bean
+    public ResponseStore responseStore(ResponseStoreProperties properties) {
+        return properties.isEnabled() ? new DiskResponseStore(properties) : ResponseStore.NONE;
+    }
+
+    /**
+     * Creates the price history store selected by {@code stockapp.market-data.history-store}:
+     * memory-mapped record files (default) or a bounded heap cache.
+     *
+     * @param properties The market data settings.
+     * @return The price history store.
+     */
+    @Bean
+    public PriceHistoryStore priceHistoryStore(MarketDataProperties properties) {
+        return switch (properties.getHistoryStore()) {
+            case MAPPED -> new MappedPriceHistoryStore(properties.getHistoryDirectory());
+            case MEMORY -> new InMemoryPriceHistoryStore(properties);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.stockapp.StockApp.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.stockapp.StockApp.service.UniverseWarmUp;
+
+/**
+ * Binds the company universe and reports its warm-up as part of the application health.
+ */
+@Configuration
+@EnableConfigurationProperties(UniverseProperties.class)
+public class UniverseConfig {
+
+    /**
+     * Creates the {@code warmUp} health indicator: out of service until the warm-up has reached
+     * its ready threshold. It belongs to the readiness group, so
+     * {@code /actuator/health/readiness} stays down until then.
+     *
+     * @param warmUp The startup warm-up.
+     * @return The health indicator with the warm-up progress as details.
+     */
+    @Bean
+    public HealthIndicator warmUpHealthIndicator(UniverseWarmUp warmUp) {
+        return () -> {
+            Health.Builder health = warmUp.isReady() ? Health.up() : Health.outOfService();
+            health.withDetail("running", warmUp.isRunning())
+                    .withDetail("total", warmUp.getTotal())
+                    .withDetail("loaded", warmUp.getLoaded())
+                    .withDetail("failed", warmUp.getFailed());
+            if (warmUp.getReadyAfter() != null) {
+                health.withDetail("readyAfterMs", warmUp.getReadyAfter().toMillis());
+            }
+            if (warmUp.getDuration() != null) {
+                health.withDetail("durationMs", warmUp.getDuration().toMillis());
+            }
+            return health.build();
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.stockapp.StockApp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.stockapp.StockApp.model.MarketDataset;
+
+/**
+ * The company universe offered on the home page and pre-loaded at startup, bound from
+ * {@code stockapp.universe.*}, e.g. {@code stockapp.universe.companies[0].symbol=IBM}.
+ */
+@ConfigurationProperties(prefix = "stockapp.universe")
+public class UniverseProperties {
+    private final List<Company> companies = new ArrayList<>();
+    private final WarmUp warmUp = new WarmUp();
+
+    public List<Company> getCompanies() { return companies; }
+    public WarmUp getWarmUp() { return warmUp; }
+
+    /**
+     * A company of the universe.
+     */
+    public static class Company {
+        private String symbol;
+        private String name;
+
+        public String getSymbol() { return symbol; }
+        public void setSymbol(String symbol) { this.symbol = symbol; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    /**
+     * Settings of the startup warm-up of the universe.
+     */
+    public static class WarmUp {
+        private boolean enabled = true;
+        private Set<MarketDataset> sections = EnumSet.allOf(MarketDataset.class);
+        private int parallelism = 4;
+        private double readyThreshold = 0.8;
+        private Duration maxDuration = Duration.ofMinutes(5);
+        private int dailyReserve = 5;
+
+        /**
+         * @return Whether the universe is loaded when the application has started.
+         */
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        /**
+         * @return The datasets loaded per company.
+         */
+        public Set<MarketDataset> getSections() { return sections; }
+        public void setSections(Set<MarketDataset> sections) { this.sections = sections; }
+
+        /**
+         * @return The number of datasets loaded at the same time.
+         */
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+        /**
+         * @return The fraction of datasets that must be loaded before the application reports ready.
+         */
+        public double getReadyThreshold() { return readyThreshold; }
+        public void setReadyThreshold(double readyThreshold) { this.readyThreshold = readyThreshold; }
+
+        /**
+         * @return The time after which the warm-up stops and the application reports ready regardless.
+         */
+        public Duration getMaxDuration() { return maxDuration; }
+        public void setMaxDuration(Duration maxDuration) { this.maxDuration = maxDuration; }
+
+        /**
+         * @return The part of the daily API budget the warm-up leaves for users.
+         */
+        public int getDailyReserve() { return dailyReserve; }
+        public void setDailyReserve(int dailyReserve) { this.dailyReserve = dailyReserve; }
+    }
+}
@@ -0,0 +1,44 @@
+package com.stockapp.StockApp.config;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.stockapp.StockApp.util.DCFValuationUtil;
+
+/**
+ * DCF valuation settings, the calculator shared by all valuations and the pool valuing
+ * scenarios in parallel.
+ */
+@Configuration
+@EnableConfigurationProperties(ValuationProperties.class)
+public class ValuationConfig {
+
+    /**
+     * @param properties The valuation settings.
+     * @return The DCF calculator in the configured precision; it is stateless and thread-safe.
+     */
+    @Bean
+    public DCFValuationUtil dcfValuationUtil(ValuationProperties properties) {
+        return new DCFValuationUtil(properties.getPrecision());
+    }
+
+    /**
+     * Fork-join pool for CPU-bound valuation work (scenario batches). It is separate from the
+     * common pool and from the market data executor, whose threads mostly wait for I/O.
+     *
+     * @param properties The valuation settings.
+     * @return The pool, shut down together with the application context.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool valuationPool(ValuationProperties properties) {
+        return new ForkJoinPool(Math.max(1, properties.getParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("valuation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
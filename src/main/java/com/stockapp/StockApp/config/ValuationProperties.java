@@ -0,0 +1,86 @@
+package com.stockapp.StockApp.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.stockapp.StockApp.util.DCFValuationUtil;
+
+/**
+ * Settings of the DCF valuation, bound from {@code stockapp.valuation.*}.
+ */
+@ConfigurationProperties(prefix = "stockapp.valuation")
+public class ValuationProperties {
+    private DCFValuationUtil.Precision precision = DCFValuationUtil.Precision.DOUBLE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxScenarios = 1000;
+    private int maxGridSize = 101;
+    private final Simulation simulation = new Simulation();
+
+    /**
+     * @return The arithmetic of the DCF computation: {@code double} (fast) or
+     *         {@code big-decimal} (exact reference, for audits).
+     */
+    public DCFValuationUtil.Precision getPrecision() { return precision; }
+    public void setPrecision(DCFValuationUtil.Precision precision) { this.precision = precision; }
+
+    /**
+     * @return The number of threads valuing scenarios in parallel.
+     */
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    /**
+     * @return The maximum number of scenarios accepted in one batch request.
+     */
+    public int getMaxScenarios() { return maxScenarios; }
+    public void setMaxScenarios(int maxScenarios) { this.maxScenarios = maxScenarios; }
+
+    /**
+     * @return The maximum number of discount rates or terminal growth rates of a sensitivity grid.
+     */
+    public int getMaxGridSize() { return maxGridSize; }
+    public void setMaxGridSize(int maxGridSize) { this.maxGridSize = maxGridSize; }
+
+    public Simulation getSimulation() { return simulation; }
+
+    /**
+     * Settings of the Monte Carlo simulation.
+     */
+    public static class Simulation {
+        private long defaultIterations = 100_000;
+        private long maxIterations = 1_000_000;
+        private int maxProjectionYears = 50;
+        private Duration timeBudget = Duration.ofSeconds(2);
+        private double relativeAccuracy = 0.005;
+
+        /**
+         * @return The number of iterations of a simulation that does not ask for a number.
+         */
+        public long getDefaultIterations() { return defaultIterations; }
+        public void setDefaultIterations(long defaultIterations) { this.defaultIterations = defaultIterations; }
+
+        public long getMaxIterations() { return maxIterations; }
+        public void setMaxIterations(long maxIterations) { this.maxIterations = maxIterations; }
+
+        /**
+         * @return The maximum number of growth rate distributions (projected years) of a
+         *         simulation. Every iteration samples each of them, and the time budget is only
+         *         checked every few iterations, so this bounds the work between two checks.
+         */
+        public int getMaxProjectionYears() { return maxProjectionYears; }
+        public void setMaxProjectionYears(int maxProjectionYears) { this.maxProjectionYears = maxProjectionYears; }
+
+        /**
+         * @return The longest a simulation may run; a request may ask for less.
+         */
+        public Duration getTimeBudget() { return timeBudget; }
+        public void setTimeBudget(Duration timeBudget) { this.timeBudget = timeBudget; }
+
+        /**
+         * @return The relative accuracy of the reported percentiles.
+         */
+        public double getRelativeAccuracy() { return relativeAccuracy; }
+        public void setRelativeAccuracy(double relativeAccuracy) { this.relativeAccuracy = relativeAccuracy; }
+    }
+}
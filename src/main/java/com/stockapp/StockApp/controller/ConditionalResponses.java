@@ -0,0 +1,142 @@
+package com.stockapp.StockApp.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.stockapp.StockApp.config.MarketDataCacheProperties;
+import com.stockapp.StockApp.service.MarketDataVersions;
+
+/**
+ * HTTP caching of the cached dashboard datasets.
+ * <p>
+ * The entity tag of a response is derived from the {@link MarketDataVersions versions} of the
+ * cached values it is built from. The values are looked up like for any other request, which
+ * refreshes stale entries and counts as an access of hot ones, but a matching
+ * {@code If-None-Match} is answered with 304 without serializing them. The tag is weak: the
+ * identity and the gzip encoded body are the same data, and Tomcat does not compress
+ * responses with a strong tag.
+ * <p>
+ * {@code Last-Modified} is the time the newest of the values was first seen, for clients
+ * revalidating with {@code If-Modified-Since} only. It has a resolution of one second, so a
+ * value replaced twice within a second may be missed that way; {@code If-None-Match} takes
+ * precedence when both are sent, as required by RFC 9110.
+ * <p>
+ * {@code Cache-Control} allows clients to reuse a response for as long as the server serves
+ * the entry without reloading it: the {@code refresh-after} of the cache, or its TTL if it has
+ * none.
+ */
+@Component
+public class ConditionalResponses {
+    private final MarketDataVersions versions;
+    private final MarketDataCacheProperties properties;
+
+    /**
+     * Constructs the conditional response support.
+     *
+     * @param versions   The versions of the cached entries.
+     * @param properties The cache settings the max-age is derived from.
+     */
+    public ConditionalResponses(MarketDataVersions versions, MarketDataCacheProperties properties) {
+        this.versions = versions;
+        this.properties = properties;
+    }
+
+    /**
+     * Answers a GET of data built from cached values: 304 if the client's copy is current,
+     * otherwise 200 with the body. Both carry the entity tag, last modification time and
+     * max-age.
+     *
+     * @param <T>             The type of the body.
+     * @param ifNoneMatch     The {@code If-None-Match} header of the request, or null.
+     * @param ifModifiedSince The {@code If-Modified-Since} header of the request, or null.
+     * @param variant         What distinguishes the representation besides the values (e.g. a
+     *                        date range), or null; only characters allowed in an entity tag.
+     * @param cacheNames      The caches the values come from.
+     * @param values          The values as returned by the caches, one per cache.
+     * @param body            The body built from the values; only serialized if the client's
+     *                        copy is not current.
+     * @return The response.
+     */
+    public <T> ResponseEntity<T> respond(String ifNoneMatch, String ifModifiedSince, String variant,
+            List<String> cacheNames, List<?> values, T body) {
+        String eTag = eTag(variant, cacheNames, values);
+        Instant lastModified = versions.lastModified(values.toArray());
+        CacheControl cacheControl = cacheControl(cacheNames);
+        boolean notModified = ifNoneMatch != null
+                ? matches(ifNoneMatch, eTag)
+                : notModifiedSince(ifModifiedSince, lastModified);
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified)
+                    .cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).cacheControl(cacheControl).body(body);
+    }
+
+    /**
+     * @return The weak entity tag of a representation of the given cached values.
+     */
+    String eTag(String variant, List<String> cacheNames, List<?> values) {
+        return "W/\"" + String.join(".", cacheNames) + '-' + Long.toHexString(versions.getEpoch()) + '-'
+                + versions.combined(values.toArray()) + (variant == null ? "" : '-' + variant) + '"';
+    }
+
+    /**
+     * @return Public caching for the shortest time any of the caches serves an entry without
+     *         reloading it.
+     */
+    CacheControl cacheControl(List<String> cacheNames) {
+        Duration maxAge = null;
+        for (String cacheName : cacheNames) {
+            MarketDataCacheProperties.Spec spec = properties.getSpecs().getOrDefault(cacheName, properties.getDefaults());
+            Duration fresh = spec.getRefreshAfter() != null ? spec.getRefreshAfter() : spec.getTtl();
+            maxAge = maxAge == null || fresh.compareTo(maxAge) < 0 ? fresh : maxAge;
+        }
+        return CacheControl.maxAge(maxAge == null ? Duration.ZERO : maxAge).cachePublic();
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}: {@code W/} prefixes are ignored.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Whether the values have not changed since the given HTTP date; false if there is
+     *         none or it is invalid, which RFC 9110 requires to be ignored.
+     */
+    private static boolean notModifiedSince(String ifModifiedSince, Instant lastModified) {
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            return !lastModified.isAfter(ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
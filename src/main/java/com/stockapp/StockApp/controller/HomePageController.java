@@ -1,8 +1,8 @@
 package com.stockapp.StockApp.controller;
 
-import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,30 +12,41 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.stockapp.StockApp.config.UniverseProperties;
+import com.stockapp.StockApp.service.QuotaExceededException;
+
 /**
  * REST controller for the home page, providing access to company data.
  */
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
 public class HomePageController {
+    private final UniverseProperties universe;
+
+    /**
+     * Constructs the home page controller.
+     *
+     * @param universe The configured company universe ({@code stockapp.universe.companies}).
+     */
+    public HomePageController(UniverseProperties universe) {
+        this.universe = universe;
+    }
 
     /**
      * Retrieves a list of available companies.
      *
      * This endpoint returns a list of Company objects, each containing the 
      * symbol and name of a company.  This data is used to populate
-     * the company selection list on the frontend.
+     * the company selection list on the frontend. The companies are those of the
+     * configured universe, which is warmed up at startup.
      *
      * @return A list of Company objects.
      */
     @RequestMapping("/api/companies")
     public List<Company> getHomePage() {
-        List<Company> companies = Arrays.asList(
-                new Company("IBM", "International Business Machines"),
-                new Company("MSFT", "Microsoft"),
-                new Company("GOOG", "Alphabet (Google)")
-        );
-        return companies;
+        return universe.getCompanies().stream()
+                .map(company -> new Company(company.getSymbol(), company.getName()))
+                .toList();
     }
 
     /**
@@ -70,6 +81,14 @@ public class HomePageController {
             return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(QuotaExceededException.class)
+        @ResponseBody
+        public ResponseEntity<String> handleQuotaExceededException(QuotaExceededException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                    .body("Error fetching data: " + ex.getMessage());
+        }
+
         @ExceptionHandler(RuntimeException.class)
         @ResponseBody
         public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
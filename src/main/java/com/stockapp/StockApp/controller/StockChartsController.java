@@ -1,27 +1,36 @@
 package com.stockapp.StockApp.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.stockapp.StockApp.model.BalanceSheet;
 import com.stockapp.StockApp.model.CashFlow;
 import com.stockapp.StockApp.model.IncomeStatement;
+import com.stockapp.StockApp.model.MarketDataset;
 import com.stockapp.StockApp.model.Overview;
-import com.stockapp.StockApp.model.Stock;
-import com.stockapp.StockApp.model.URLCreator;
-import com.stockapp.StockApp.service.AlphaVantageService;
-import com.stockapp.StockApp.util.DCFValuationUtil;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.service.DashboardBundleService;
+import com.stockapp.StockApp.service.MarketDataService;
+import com.stockapp.StockApp.service.ValuationService;
 
 /**
  * REST Controller for the Stock Chart related API endpoints.
@@ -33,135 +42,220 @@ import com.stockapp.StockApp.util.DCFValuationUtil;
  * * The controller uses a service layer to handle data retrieval and parsing, ensuring 
  * separation of concerns and maintainability. It also implements cross-origin resource 
  * sharing (CORS) to allow requests from specific origins (e.g., a local React application).
+ * * The dashboard GET endpoints support conditional requests (see {@link ConditionalResponses}):
+ * a client sending back the ETag or Last-Modified date of its copy gets an empty 304 while the
+ * data is unchanged.
  */
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
 public class StockChartsController {
-    private final AlphaVantageService service = new AlphaVantageService();
+    private static final Logger log = LoggerFactory.getLogger(StockChartsController.class);
+
+    private final MarketDataService marketDataService;
+    private final ValuationService valuationService;
+    private final DashboardBundleService dashboardBundleService;
+    private final ConditionalResponses conditionalResponses;
+
+    /**
+     * Constructs the controller on top of the cached market data service.
+     *
+     * @param marketDataService      The service providing (cached) prices and financial statements.
+     * @param valuationService       The service computing DCF valuations.
+     * @param dashboardBundleService The service combining several datasets into one response.
+     * @param conditionalResponses   The support for ETags and conditional GETs.
+     */
+    public StockChartsController(MarketDataService marketDataService, ValuationService valuationService,
+            DashboardBundleService dashboardBundleService, ConditionalResponses conditionalResponses) {
+        this.marketDataService = marketDataService;
+        this.valuationService = valuationService;
+        this.dashboardBundleService = dashboardBundleService;
+        this.conditionalResponses = conditionalResponses;
+    }
 
     /**
      * Retrieves stock (price over time) data for a given symbol.
      *
      * @param symbol The stock symbol.
-     * @return A list of Stock objects representing the stock data.
+     * @param from   Optional first date (yyyy-MM-dd) of the returned range.
+     * @param to     Optional last date (yyyy-MM-dd) of the returned range.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return The price series of the stock, serialized as a list of {symbol, price, date} rows,
+     *         or 304 if the client's copy is current.
      * @throws IllegalArgumentException If the provided symbol is null or empty.
      * @throws RuntimeException If an error occurs during data retrieval.
      */
     @GetMapping("/api/stockDashboard/{symbol}/stocks")
-    @Cacheable(value = "stocks", key = "#symbol")
-    public List<Stock> getStockData(@PathVariable("symbol") String symbol) {
+    public ResponseEntity<PriceSeries> getStockData(@PathVariable("symbol") String symbol,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
         if (symbol == null || symbol.isEmpty()){
             throw new IllegalArgumentException("Please provide a stock symbol.");
         }
-        URLCreator stockURL = new URLCreator(symbol, URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED);
-        String url = stockURL.generateUrl();
-        System.out.println("stock url: " + url);
+        PriceSeries series = marketDataService.getStockData(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, rangeVariant(from, to),
+                List.of("stocks"), List.of(series), range(series, from, to));
+    }
 
-        try {
-            String jsonResponse = service.getJSONData(url);
-            return service.parseStockData(stockURL.getSymbol(), jsonResponse, stockURL.getFunction());
-        } catch (Exception e) {
-            System.err.println("ERROR fetching stock data: " + e.getMessage());
-            throw new RuntimeException("Error fetching stock data.", e);
+    /**
+     * Retrieves the daily (adjusted) price history of a given symbol.
+     *
+     * @param symbol The stock symbol.
+     * @param from   Optional first date (yyyy-MM-dd) of the returned range.
+     * @param to     Optional last date (yyyy-MM-dd) of the returned range.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return The daily price series of the stock, serialized as a list of {symbol, price, date} rows,
+     *         or 304 if the client's copy is current.
+     * @throws RuntimeException If an error occurs during data retrieval.
+     */
+    @GetMapping("/api/stockDashboard/{symbol}/stocks/daily")
+    public ResponseEntity<PriceSeries> getDailyStockData(@PathVariable("symbol") String symbol,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        PriceSeries series = marketDataService.getDailyStockData(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, rangeVariant(from, to),
+                List.of("dailyStocks"), List.of(series), range(series, from, to));
+    }
+
+    /**
+     * Restricts a cached series to a date range. The result is a view of the cached series
+     * (of the mapped price file with the mapped store), so no rows are copied.
+     */
+    private static PriceSeries range(PriceSeries series, LocalDate from, LocalDate to) {
+        return from == null && to == null ? series : series.between(from, to);
+    }
+
+    /**
+     * @return The part of the ETag telling date ranges apart, null for the whole series.
+     */
+    private static String rangeVariant(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
         }
+        return (from == null ? "" : from.toString()) + '_' + (to == null ? "" : to.toString());
     }
 
     /**
-     * Retrieves Overview data for a given symbol from an external API endpoint.
-     * The data is then parsed and mapped to a Overview object.
+     * Retrieves Overview data for a given symbol.
      * 
      * @param symbol The stock symbol.
-     * @return A Overview object representing overview data.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return A Overview object representing overview data,
+     *         or 304 if the client's copy is current.
      * @throws RuntimeException If an error occurs during data retrieval or parsing.
      */
     @GetMapping("/api/stockDashboard/{symbol}/overview")
-    @Cacheable(value = "overview", key = "#symbol")
-    public Overview getOverview(@PathVariable("symbol") String symbol) {
-        URLCreator URL = new URLCreator(symbol, URLCreator.FunctionType.OVERVIEW);
-        String url = URL.generateUrl();
-        System.out.println("Overview url: " + url);
-
-        try {
-            String jsonResponse = service.getJSONData(url);
-            return service.parseOverview(URL.getSymbol(), jsonResponse, URL.getFunction());
-        } catch (Exception e) {
-            System.err.println("ERROR fetching income statement data: " + e.getMessage());
-            throw new RuntimeException("Error fetching income statement data.", e);
-        }
+    public ResponseEntity<Overview> getOverview(@PathVariable("symbol") String symbol,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        Overview overview = marketDataService.getOverview(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, null, List.of("overview"),
+                List.of(overview), overview);
     }
 
     /**
-     * Retrieves annual income statement data for a given stock symbol from an external API endpoint.
-     * The data is then parsed and mapped to a list of IncomeStatement objects.
+     * Retrieves annual income statement data for a given stock symbol.
+     * The data is served from the cache or fetched from the API and mapped to a list of IncomeStatement objects.
      *
      * @param symbol The stock symbol.
-     * @return A list of Annual IncomeStatement objects representing the annual income statement data.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return A list of Annual IncomeStatement objects representing the annual income statement data,
+     *         or 304 if the client's copy is current.
      * @throws RuntimeException If an error occurs during data retrieval or parsing.
      */
     @GetMapping("/api/stockDashboard/{symbol}/incomeStatement")
-    @Cacheable(value = "incomeStatement", key = "#symbol")
-    public List<IncomeStatement> getAnnualIncomeStatements(@PathVariable("symbol") String symbol) {
-        URLCreator URL = new URLCreator(symbol, URLCreator.FunctionType.INCOME_STATEMENT);
-        String url = URL.generateUrl();
-        System.out.println("income statement url: " + url);
-
-        try {
-            String jsonResponse = service.getJSONData(url);
-            return service.parseAnnualIncomeStatement(URL.getSymbol(), jsonResponse, URL.getFunction());
-        } catch (Exception e) {
-            System.err.println("ERROR fetching income statement data: " + e.getMessage());
-            throw new RuntimeException("Error fetching income statement data.", e);
-        }
+    public ResponseEntity<List<IncomeStatement>> getAnnualIncomeStatements(@PathVariable("symbol") String symbol,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        List<IncomeStatement> incomeStatements = marketDataService.getAnnualIncomeStatements(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, null, List.of("incomeStatement"),
+                List.of(incomeStatements), incomeStatements);
     }
 
     /**
-     * Retrieves annual balance sheet data for a given stock symbol from an external API endpoint.
-     * The data is then parsed and mapped to a list of BalanceSheet objects.
+     * Retrieves annual balance sheet data for a given stock symbol.
+     * The data is served from the cache or fetched from the API and mapped to a list of BalanceSheet objects.
      *
      * @param symbol The stock symbol.
-     * @return A list of Annual BalanceSheet objects representing the annual balance sheet data.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return A list of Annual BalanceSheet objects representing the annual balance sheet data,
+     *         or 304 if the client's copy is current.
      * @throws RuntimeException If an error occurs during data retrieval or parsing.
      */
     @GetMapping("/api/stockDashboard/{symbol}/balanceSheet")
-    @Cacheable(value = "balanceSheet", key = "#symbol")
-    public List<BalanceSheet> getAnnualBalanceSheet(@PathVariable("symbol") String symbol) {
-        URLCreator URL = new URLCreator(symbol, URLCreator.FunctionType.BALANCE_SHEET);
-        String url = URL.generateUrl();
-        System.out.println("balance sheet url: " + url);
-
-        try {
-            String jsonResponse = service.getJSONData(url);
-            return service.parseAnnualBalanceSheet(URL.getSymbol(), jsonResponse, URL.getFunction());
-        } catch (Exception e) {
-            System.err.println("ERROR fetching balance sheet data: " + e.getMessage());
-            throw new RuntimeException("Error fetching balance sheet data.", e);
-        }
+    public ResponseEntity<List<BalanceSheet>> getAnnualBalanceSheet(@PathVariable("symbol") String symbol,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        List<BalanceSheet> balanceSheets = marketDataService.getAnnualBalanceSheet(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, null, List.of("balanceSheet"),
+                List.of(balanceSheets), balanceSheets);
     }
 
     /**
-     * Retrieves annual cash flow statement data for a given stock symbol from an external API endpoint.
-     * The data is then parsed and mapped to a list of CashFlow objects.
+     * Retrieves annual cash flow statement data for a given stock symbol.
+     * The data is served from the cache or fetched from the API and mapped to a list of CashFlow objects.
      *
      * @param symbol The stock symbol.
-     * @return A list of Annual CashFlow objects representing the annual balance sheet data.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return A list of Annual CashFlow objects representing the annual balance sheet data,
+     *         or 304 if the client's copy is current.
      * @throws RuntimeException If an error occurs during data retrieval or parsing.
      */
     @GetMapping("/api/stockDashboard/{symbol}/cashFlowStatement")
-    @Cacheable(value = "cashFlowStatement", key = "#symbol")
-    public List<CashFlow> getAnnualCashFlow(@PathVariable("symbol") String symbol) {
-        URLCreator URL = new URLCreator(symbol, URLCreator.FunctionType.CASH_FLOW);
-        String url = URL.generateUrl();
-        System.out.println("cash flow url: " + url);
+    public ResponseEntity<List<CashFlow>> getAnnualCashFlow(@PathVariable("symbol") String symbol,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        List<CashFlow> cashFlows = marketDataService.getAnnualCashFlow(symbol);
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, null, List.of("cashFlowStatement"),
+                List.of(cashFlows), cashFlows);
+    }
 
-        try {
-            String jsonResponse = service.getJSONData(url);
-            return service.parseAnnualCashFlow(URL.getSymbol(), jsonResponse, URL.getFunction());
-        } catch (Exception e) {
-            System.err.println("ERROR fetching cash flow data: " + e.getMessage());
-            throw new RuntimeException("Error fetching cash flow data.", e);
+    /**
+     * Retrieves several dashboard datasets of a symbol in one response.
+     * The sections are loaded in parallel on the server; sections that fail are listed under
+     * "errors" while the others are still returned.
+     *
+     * @param symbol   The stock symbol.
+     * @param sections Comma separated section keys (stocks, overview, incomeStatement,
+     *                 balanceSheet, cashFlowStatement). All sections if omitted.
+     * @param ifNoneMatch The ETag of the client's copy, if any.
+     * @param ifModifiedSince The Last-Modified date of the client's copy, if any.
+     * @return The bundle, 304 if the client's copy is current, or status 500 if no section could
+     *         be loaded. Only complete bundles carry an ETag.
+     * @throws IllegalArgumentException If an unknown section is requested.
+     */
+    @GetMapping("/api/stockDashboard/{symbol}/bundle")
+    public ResponseEntity<DashboardBundleService.Bundle> getDashboardBundle(@PathVariable("symbol") String symbol,
+            @RequestParam(value = "sections", required = false) List<String> sections,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        Set<MarketDataset> requested = EnumSet.noneOf(MarketDataset.class);
+        if (sections == null || sections.isEmpty()) {
+            requested.addAll(EnumSet.allOf(MarketDataset.class));
+        } else {
+            sections.forEach(section -> requested.add(MarketDataset.fromKey(section)));
+        }
+
+        DashboardBundleService.Bundle bundle = dashboardBundleService.loadBundle(symbol, requested);
+        if (bundle.errors().size() == requested.size()) {
+            return ResponseEntity.internalServerError().body(bundle);
         }
+        if (!bundle.errors().isEmpty()) {
+            return ResponseEntity.ok(bundle);
+        }
+        List<String> cacheNames = requested.stream().map(MarketDataset::getKey).toList();
+        List<Object> values = requested.stream().map(bundle::section).toList();
+        return conditionalResponses.respond(ifNoneMatch, ifModifiedSince, null, cacheNames, values, bundle);
     }
-    
 
     @PostMapping("/api/{symbol}/dcfData")
     public ResponseEntity<Map<String, Object>> handleDCFConnection(@RequestBody GrowthRates growthRates, @PathVariable("symbol") String symbol) {
@@ -171,16 +265,14 @@ public class StockChartsController {
                 return ResponseEntity.badRequest().body(createErrorResponse("DCF data is missing."));
             }
             List<BigDecimal> values = growthRates.getGrowthRates();
-            System.out.println("Received DCF data: " + values);
+            log.debug("Received DCF growth rates for {}: {}", symbol, values);
 
-            BigDecimal DCF = testDCFwithWAAC(values, symbol);
+            BigDecimal DCF = valuationService.calculateDCF(values, symbol);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Counted DCF for " + symbol + ": " + DCF);
             response.put("value", DCF);
 
-            System.out.println("Price per share: " + DCF);
-
             return ResponseEntity.ok(response);
 
         } catch (NumberFormatException e) {
@@ -190,6 +282,107 @@ public class StockChartsController {
         }
     }
 
+    /**
+     * Values many growth scenarios of a company in one request: the WACC is derived once and
+     * the scenarios are valued in parallel. Each scenario may set its own discount rate
+     * instead of the WACC. Example body:
+     * <pre>{@code
+     * {"scenarios": [{"growthRates": [0.08, 0.06, 0.025]},
+     *                {"growthRates": [0.05, 0.04, 0.02], "discountRate": 0.1}]}
+     * }</pre>
+     *
+     * @param request The scenarios.
+     * @param symbol  The stock symbol.
+     * @return The WACC and one result (value or error) per scenario, in request order.
+     */
+    @PostMapping("/api/{symbol}/dcfData/batch")
+    public ResponseEntity<Map<String, Object>> handleDCFBatch(@RequestBody DCFScenarios request, @PathVariable("symbol") String symbol) {
+        if (request == null || request.getScenarios() == null) {
+            return ResponseEntity.badRequest().body(createErrorResponse("DCF scenarios are missing."));
+        }
+        try {
+            ValuationService.BatchValuation batch = valuationService.calculateDCFScenarios(symbol, request.getScenarios());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("symbol", batch.symbol());
+            response.put("wacc", batch.wacc());
+            response.put("scenarios", batch.scenarios());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(createErrorResponse("Server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Computes the DCF sensitivity table of a company: the price per share for a grid of
+     * discount rates around the WACC (rows) and terminal growth rates around the terminal
+     * growth rate of the body (columns).
+     *
+     * @param growthRates   The growth rates, as for {@code /api/{symbol}/dcfData}.
+     * @param symbol        The stock symbol.
+     * @param discountRates The number of discount rates, odd to have the WACC in the middle.
+     * @param discountStep  The difference between neighbouring discount rates.
+     * @param terminalRates The number of terminal growth rates.
+     * @param terminalStep  The difference between neighbouring terminal growth rates.
+     * @return The axes and the prices per share, null where the discount rate does not exceed
+     *         the terminal growth rate.
+     */
+    @PostMapping("/api/{symbol}/dcfData/sensitivity")
+    public ResponseEntity<Map<String, Object>> handleDCFSensitivity(@RequestBody GrowthRates growthRates, @PathVariable("symbol") String symbol,
+            @RequestParam(value = "discountRates", defaultValue = "11") int discountRates,
+            @RequestParam(value = "discountStep", defaultValue = "0.005") BigDecimal discountStep,
+            @RequestParam(value = "terminalRates", defaultValue = "11") int terminalRates,
+            @RequestParam(value = "terminalStep", defaultValue = "0.0025") BigDecimal terminalStep) {
+        if (growthRates == null || growthRates.getGrowthRates() == null) {
+            return ResponseEntity.badRequest().body(createErrorResponse("DCF data is missing."));
+        }
+        try {
+            ValuationService.SensitivityGrid grid = valuationService.calculateSensitivity(symbol, growthRates.getGrowthRates(),
+                    discountRates, discountStep, terminalRates, terminalStep);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("symbol", grid.symbol());
+            response.put("wacc", grid.wacc());
+            response.put("discountRates", grid.discountRates());
+            response.put("terminalGrowthRates", grid.terminalGrowthRates());
+            response.put("values", grid.values());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(createErrorResponse("Server error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Runs a Monte Carlo simulation of a company's price per share. Example body:
+     * <pre>{@code
+     * {"growthRates": [{"type": "NORMAL", "mean": 0.06, "stdDev": 0.02}, ...],
+     *  "terminalGrowth": {"type": "TRIANGULAR", "min": 0.01, "mode": 0.025, "max": 0.035},
+     *  "beta": {"type": "UNIFORM", "min": 0.6, "max": 0.9},
+     *  "iterations": 200000, "seed": 42, "timeBudgetMs": 1500, "bins": 40}
+     * }</pre>
+     *
+     * @param request The distributions and the run settings.
+     * @param symbol  The stock symbol.
+     * @return Mean, standard deviation, percentiles and histogram of the price per share.
+     */
+    @PostMapping("/api/{symbol}/dcfData/simulation")
+    public ResponseEntity<Object> handleDCFSimulation(@RequestBody ValuationService.SimulationRequest request, @PathVariable("symbol") String symbol) {
+        if (request == null) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Simulation settings are missing."));
+        }
+        try {
+            return ResponseEntity.ok(valuationService.simulateDCF(symbol, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(createErrorResponse("Server error: " + e.getMessage()));
+        }
+    }
+
     public static class GrowthRates {
         private List<BigDecimal> GrowthRates;
 
@@ -202,6 +395,18 @@ public class StockChartsController {
         }
     }
 
+    public static class DCFScenarios {
+        private List<ValuationService.Scenario> scenarios;
+
+        public List<ValuationService.Scenario> getScenarios() {
+            return scenarios;
+        }
+
+        public void setScenarios(List<ValuationService.Scenario> scenarios) {
+            this.scenarios = scenarios;
+        }
+    }
+
     public static class statementDataForDCF {
         private Map<String, BigDecimal> statementDataForDCF;
 
@@ -219,64 +424,4 @@ public class StockChartsController {
         errorResponse.put("error", message);
         return errorResponse;
     }
-
-    public BigDecimal testDCFwithWAAC(List<BigDecimal> growthRates, String symbol){
-        // Testing DCFValuationUtil
-        DCFValuationUtil dcfUtil = new DCFValuationUtil();
-
-
-        List<BalanceSheet> balanceSheets = getAnnualBalanceSheet(symbol);
-        BalanceSheet latestBalanceSheet = balanceSheets.get(0);               // [Latest BS]
-        BigDecimal totalDebt = latestBalanceSheet.getShortLongTermDebtTotal();      // [BS] ---
-        BigDecimal netDebt = latestBalanceSheet.getShortLongTermDebtTotal()
-                .multiply(BigDecimal.valueOf(0.7));                             // [BS] ---
-        
-        List<IncomeStatement> incomeStatements = getAnnualIncomeStatements(symbol);
-        IncomeStatement latestIncomeStatements = incomeStatements.get(0);     // [Latest IS]
-        BigDecimal interestExpense = latestIncomeStatements.getInterestExpense();   // [IS]
-        BigDecimal taxProvision = latestIncomeStatements.getIncomeTaxExpense();     // [IS]
-        BigDecimal pretaxIncome = latestIncomeStatements.getIncomeBeforeTax();      // [IS] ---
-        
-        List<CashFlow> cashFlows = getAnnualCashFlow(symbol);
-        CashFlow latestCashFlow = cashFlows.get(0);                           // [Latest CFS]
-        BigDecimal lastYearFCF = latestCashFlow.getOperatingCashflow()
-                .subtract(latestCashFlow.getCapitalExpenditures());                 // [CFS] ---
-
-        Overview overview = getOverview(symbol);                                    // [Overview data]
-        BigDecimal beta = overview.getBeta();                                       // [OV]
-        BigDecimal marketCapitalization = overview.getMarketCapitalization();       // [OV]
-        BigDecimal numberOfShares = overview.getSharesOutstanding();                // [OV]
-
-        System.out.println("totalDebt: " + totalDebt);
-        System.out.println("netDebt: " + netDebt);
-        System.out.println("interestExpense: " + interestExpense);
-        System.out.println("taxProvision: " + taxProvision);
-        System.out.println("pretaxIncome: " + pretaxIncome);
-        System.out.println("lastYearFCF: " + lastYearFCF);
-        System.out.println("beta: " + beta);
-        System.out.println("marketCapitalization: " + marketCapitalization);
-        System.out.println("numberOfShares: " + numberOfShares);
-
-        BigDecimal riskFreeRate = new BigDecimal("0.0461");     // 02/14/2025 - bonds
-        BigDecimal marketRiskPremium = new BigDecimal("0.1");   // Average S&P500 annual return
-
-        
-        try {
-            // Test 1: WAAC calculation for InPost (for 2024 data)
-            BigDecimal wacc = dcfUtil.calculateWACCFromFinancialAndMarketData(
-                    riskFreeRate, beta, interestExpense, totalDebt, marketCapitalization, taxProvision, pretaxIncome, marketRiskPremium
-            );
-
-            // Test 2: Last Year FCF calculation for InPost using WAAC as Discount Rate (for 2024 data)
-            BigDecimal discountRate = wacc;
-            BigDecimal pricePerShare = dcfUtil.calculateDCF(lastYearFCF, growthRates, discountRate, numberOfShares, netDebt);
-
-            System.out.println("WACC for " + symbol + ": " + wacc);
-            System.out.println("Price per share (before margin of safety): " + pricePerShare);
-            return pricePerShare;
-        } catch (IllegalArgumentException e) {
-            System.err.println("Error: " + e.getMessage());
-            throw new RuntimeException("Error in testDCFwithWAAC: " + e.getMessage(), e);
-        }
-    }
 }
\ No newline at end of file
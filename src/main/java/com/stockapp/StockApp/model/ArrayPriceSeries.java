@@ -0,0 +1,58 @@
+package com.stockapp.StockApp.model;
+
+import java.util.Objects;
+
+/**
+ * {@link PriceSeries} held in primitive arrays on the heap. A slice shares the arrays of the
+ * series it was taken from.
+ */
+final class ArrayPriceSeries extends PriceSeries {
+    private final int[] epochDays;
+    private final double[] adjustedClose;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+    private final int offset;
+    private final int size;
+
+    ArrayPriceSeries(String symbol, int[] epochDays, double[] adjustedClose,
+            double[] open, double[] high, double[] low, double[] close, long[] volume, int fromIndex, int toIndex) {
+        super(symbol);
+        if (epochDays.length != adjustedClose.length) {
+            throw new IllegalArgumentException("Every date needs an adjusted close.");
+        }
+        Objects.checkFromToIndex(fromIndex, toIndex, epochDays.length);
+        this.epochDays = epochDays;
+        this.adjustedClose = adjustedClose;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.offset = fromIndex;
+        this.size = toIndex - fromIndex;
+    }
+
+    @Override public int size() { return size; }
+    @Override public boolean hasOhlcv() { return open != null; }
+    @Override public int epochDay(int index) { return epochDays[row(index)]; }
+    @Override public double adjustedClose(int index) { return adjustedClose[row(index)]; }
+    @Override public double open(int index) { return open[row(index)]; }
+    @Override public double high(int index) { return high[row(index)]; }
+    @Override public double low(int index) { return low[row(index)]; }
+    @Override public double close(int index) { return close[row(index)]; }
+    @Override public long volume(int index) { return volume[row(index)]; }
+
+    @Override
+    public PriceSeries slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new ArrayPriceSeries(getSymbol(), epochDays, adjustedClose, open, high, low, close, volume,
+                offset + fromIndex, offset + toIndex);
+    }
+
+    private int row(int index) {
+        return offset + Objects.checkIndex(index, size);
+    }
+}
@@ -0,0 +1,127 @@
+package com.stockapp.StockApp.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * {@link PriceSeries} read straight from fixed-width binary records, typically a
+ * {@link java.nio.MappedByteBuffer} over a price file. Nothing is parsed or copied: every
+ * accessor reads its value from the record at the row's offset, so a series costs a few
+ * dozen bytes of heap however long it is.
+ * <p>
+ * File layout (little endian):
+ * <pre>
+ * header  (16 bytes): int magic "SAPS", int version, int record size, int flags (bit 0: OHLCV)
+ * records (16 bytes): int epochDay, int padding, double adjustedClose
+ *         (56 bytes with OHLCV): ..., double open, double high, double low, double close, long volume
+ * </pre>
+ */
+public final class MappedPriceSeries extends PriceSeries {
+    public static final int MAGIC = 0x53415053;    // "SAPS"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int FLAG_OHLCV = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int ADJUSTED_CLOSE = 8;
+    private static final int OPEN = 16;
+    private static final int HIGH = 24;
+    private static final int LOW = 32;
+    private static final int CLOSE = 40;
+    private static final int VOLUME = 48;
+
+    private final ByteBuffer records;
+    private final boolean ohlcv;
+    private final int recordSize;
+    private final int size;
+
+    /**
+     * Creates a series over the records of a buffer.
+     *
+     * @param symbol  The stock symbol.
+     * @param records The records only (without header), starting at position 0.
+     * @param ohlcv   Whether the records contain the OHLCV columns.
+     */
+    public MappedPriceSeries(String symbol, ByteBuffer records, boolean ohlcv) {
+        super(symbol);
+        this.records = records.order(BYTE_ORDER);
+        this.ohlcv = ohlcv;
+        this.recordSize = recordSize(ohlcv);
+        this.size = records.capacity() / recordSize;
+    }
+
+    /**
+     * @param ohlcv Whether the records contain the OHLCV columns.
+     * @return The size in bytes of one record.
+     */
+    public static int recordSize(boolean ohlcv) {
+        return ohlcv ? 56 : 16;
+    }
+
+    /**
+     * Writes the header of a price file.
+     *
+     * @param target The buffer to write to, at its position.
+     * @param ohlcv  Whether the records contain the OHLCV columns.
+     */
+    public static void writeHeader(ByteBuffer target, boolean ohlcv) {
+        target.order(BYTE_ORDER)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(recordSize(ohlcv))
+                .putInt(ohlcv ? FLAG_OHLCV : 0);
+    }
+
+    /**
+     * Writes rows of a series as records.
+     *
+     * @param target    The buffer to write to, at its position; needs room for all rows.
+     * @param series    The source series.
+     * @param fromIndex The first row, inclusive.
+     * @param toIndex   The last row, exclusive.
+     * @param ohlcv     Whether the OHLCV columns are written (zero if the series has none).
+     */
+    public static void writeRecords(ByteBuffer target, PriceSeries series, int fromIndex, int toIndex, boolean ohlcv) {
+        target.order(BYTE_ORDER);
+        boolean source = series.hasOhlcv();
+        for (int i = fromIndex; i < toIndex; i++) {
+            target.putInt(series.epochDay(i)).putInt(0).putDouble(series.adjustedClose(i));
+            if (ohlcv) {
+                target.putDouble(source ? series.open(i) : 0)
+                        .putDouble(source ? series.high(i) : 0)
+                        .putDouble(source ? series.low(i) : 0)
+                        .putDouble(source ? series.close(i) : 0)
+                        .putLong(source ? series.volume(i) : 0);
+            }
+        }
+    }
+
+    @Override public int size() { return size; }
+    @Override public boolean hasOhlcv() { return ohlcv; }
+    @Override public int epochDay(int index) { return records.getInt(offset(index)); }
+    @Override public double adjustedClose(int index) { return records.getDouble(offset(index) + ADJUSTED_CLOSE); }
+    @Override public double open(int index) { return records.getDouble(ohlcvOffset(index) + OPEN); }
+    @Override public double high(int index) { return records.getDouble(ohlcvOffset(index) + HIGH); }
+    @Override public double low(int index) { return records.getDouble(ohlcvOffset(index) + LOW); }
+    @Override public double close(int index) { return records.getDouble(ohlcvOffset(index) + CLOSE); }
+    @Override public long volume(int index) { return records.getLong(ohlcvOffset(index) + VOLUME); }
+
+    @Override
+    public PriceSeries slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new MappedPriceSeries(getSymbol(),
+                records.slice(fromIndex * recordSize, (toIndex - fromIndex) * recordSize), ohlcv);
+    }
+
+    private int offset(int index) {
+        return Objects.checkIndex(index, size) * recordSize;
+    }
+
+    private int ohlcvOffset(int index) {
+        if (!ohlcv) {
+            throw new IllegalStateException("Price series of " + getSymbol() + " has no OHLCV data.");
+        }
+        return offset(index);
+    }
+}
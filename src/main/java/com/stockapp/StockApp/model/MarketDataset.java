@@ -0,0 +1,50 @@
+package com.stockapp.StockApp.model;
+
+/**
+ * Enum of the datasets served per symbol by the stock dashboard.
+ * Each dataset has the key used in URLs, request parameters and cache names, and the
+ * Alpha Vantage function it is loaded from.
+ */
+public enum MarketDataset {
+    STOCKS("stocks", URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED),
+    OVERVIEW("overview", URLCreator.FunctionType.OVERVIEW),
+    INCOME_STATEMENT("incomeStatement", URLCreator.FunctionType.INCOME_STATEMENT),
+    BALANCE_SHEET("balanceSheet", URLCreator.FunctionType.BALANCE_SHEET),
+    CASH_FLOW_STATEMENT("cashFlowStatement", URLCreator.FunctionType.CASH_FLOW);
+
+    private final String key;
+    private final URLCreator.FunctionType function;
+
+    MarketDataset(String key, URLCreator.FunctionType function) {
+        this.key = key;
+        this.function = function;
+    }
+
+    /**
+     * Returns the key of the dataset, e.g. "incomeStatement".
+     * @return the key used in URLs and as cache name.
+     */
+    public String getKey() { return key; }
+
+    /**
+     * Returns the Alpha Vantage function the dataset is loaded from.
+     * @return the function type.
+     */
+    public URLCreator.FunctionType getFunction() { return function; }
+
+    /**
+     * Finds the dataset with the given key.
+     *
+     * @param key The dataset key, e.g. "balanceSheet" (case-insensitive).
+     * @return The matching dataset.
+     * @throws IllegalArgumentException If no dataset has this key.
+     */
+    public static MarketDataset fromKey(String key) {
+        for (MarketDataset dataset : values()) {
+            if (dataset.key.equalsIgnoreCase(key.trim())) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dashboard section: " + key);
+    }
+}
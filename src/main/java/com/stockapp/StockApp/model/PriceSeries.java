@@ -0,0 +1,382 @@
+package com.stockapp.StockApp.model;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Represents the price history of one stock in columnar form.
+ * <p>
+ * The symbol is stored once and every data point is a row of primitive columns: the date as
+ * epoch day and the adjusted close, plus optional open/high/low/close/volume columns. Compared
+ * to one {@link Stock} object per data point this keeps a long history in a handful of arrays
+ * ({@link #of}) or directly in a memory-mapped record file ({@link MappedPriceSeries}).
+ * Rows are ordered from the oldest to the newest date.
+ * <p>
+ * The JSON form is the same array of {@code {"symbol", "price", "date"}} rows the frontend
+ * has always received for a list of stocks.
+ */
+@JsonSerialize(using = PriceSeries.Serializer.class)
+public abstract class PriceSeries {
+    private final String symbol;
+
+    /**
+     * @param symbol The stock symbol (e.g., AAPL, MSFT).
+     */
+    protected PriceSeries(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Creates a heap series from its columns. The arrays are used as they are, not copied.
+     *
+     * @param symbol        The stock symbol (e.g., AAPL, MSFT).
+     * @param epochDays     The dates as days since 1970-01-01, ascending.
+     * @param adjustedClose The adjusted close per date.
+     * @param open          The open price per date, or null if OHLCV data is not kept.
+     * @param high          The high price per date, or null.
+     * @param low           The low price per date, or null.
+     * @param close         The (unadjusted) close price per date, or null.
+     * @param volume        The traded volume per date, or null.
+     * @return The price series.
+     */
+    public static PriceSeries of(String symbol, int[] epochDays, double[] adjustedClose,
+            double[] open, double[] high, double[] low, double[] close, long[] volume) {
+        return new ArrayPriceSeries(symbol, epochDays, adjustedClose, open, high, low, close, volume, 0, epochDays.length);
+    }
+
+    /**
+     * Creates a heap series with dates and adjusted closes only.
+     *
+     * @param symbol        The stock symbol.
+     * @param epochDays     The dates as days since 1970-01-01, ascending.
+     * @param adjustedClose The adjusted close per date.
+     * @return The price series.
+     */
+    public static PriceSeries of(String symbol, int[] epochDays, double[] adjustedClose) {
+        return of(symbol, epochDays, adjustedClose, null, null, null, null, null);
+    }
+
+    public String getSymbol() { return symbol; }
+    public boolean isEmpty() { return size() == 0; }
+    public LocalDate date(int index) { return LocalDate.ofEpochDay(epochDay(index)); }
+
+    public abstract int size();
+    public abstract boolean hasOhlcv();
+    public abstract int epochDay(int index);
+    public abstract double adjustedClose(int index);
+    public abstract double open(int index);
+    public abstract double high(int index);
+    public abstract double low(int index);
+    public abstract double close(int index);
+    public abstract long volume(int index);
+
+    /**
+     * Returns a view of a range of rows. The view shares the storage of this series.
+     *
+     * @param fromIndex The first row, inclusive.
+     * @param toIndex   The last row, exclusive.
+     * @return The rows in the range.
+     * @throws IndexOutOfBoundsException If the range is not within the series.
+     */
+    public abstract PriceSeries slice(int fromIndex, int toIndex);
+
+    /**
+     * Returns a view of the rows between two dates.
+     *
+     * @param from The first date, inclusive, or null for the oldest row.
+     * @param to   The last date, inclusive, or null for the newest row.
+     * @return The rows in the range, possibly empty.
+     */
+    public PriceSeries between(LocalDate from, LocalDate to) {
+        int fromIndex = from == null ? 0 : insertionPoint((int) from.toEpochDay());
+        int toIndex = size();
+        if (to != null) {
+            int index = indexOf((int) to.toEpochDay());
+            toIndex = index >= 0 ? index + 1 : -index - 1;
+        }
+        return slice(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    /**
+     * Returns one data point as a {@link Stock}. This allocates; it is meant for callers that
+     * need a single row, not for iterating a whole series.
+     *
+     * @param index The row index, 0 being the oldest.
+     * @return The row as a Stock object.
+     */
+    public Stock get(int index) {
+        return new Stock(symbol, adjustedClose(index), date(index).toString());
+    }
+
+    /**
+     * Finds the row of a date.
+     *
+     * @param epochDay The date as epoch day.
+     * @return The row index, or a negative value (-(insertion point) - 1) if the date is absent.
+     */
+    public int indexOf(int epochDay) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int day = epochDay(mid);
+            if (day < epochDay) {
+                low = mid + 1;
+            } else if (day > epochDay) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int insertionPoint(int epochDay) {
+        int index = indexOf(epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Returns a string representation of the PriceSeries object.
+     *
+     * @return A string representation of the PriceSeries object.
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "symbol='" + symbol + '\'' +
+                ", size=" + size() +
+                (isEmpty() ? "" : ", from=" + date(0) + ", to=" + date(size() - 1)) +
+                '}';
+    }
+
+    /**
+     * Creates a builder for a series whose rows arrive in either date order.
+     *
+     * @param symbol    The stock symbol.
+     * @param withOhlcv Whether the open/high/low/close/volume columns are kept.
+     * @return A new builder.
+     */
+    public static Builder builder(String symbol, boolean withOhlcv) {
+        return new Builder(symbol, withOhlcv);
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date into an epoch day without creating intermediate strings.
+     *
+     * @param date The date text.
+     * @return The date as days since 1970-01-01.
+     * @throws IllegalArgumentException If the text is not a yyyy-MM-dd date.
+     */
+    public static int parseEpochDay(CharSequence date) {
+        if (date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            throw new IllegalArgumentException("Expected format yyyy-MM-dd: " + date);
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Expected format yyyy-MM-dd: " + text);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Collects rows into growable column buffers. Rows can be appended (oldest first) or
+     * prepended (newest first, as Alpha Vantage lists them), so neither source order needs a
+     * reverse pass.
+     */
+    public static class Builder {
+        private final String symbol;
+        private final boolean withOhlcv;
+        private int[] epochDays = new int[256];
+        private double[] adjustedClose = new double[256];
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+        private int start = 128;
+        private int end = 128;
+
+        private Builder(String symbol, boolean withOhlcv) {
+            this.symbol = symbol;
+            this.withOhlcv = withOhlcv;
+            if (withOhlcv) {
+                open = new double[256];
+                high = new double[256];
+                low = new double[256];
+                close = new double[256];
+                volume = new long[256];
+            }
+        }
+
+        public boolean isWithOhlcv() { return withOhlcv; }
+        public int size() { return end - start; }
+
+        /**
+         * Adds a row newer than all rows added so far.
+         *
+         * @param epochDay      The date as epoch day.
+         * @param adjustedClose The adjusted close.
+         * @return This builder.
+         */
+        public Builder append(int epochDay, double adjustedClose) {
+            return append(epochDay, adjustedClose, 0, 0, 0, 0, 0);
+        }
+
+        /**
+         * Adds a row with OHLCV data newer than all rows added so far. The OHLCV values are
+         * ignored when the builder does not keep those columns.
+         */
+        public Builder append(int epochDay, double adjustedClose, double open, double high, double low, double close, long volume) {
+            if (end == epochDays.length) {
+                grow(false);
+            }
+            set(end++, epochDay, adjustedClose, open, high, low, close, volume);
+            return this;
+        }
+
+        /**
+         * Adds a row older than all rows added so far.
+         *
+         * @param epochDay      The date as epoch day.
+         * @param adjustedClose The adjusted close.
+         * @return This builder.
+         */
+        public Builder prepend(int epochDay, double adjustedClose) {
+            return prepend(epochDay, adjustedClose, 0, 0, 0, 0, 0);
+        }
+
+        /**
+         * Adds a row with OHLCV data older than all rows added so far. The OHLCV values are
+         * ignored when the builder does not keep those columns.
+         */
+        public Builder prepend(int epochDay, double adjustedClose, double open, double high, double low, double close, long volume) {
+            if (start == 0) {
+                grow(true);
+            }
+            set(--start, epochDay, adjustedClose, open, high, low, close, volume);
+            return this;
+        }
+
+        /**
+         * @return The series of the collected rows; the builder must not be used afterwards.
+         */
+        public PriceSeries build() {
+            if (!withOhlcv) {
+                return of(symbol, trim(epochDays), trim(adjustedClose));
+            }
+            return of(symbol, trim(epochDays), trim(adjustedClose),
+                    trim(open), trim(high), trim(low), trim(close), trim(volume));
+        }
+
+        private void set(int index, int epochDay, double adjustedClose, double open, double high, double low, double close, long volume) {
+            this.epochDays[index] = epochDay;
+            this.adjustedClose[index] = adjustedClose;
+            if (withOhlcv) {
+                this.open[index] = open;
+                this.high[index] = high;
+                this.low[index] = low;
+                this.close[index] = close;
+                this.volume[index] = volume;
+            }
+        }
+
+        /**
+         * Doubles the capacity, leaving the free space on the side that ran out.
+         */
+        private void grow(boolean atFront) {
+            int size = end - start;
+            int capacity = epochDays.length * 2;
+            int newStart = atFront ? capacity - size : 0;
+            epochDays = moved(epochDays, new int[capacity], newStart);
+            adjustedClose = moved(adjustedClose, new double[capacity], newStart);
+            if (withOhlcv) {
+                open = moved(open, new double[capacity], newStart);
+                high = moved(high, new double[capacity], newStart);
+                low = moved(low, new double[capacity], newStart);
+                close = moved(close, new double[capacity], newStart);
+                volume = moved(volume, new long[capacity], newStart);
+            }
+            start = newStart;
+            end = newStart + size;
+        }
+
+        private <A> A moved(A from, A to, int newStart) {
+            System.arraycopy(from, start, to, newStart, end - start);
+            return to;
+        }
+
+        private int[] trim(int[] column) {
+            return start == 0 && end == column.length ? column : Arrays.copyOfRange(column, start, end);
+        }
+
+        private double[] trim(double[] column) {
+            return start == 0 && end == column.length ? column : Arrays.copyOfRange(column, start, end);
+        }
+
+        private long[] trim(long[] column) {
+            return start == 0 && end == column.length ? column : Arrays.copyOfRange(column, start, end);
+        }
+    }
+
+    /**
+     * Writes a series as the array of {symbol, price, date} rows expected by the frontend,
+     * straight from the columns (or the mapped file) without creating a row object per data point.
+     */
+    public static class Serializer extends StdSerializer<PriceSeries> {
+
+        public Serializer() {
+            super(PriceSeries.class);
+        }
+
+        @Override
+        public void serialize(PriceSeries series, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] date = new char[10];
+            int size = series.size();
+            generator.writeStartArray(series, size);
+            for (int i = 0; i < size; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("symbol", series.symbol);
+                generator.writeNumberField("price", series.adjustedClose(i));
+                generator.writeFieldName("date");
+                formatDate(series.epochDay(i), date);
+                generator.writeString(date, 0, date.length);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        private static void formatDate(int epochDay, char[] buffer) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            writeDigits(buffer, 0, 4, date.getYear());
+            buffer[4] = '-';
+            writeDigits(buffer, 5, 2, date.getMonthValue());
+            buffer[7] = '-';
+            writeDigits(buffer, 8, 2, date.getDayOfMonth());
+        }
+
+        private static void writeDigits(char[] buffer, int offset, int width, int value) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
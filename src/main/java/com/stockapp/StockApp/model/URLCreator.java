@@ -1,17 +1,16 @@
 package com.stockapp.StockApp.model;
 
+import java.util.Locale;
+
 /**
  * The URLCreator class is responsible for generating URLs for the Alpha Vantage API.
  * It constructs the URL based on the provided stock symbol, function type, and output size.
  * <p>
  * This class uses the builder pattern for constructing the URL, allowing for flexibility
- * in specifying the parameters.  It also encapsulates the API key, though in this example
- * it is a demo key and should be replaced in a production environment.
+ * in specifying the parameters.  The endpoint and the API key are not part of the request;
+ * they come from the configuration ({@code alphavantage.base-url}, {@code alphavantage.api-key}).
  */
 public class URLCreator {
-    private static final String BASE_URL = "https://www.alphavantage.co/query";
-    private static final String API_KEY = "demo"; // **REPLACE WITH YOUR API KEY**
-
     final private String symbol;
     final private FunctionType function;
     final private OutputSize outputSize;
@@ -45,16 +44,18 @@ public class URLCreator {
     /**
      * Generates the URL for the Alpha Vantage API.
      *
+     * @param baseUrl The query endpoint (e.g., https://www.alphavantage.co/query).
+     * @param apiKey  The API key.
      * @return The generated URL as a String.
      */
-    public String generateUrl() {
-        StringBuilder urlBuilder = new StringBuilder(BASE_URL);
+    public String generateUrl(String baseUrl, String apiKey) {
+        StringBuilder urlBuilder = new StringBuilder(baseUrl);
         urlBuilder.append("?function=").append(function);
         urlBuilder.append("&symbol=").append(symbol);
-        urlBuilder.append("&apikey=").append(API_KEY);
+        urlBuilder.append("&apikey=").append(apiKey);
 
         if (outputSize != null) {
-            urlBuilder.append("&outputsize=").append(outputSize);
+            urlBuilder.append("&outputsize=").append(outputSize.getOutput());
         }
 
         return urlBuilder.toString();
@@ -63,12 +64,23 @@ public class URLCreator {
 
     public String getSymbol() { return symbol; }
     public FunctionType getFunction() { return function; }
+    public OutputSize getOutputSize() { return outputSize; }
+
+    /**
+     * Normalizes a stock symbol so that e.g. " ibm" and "IBM" refer to the same data.
+     *
+     * @param symbol The symbol as typed by the user.
+     * @return The trimmed, upper-cased symbol, or null if the symbol is null.
+     */
+    public static String normalizeSymbol(String symbol) {
+        return symbol == null ? null : symbol.trim().toUpperCase(Locale.ROOT);
+    }
 
     /**
      * Enum representing the different function types available in the Alpha Vantage API.
      */
     public enum FunctionType {
-        TIME_SERIES_DAILY_ADJUSTED("Daily Adjusted Time Series"),
+        TIME_SERIES_DAILY_ADJUSTED("Time Series (Daily)"),
         TIME_SERIES_WEEKLY_ADJUSTED("Weekly Adjusted Time Series"),
         TIME_SERIES_MONTHLY_ADJUSTED("Monthly Adjusted Time Series"),
         OVERVIEW("Description"),
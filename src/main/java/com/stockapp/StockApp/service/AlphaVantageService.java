@@ -1,28 +1,106 @@
 package com.stockapp.StockApp.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockapp.StockApp.config.AlphaVantageProperties;
 import com.stockapp.StockApp.model.*;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Service class for interacting with the Alpha Vantage API.
+ * <p>
+ * Metrics, tagged by function: {@code alphavantage.upstream.requests} (latency histogram of the
+ * API calls until the response headers, per status), {@code alphavantage.parse} (parse
+ * duration, per source: upstream or stored response) and {@code alphavantage.payload.size}
+ * (decompressed bytes parsed).
  */
+@Service
 public class AlphaVantageService {
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Logger log = LoggerFactory.getLogger(AlphaVantageService.class);
+    private static final List<String> API_MESSAGE_KEYS = List.of("Note", "Information", "Error Message");
+    // Closes the bodies of responses whose request timeout expires while they are still being read.
+    private static final ScheduledThreadPoolExecutor BODY_WATCHDOG = bodyWatchdog();
+
+    // Time series use dates as field names; interning thousands of them per response only costs time.
+    private final ObjectMapper objectMapper = new ObjectMapper(JsonFactory.builder().disable(JsonFactory.Feature.INTERN_FIELD_NAMES).build());
+    private final HttpClient httpClient;
+    private final AlphaVantageProperties properties;
+    private final AlphaVantageProperties.Http httpProperties;
+    private final ResponseStore responseStore;
+    private final UpstreamQuotaScheduler quotaScheduler;
+    private final MeterRegistry registry;
+
+    /**
+     * Constructs the service on top of the shared upstream client.
+     *
+     * @param alphaVantageHttpClient The long-lived HttpClient reused for every request.
+     * @param properties             The Alpha Vantage settings (endpoint, API key, timeouts, compression).
+     * @param responseStore          The store of raw responses consulted before calling the API.
+     * @param quotaScheduler         The scheduler every request needs a permit from.
+     * @param registry               The registry the upstream and parse metrics are published to.
+     */
+    public AlphaVantageService(HttpClient alphaVantageHttpClient, AlphaVantageProperties properties,
+            ResponseStore responseStore, UpstreamQuotaScheduler quotaScheduler, MeterRegistry registry) {
+        this.httpClient = alphaVantageHttpClient;
+        this.properties = properties;
+        this.httpProperties = properties.getHttp();
+        this.responseStore = responseStore;
+        this.quotaScheduler = quotaScheduler;
+        this.registry = registry;
+    }
+
+    /**
+     * @param request The API request.
+     * @return The URL of the request on the configured endpoint, with the API key.
+     */
+    public String urlOf(URLCreator request) {
+        return request.generateUrl(properties.getBaseUrl(), properties.getApiKey());
+    }
+
+    /**
+     * @param request The API request.
+     * @return The URL of the request with the API key masked, for log messages.
+     */
+    public String loggableUrlOf(URLCreator request) {
+        return request.generateUrl(properties.getBaseUrl(), "***");
+    }
 
     /**
      * Retrieves data from the specified URL.
@@ -32,13 +110,201 @@ public class AlphaVantageService {
      * @throws Exception If an error occurs during the HTTP request.
      */
     public String getJSONData(String url) throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder().uri(new URI(url)).GET().build();
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return fetch(url, body -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves data from the specified URL and hands the response body to a parser while it
+     * is being received, so the body never has to be held in memory as a whole.
+     *
+     * @param <T>        The parsed type.
+     * @param url        The URL to fetch data from.
+     * @param bodyParser The parser consuming the (decompressed) response body.
+     * @return The parsed response.
+     * @throws Exception If an error occurs during the HTTP request or parsing.
+     */
+    public <T> T fetch(String url, BodyParser<T> bodyParser) throws Exception {
+        try (InputStream body = openStream(url)) {
+            return bodyParser.parse(body);
+        }
+    }
+
+    /**
+     * Retrieves the data of an API request, served from the response store if a fresh
+     * response is stored there. Otherwise the API is called and its response is recorded
+     * into the store while it is parsed; it is only kept if it was parsed successfully and
+     * carries data.
+     *
+     * @param <T>        The parsed type.
+     * @param request    The API request.
+     * @param bodyParser The parser consuming the (decompressed) response body.
+     * @return The parsed response.
+     * @throws Exception If an error occurs during the HTTP request or parsing.
+     */
+    public <T> T fetch(URLCreator request, BodyParser<T> bodyParser) throws Exception {
+        return fetch(request, bodyParser, true);
+    }
+
+    /**
+     * Retrieves the data of an API request, optionally ignoring the stored responses. The
+     * response is recorded into the response store either way, unless it is malformed or
+     * carries no data (null, or an empty list or series).
+     *
+     * @param <T>        The parsed type.
+     * @param request    The API request.
+     * @param bodyParser The parser consuming the (decompressed) response body.
+     * @param useStored  Whether a fresh stored response may be served instead of calling the API.
+     * @return The parsed response.
+     * @throws Exception If an error occurs during the HTTP request or parsing.
+     */
+    public <T> T fetch(URLCreator request, BodyParser<T> bodyParser, boolean useStored) throws Exception {
+        InputStream stored = useStored ? responseStore.openFresh(request) : null;
+        if (stored != null) {
+            try (InputStream body = stored) {
+                return parse(request.getFunction(), "store", body, bodyParser);
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable stored {} response of {}: {}", request.getFunction(),
+                        request.getSymbol(), e.getMessage());
+            }
+        }
+
+        try (InputStream body = openStream(urlOf(request))) {
+            ResponseStore.Recording recording = responseStore.record(request, body);
+            try {
+                T value = parse(request.getFunction(), "upstream", recording, bodyParser);
+                if (hasData(value)) {
+                    recording.commit();
+                } else {
+                    log.warn("Not storing the {} response of {}: it carries no data", request.getFunction(),
+                            request.getSymbol());
+                }
+                return value;
+            } finally {
+                recording.discard();
+            }
+        }
+    }
+
+    /**
+     * @param value A parsed response.
+     * @return Whether it is worth storing: not null, and not an empty list or series.
+     */
+    private static boolean hasData(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (value instanceof PriceSeries series) {
+            return !series.isEmpty();
+        }
+        return value != null;
+    }
+
+    /**
+     * Runs a parser over a response body and records its duration and the number of bytes it
+     * read. For upstream responses the duration includes receiving the body, since the
+     * parsers consume it while it streams in.
+     *
+     * @param <T>        The parsed type.
+     * @param function   The function of the response, used as tag.
+     * @param source     Where the body comes from: "upstream" or "store".
+     * @param body       The response body.
+     * @param bodyParser The parser.
+     * @return The parsed response.
+     * @throws Exception If parsing fails.
+     */
+    private <T> T parse(URLCreator.FunctionType function, String source, InputStream body, BodyParser<T> bodyParser) throws Exception {
+        CountingInputStream counted = new CountingInputStream(body);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T value = bodyParser.parse(counted);
+            outcome = "success";
+            return value;
+        } finally {
+            Timer.builder("alphavantage.parse")
+                    .description("Duration of parsing an Alpha Vantage response")
+                    .tags("function", function.name(), "source", source, "outcome", outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("alphavantage.payload.size")
+                    .description("Decompressed size of the parsed Alpha Vantage responses")
+                    .baseUnit("bytes")
+                    .tags("function", function.name(), "source", source)
+                    .register(registry)
+                    .record(counted.count);
+        }
+    }
+
+    /**
+     * Sends a GET request to the specified URL and opens its response body.
+     * The request first waits for a permit of the quota scheduler (at the priority of the
+     * current thread) and asks for a gzip encoded body, which is decompressed while it is
+     * being read.
+     * <p>
+     * The configured request timeout bounds the whole exchange, not only the wait for the
+     * response headers: once it has expired the body is closed, and reading it fails with an
+     * {@link HttpTimeoutException}. A stalled body therefore cannot block its reader, nor
+     * the requests coalesced with it, indefinitely.
+     *
+     * @param url The URL to fetch data from.
+     * @return The decompressed response body; the caller has to close it.
+     * @throws QuotaExceededException If no quota is available in time; nothing was sent.
+     * @throws Exception If an error occurs during the HTTP request or the status is not 200.
+     */
+    public InputStream openStream(String url) throws Exception {
+        quotaScheduler.acquire();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(new URI(url))
+                .timeout(httpProperties.getRequestTimeout())
+                .GET();
+        if (httpProperties.isGzip()) {
+            requestBuilder.header("Accept-Encoding", "gzip");
+        }
+        HttpResponse<InputStream> response;
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            response = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            status = Integer.toString(response.statusCode());
+        } catch (HttpTimeoutException e) {
+            status = "TIMEOUT";
+            throw e;
+        } finally {
+            Timer.builder("alphavantage.upstream.requests")
+                    .description("Latency of the Alpha Vantage API calls until the response headers")
+                    .tags("function", functionOf(url), "status", status)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         if (response.statusCode() != 200) {
+            response.body().close();
             throw new RuntimeException("Error in API: " + response.statusCode());
         }
-        return response.body();
+        Duration timeout = httpProperties.getRequestTimeout();
+        InputStream body = new DeadlineInputStream(response.body(), timeout, timeout.toNanos() - (System.nanoTime() - start));
+        try {
+            return decodedBody(response, body);
+        } catch (IOException | RuntimeException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps the response body in a decompressing stream when the server answered with gzip.
+     *
+     * @param response The HTTP response with a streamed body.
+     * @param body     The body stream of the response.
+     * @return The body stream, decompressed if necessary.
+     * @throws IOException If the gzip header cannot be read.
+     */
+    private InputStream decodedBody(HttpResponse<InputStream> response, InputStream body) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if ("gzip".equalsIgnoreCase(encoding.trim())) {
+            return new GZIPInputStream(body);
+        }
+        return body;
     }
 
     /**
@@ -47,57 +313,132 @@ public class AlphaVantageService {
      * @param symbol       The stock symbol.
      * @param jsonResponse The JSON response string.
      * @param functionType The AlphaVantage API function type used to retrieve the data.
-     * @return A list of Stock objects parsed from the JSON response.
+     * @return The price series parsed from the JSON response, oldest first.
      * @throws RuntimeException If the specified time series function is not found in the JSON response.
      * @throws IllegalArgumentException If the "5. adjusted close" value is missing for a date.
      */
-    public List<Stock> parseStockData(String symbol, String jsonResponse, URLCreator.FunctionType functionType) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
-            String timeSeriesFunction = functionType.getJsonFunction();
-            JsonNode timeSeries = rootNode.get(timeSeriesFunction);
-            if (timeSeries == null) {
-                throw new RuntimeException("Not found '" + timeSeriesFunction + "' in JSON answer.");
-            }
+    public PriceSeries parseStockData(String symbol, String jsonResponse, URLCreator.FunctionType functionType) {
+        return parseStockData(symbol, toStream(jsonResponse), functionType, false);
+    }
+
+    /**
+     * Parses stock data (dates and adjusted closes) from a streamed JSON response.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @return The price series parsed from the JSON response, oldest first.
+     * @throws RuntimeException If the specified time series function is not found in the JSON response.
+     * @throws IllegalArgumentException If the "5. adjusted close" value is missing for a date.
+     */
+    public PriceSeries parseStockData(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType) {
+        return parseStockData(symbol, jsonStream, functionType, false);
+    }
 
-            List<Stock> stockList = new ArrayList<>();
-            timeSeries.fields().forEachRemaining(entry -> {
-                String date = entry.getKey();
-                JsonNode dailyData = entry.getValue();
-                JsonNode closeNode = dailyData.get("5. adjusted close");
-                if (closeNode == null) {
-                    throw new IllegalArgumentException("Missing '5. adjusted close' for date: " + date);
+    /**
+     * Parses stock data from a streamed JSON response.
+     * The stream is read token by token: no JSON tree and no body string are built, and only
+     * the "5. adjusted close" field (plus OHLCV if requested) of each row is read. Alpha
+     * Vantage lists the newest row first, so rows are prepended to the series columns to end
+     * up in chronological order without a separate reverse pass.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @param withOhlcv    Whether the open/high/low/close/volume columns are kept as well.
+     * @return The price series parsed from the JSON response, oldest first.
+     * @throws RuntimeException If the specified time series function is not found in the JSON response.
+     * @throws IllegalArgumentException If the "5. adjusted close" value is missing for a date.
+     */
+    public PriceSeries parseStockData(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType, boolean withOhlcv) {
+        String timeSeriesFunction = functionType.getJsonFunction();
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonStream)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (timeSeriesFunction.equals(field)) {
+                        return readTimeSeries(PriceSeries.builder(symbol, withOhlcv), parser);
+                    }
+                    parser.skipChildren();
                 }
-                double closePrice = closeNode.asDouble();
-                stockList.add(new Stock(symbol, closePrice, date));
-            });
-            Collections.reverse(stockList);
-            return stockList;
-        } catch (JsonProcessingException | RuntimeException e) {
+            }
+            throw new RuntimeException("Not found '" + timeSeriesFunction + "' in JSON answer.");
+        } catch (IOException | RuntimeException e) {
             throw new RuntimeException("Error parsing stock data: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Reads the rows of a time series object, the parser being positioned on its START_OBJECT.
+     *
+     * @param builder The builder collecting the rows.
+     * @param parser  The streaming parser.
+     * @return The rows in chronological order.
+     * @throws IOException If the JSON cannot be read.
+     */
+    private PriceSeries readTimeSeries(PriceSeries.Builder builder, JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Time series is not a JSON object.");
+        }
+        boolean withOhlcv = builder.isWithOhlcv();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String date = parser.currentName();
+            parser.nextToken();
+            boolean found = false;
+            double adjustedClose = 0;
+            double open = 0, high = 0, low = 0, close = 0;
+            long volume = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("5. adjusted close".equals(field)) {
+                    adjustedClose = parser.getValueAsDouble();
+                    found = true;
+                } else if (!withOhlcv) {
+                    parser.skipChildren();
+                } else {
+                    switch (field) {
+                        case "1. open" -> open = parser.getValueAsDouble();
+                        case "2. high" -> high = parser.getValueAsDouble();
+                        case "3. low" -> low = parser.getValueAsDouble();
+                        case "4. close" -> close = parser.getValueAsDouble();
+                        case "6. volume" -> volume = parser.getValueAsLong();
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException("Missing '5. adjusted close' for date: " + date);
+            }
+            builder.prepend(PriceSeries.parseEpochDay(date), adjustedClose, open, high, low, close, volume);
+        }
+        return builder.build();
+    }
+
     /**
      * Parses financial data from a JSON response into a list of objects.
      * This private method is designed to be a universal parser for financial statements, 
      * including Income Statements, Balance Sheets, and Cash Flow statements.
      *
      * @param <T>           The type of objects to be created and returned in the list.
-     * @param jsonResponse  The JSON response string to parse.
+     * @param jsonStream    The JSON response body to parse.
      * @param functionType  The function type used to extract the JSON function key.
      * @param objectCreator A function that creates an object of type T from a JsonObject.
-     * @return              A list of objects of type T, or an empty list if an error occurs or no data is found.
+     * @return              A list of objects of type T, or an empty list if no data is found.
+     * @throws UncheckedIOException If the body is malformed (e.g. truncated) or cannot be received.
      */
-    private <T> List<T> parseFinancialData(String jsonResponse, URLCreator.FunctionType functionType, Function<JsonNode, T> objectCreator) {
+    private <T> List<T> parseFinancialData(InputStream jsonStream, URLCreator.FunctionType functionType, Function<JsonNode, T> objectCreator) {
         try {
-            JsonNode rootNode = objectMapper.readTree(jsonResponse);
+            JsonNode rootNode = readTree(jsonStream, functionType);
             String function = functionType.getJsonFunction();
             JsonNode jsonArray = rootNode.get(function);
             List<T> dataList = new ArrayList<>();
 
             if (jsonArray == null || !jsonArray.isArray()) {
-                System.err.println("Error: No data or not array in JSON: " + function);
+                rejectApiMessage(rootNode);
+                log.warn("No data or not array in JSON: {}", function);
                 return dataList;
             }
 
@@ -108,13 +449,16 @@ public class AlphaVantageService {
                         dataList.add(object);
                     }
                 } catch (IllegalArgumentException e) {
-                    System.err.println("Error creating object: " + e.getMessage());
+                    log.warn("Error creating object: {}", e.getMessage());
                 }
             });
             return dataList;
         } catch (JsonProcessingException e) {
-            System.err.println("Error parsing JSON: " + e.getMessage());
-            return new ArrayList<>();
+            // Fail rather than cache and store no data.
+            throw new UncheckedIOException("Malformed " + functionType + " response: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            // The body could not be received (e.g. timed out): fail rather than cache no data.
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -127,7 +471,19 @@ public class AlphaVantageService {
      * @return A List of Annual IncomeStatement objects parsed from the JSON response.
      */
     public List<IncomeStatement> parseAnnualIncomeStatement(String symbol, String jsonResponse, URLCreator.FunctionType functionType) {
-        return parseFinancialData(jsonResponse, functionType, jsonData -> {
+        return parseAnnualIncomeStatement(symbol, toStream(jsonResponse), functionType);
+    }
+
+    /**
+     * Parses annual Income Statement data from a JSON response.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body containing income statement data.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @return A List of Annual IncomeStatement objects parsed from the JSON response.
+     */
+    public List<IncomeStatement> parseAnnualIncomeStatement(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType) {
+        return parseFinancialData(jsonStream, functionType, jsonData -> {
             try {
                 return new IncomeStatement(
                         safeGetDate(jsonData, "fiscalDateEnding"),
@@ -157,7 +513,7 @@ public class AlphaVantageService {
                         safeGetBigDecimal(jsonData, "ebitda")
                 );
             } catch (Exception e) {
-                System.err.println("A general error occurred creating IncomeStatement: " + e.getMessage());
+                log.warn("A general error occurred creating IncomeStatement: {}", e.getMessage());
                 return null;
             }
         });
@@ -172,7 +528,19 @@ public class AlphaVantageService {
      * @return A List of Annual BalanceSheet objects parsed from the JSON response.
      */
     public List<BalanceSheet> parseAnnualBalanceSheet(String symbol, String jsonResponse, URLCreator.FunctionType functionType) {
-        return parseFinancialData(jsonResponse, functionType, jsonData -> {
+        return parseAnnualBalanceSheet(symbol, toStream(jsonResponse), functionType);
+    }
+
+    /**
+     * Parses annual Balance Sheet data from a JSON response.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body containing balance sheet data.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @return A List of Annual BalanceSheet objects parsed from the JSON response.
+     */
+    public List<BalanceSheet> parseAnnualBalanceSheet(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType) {
+        return parseFinancialData(jsonStream, functionType, jsonData -> {
             try {
                 return new BalanceSheet(
                     safeGetDate(jsonData, "fiscalDateEnding"),
@@ -214,7 +582,7 @@ public class AlphaVantageService {
                     safeGetBigDecimal(jsonData, "commonStockSharesOutstanding")
                 );
             } catch (Exception e) {
-                System.err.println("A general error occurred creating BalanceSheet: " + e.getMessage());
+                log.warn("A general error occurred creating BalanceSheet: {}", e.getMessage());
                 return null;
             }
         });
@@ -229,7 +597,19 @@ public class AlphaVantageService {
      * @return A List of Annual CashFlow objects parsed from the JSON response.
      */
     public List<CashFlow> parseAnnualCashFlow(String symbol, String jsonResponse, URLCreator.FunctionType functionType) {
-        return parseFinancialData(jsonResponse, functionType, jsonData -> {
+        return parseAnnualCashFlow(symbol, toStream(jsonResponse), functionType);
+    }
+
+    /**
+     * Parses annual Cash Flow data from a JSON response.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body containing cash flow data.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @return A List of Annual CashFlow objects parsed from the JSON response.
+     */
+    public List<CashFlow> parseAnnualCashFlow(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType) {
+        return parseFinancialData(jsonStream, functionType, jsonData -> {
             try {
                 return new CashFlow(
                         safeGetDate(jsonData, "fiscalDateEnding"),
@@ -262,7 +642,7 @@ public class AlphaVantageService {
                         safeGetBigDecimal(jsonData, "netIncome")
                 );
             } catch (Exception e) {
-                System.err.println("A general error occurred creating CashFlow: " + e.getMessage());
+                log.warn("A general error occurred creating CashFlow: {}", e.getMessage());
                 return null;
             }
         });
@@ -277,8 +657,24 @@ public class AlphaVantageService {
      * @return A Overview object parsed from the JSON response.
      */
     public Overview parseOverview(String symbol, String jsonResponse, URLCreator.FunctionType functionType){
+        return parseOverview(symbol, toStream(jsonResponse), functionType);
+    }
+
+    /**
+     * Parses overview data from a JSON response.
+     *
+     * @param symbol       The stock symbol.
+     * @param jsonStream   The JSON response body containing overview data.
+     * @param functionType The AlphaVantage API function type used to retrieve the data.
+     * @return A Overview object parsed from the JSON response.
+     * @throws UncheckedIOException If the body is malformed (e.g. truncated) or cannot be received.
+     */
+    public Overview parseOverview(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType){
         try {
-            JsonNode jsonData = objectMapper.readTree(jsonResponse);
+            JsonNode jsonData = readTree(jsonStream, functionType);
+            if (jsonData.get("Symbol") == null) {
+                rejectApiMessage(jsonData);
+            }
             return new Overview(
                 safeGetString(jsonData, "Symbol"),
                 safeGetString(jsonData, "Name"),
@@ -330,13 +726,70 @@ public class AlphaVantageService {
                 safeGetDate(jsonData, "ExDividendDate")
             );
         } catch (JsonProcessingException e) {
-            System.err.println("Error prasing overview: " + e.getMessage());
-            return null;
+            throw new UncheckedIOException("Malformed " + functionType + " response: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     // *************************************HELPER FUNCTIONS********************************************
 
+    /**
+     * @param url An Alpha Vantage query URL.
+     * @return The value of its function parameter, used as metric tag.
+     */
+    private static String functionOf(String url) {
+        int start = url.indexOf("function=");
+        if (start < 0) {
+            return "UNKNOWN";
+        }
+        start += "function=".length();
+        int end = url.indexOf('&', start);
+        return end < 0 ? url.substring(start) : url.substring(start, end);
+    }
+
+    /**
+     * Fails on the messages Alpha Vantage answers with status 200 instead of data (rate limit
+     * notes, invalid key or symbol), so that they are neither cached nor stored as data.
+     *
+     * @param rootNode The root of a response that lacks the expected data.
+     * @throws RuntimeException If the response is such a message.
+     */
+    private void rejectApiMessage(JsonNode rootNode) {
+        for (String key : API_MESSAGE_KEYS) {
+            JsonNode message = rootNode.get(key);
+            if (message != null) {
+                throw new RuntimeException("Alpha Vantage answered: " + message.asText());
+            }
+        }
+    }
+
+    /**
+     * Reads a whole JSON response body.
+     *
+     * @param jsonStream   The response body.
+     * @param functionType The function of the response, used in messages.
+     * @return The root node.
+     * @throws IOException If the body is empty, malformed or cannot be received.
+     */
+    private JsonNode readTree(InputStream jsonStream, URLCreator.FunctionType functionType) throws IOException {
+        JsonNode rootNode = objectMapper.readTree(jsonStream);
+        if (rootNode.isMissingNode()) {
+            throw new EOFException("Empty " + functionType + " response");
+        }
+        return rootNode;
+    }
+
+    /**
+     * Exposes an already received JSON string as a stream for the streaming parsers.
+     *
+     * @param jsonResponse The JSON response string.
+     * @return A stream over the UTF-8 bytes of the string.
+     */
+    private InputStream toStream(String jsonResponse) {
+        return new ByteArrayInputStream(jsonResponse.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Retrieves a String value from a JSON object, handling null and invalid types.
      *
@@ -372,7 +825,7 @@ public class AlphaVantageService {
                     try {
                         return new BigDecimal(textValue);
                     } catch (NumberFormatException e) {
-                        System.err.println("Error parsing BigDecimal for key '" + key + "': " + textValue);
+                        log.debug("Error parsing BigDecimal for key '{}': {}", key, textValue);
                         return null;
                     }
                 }
@@ -400,7 +853,7 @@ public class AlphaVantageService {
                 try {
                     return Integer.valueOf(node.asText());
                 } catch (NumberFormatException e) {
-                    System.err.println("Error parsing Integer for key '" + key + "': " + node.asText());
+                    log.debug("Error parsing Integer for key '{}': {}", key, node.asText());
                     return null;
                 }
             }
@@ -425,10 +878,137 @@ public class AlphaVantageService {
             try {
                 return LocalDate.parse(dateString, DateTimeFormatter.ISO_LOCAL_DATE);
             } catch (DateTimeParseException e) {
-                System.err.println("Error parsing date for key '" + key + "': " + dateString + ". Expected format: yyyy-MM-dd");
+                log.debug("Error parsing date for key '{}': {}. Expected format: yyyy-MM-dd", key, dateString);
                 return LocalDate.MIN;
             }
         }
         return LocalDate.MIN;
     }
+
+    /**
+     * Parser consuming an upstream response body.
+     *
+     * @param <T> The parsed type.
+     */
+    @FunctionalInterface
+    public interface BodyParser<T> {
+        T parse(InputStream body) throws Exception;
+    }
+
+    /**
+     * @return The single daemon thread closing the bodies of timed out responses.
+     */
+    private static ScheduledThreadPoolExecutor bodyWatchdog() {
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "alphavantage-body-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.setRemoveOnCancelPolicy(true);
+        return watchdog;
+    }
+
+    /**
+     * Response body that is closed by the {@link #BODY_WATCHDOG} when the request timeout
+     * expires before the body has been read and closed. Reads failing because of that report
+     * an {@link HttpTimeoutException}.
+     */
+    private static final class DeadlineInputStream extends FilterInputStream {
+        private final Duration timeout;
+        private final ScheduledFuture<?> watchdog;
+        private volatile boolean expired;
+
+        DeadlineInputStream(InputStream in, Duration timeout, long remainingNanos) {
+            super(in);
+            this.timeout = timeout;
+            this.watchdog = BODY_WATCHDOG.schedule(this::expire, Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        }
+
+        private void expire() {
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+                // The reader fails either way.
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                return super.read(buffer, offset, length);
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return super.skip(n);
+            } catch (IOException e) {
+                throw translate(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            watchdog.cancel(false);
+            super.close();
+        }
+
+        private IOException translate(IOException e) {
+            if (!expired) {
+                return e;
+            }
+            HttpTimeoutException timedOut = new HttpTimeoutException("Response not received within " + timeout);
+            timedOut.initCause(e);
+            return timedOut;
+        }
+    }
+
+    /**
+     * Stream counting the bytes read through it.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
 }
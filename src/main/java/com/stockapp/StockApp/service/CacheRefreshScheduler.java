@@ -0,0 +1,131 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.stockapp.StockApp.config.MarketDataCacheProperties;
+import com.stockapp.StockApp.model.MarketDataset;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Refreshes hot dashboard cache entries before they go stale, so the users of popular
+ * symbols never wait for an upstream call.
+ * <p>
+ * On every run, the most frequently used entries of each dataset cache that were also accessed
+ * within their refresh period are candidates once their age reaches {@code ahead-ratio} of
+ * {@code refresh-after}. The oldest candidates are reloaded in the background, at most
+ * {@code max-per-run} per run and never eating into the daily reserve of the API budget; the
+ * reloads run at {@link RequestPriority#BACKGROUND}, so interactive requests go first.
+ */
+@Component
+public class CacheRefreshScheduler {
+    private static final Logger log = LoggerFactory.getLogger(CacheRefreshScheduler.class);
+
+    private final CacheManager cacheManager;
+    private final MarketDataCacheProperties properties;
+    private final UpstreamQuotaScheduler quotaScheduler;
+    private final MeterRegistry registry;
+
+    /**
+     * Constructs the refresh scheduler.
+     *
+     * @param cacheManager   The cache manager holding the dataset caches.
+     * @param properties     The cache settings (refresh periods and budget).
+     * @param quotaScheduler The API quota, checked for the daily reserve.
+     * @param registry       The registry the refresh counts are published to.
+     */
+    public CacheRefreshScheduler(CacheManager cacheManager, MarketDataCacheProperties properties,
+            UpstreamQuotaScheduler quotaScheduler, MeterRegistry registry) {
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.quotaScheduler = quotaScheduler;
+        this.registry = registry;
+    }
+
+    /**
+     * Starts the background refresh of the hot entries that are close to going stale.
+     *
+     * @return The number of refreshes started.
+     */
+    @Scheduled(fixedDelayString = "${stockapp.cache.refresh.interval:1m}",
+            initialDelayString = "${stockapp.cache.refresh.interval:1m}")
+    public int refreshHotEntries() {
+        MarketDataCacheProperties.Refresh refresh = properties.getRefresh();
+        if (!refresh.isEnabled()) {
+            return 0;
+        }
+        int budget = refresh.getMaxPerRun();
+        int remainingToday = quotaScheduler.getRemainingToday();
+        if (remainingToday >= 0) {
+            budget = Math.min(budget, remainingToday - refresh.getDailyReserve());
+        }
+        if (budget <= 0) {
+            return 0;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (MarketDataset dataset : MarketDataset.values()) {
+            collectCandidates(dataset, refresh, candidates);
+        }
+        candidates.sort(Comparator.comparing(Candidate::age).reversed());
+
+        List<Candidate> selected = candidates.subList(0, Math.min(budget, candidates.size()));
+        // The reloads run on the market data executor, which takes this correlation ID along.
+        try (MDC.MDCCloseable correlationId = MDC.putCloseable(CorrelationIds.MDC_KEY, "cache-refresh")) {
+            for (Candidate candidate : selected) {
+                candidate.cache().refresh(candidate.key());
+                registry.counter("stockapp.cache.refresh.ahead", "cache", candidate.dataset().getKey()).increment();
+            }
+            if (!selected.isEmpty()) {
+                log.info("Refreshing {} of {} hot cache entries ahead of expiry", selected.size(), candidates.size());
+            }
+        }
+        return selected.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectCandidates(MarketDataset dataset, MarketDataCacheProperties.Refresh refresh, List<Candidate> candidates) {
+        MarketDataCacheProperties.Spec spec = properties.getSpecs().get(dataset.getKey());
+        Cache cache = cacheManager.getCache(dataset.getKey());
+        if (spec == null || spec.getRefreshAfter() == null || cache == null
+                || !(cache.getNativeCache() instanceof LoadingCache<?, ?> nativeCache)) {
+            return;
+        }
+        LoadingCache<Object, Object> loadingCache = (LoadingCache<Object, Object>) nativeCache;
+        Policy<Object, Object> policy = loadingCache.policy();
+        if (policy.eviction().isEmpty() || policy.expireAfterWrite().isEmpty() || policy.expireAfterAccess().isEmpty()) {
+            return;
+        }
+        Duration refreshAfter = spec.getRefreshAfter();
+        Duration dueAge = Duration.ofNanos((long) (refreshAfter.toNanos() * refresh.getAheadRatio()));
+
+        Map<Object, Object> hottest = policy.eviction().get().hottest(refresh.getHotEntries());
+        for (Object key : hottest.keySet()) {
+            Duration age = policy.expireAfterWrite().get().ageOf(key).orElse(Duration.ZERO);
+            Duration idle = policy.expireAfterAccess().get().ageOf(key).orElse(refreshAfter);
+            if (age.compareTo(dueAge) >= 0 && idle.compareTo(refreshAfter) < 0) {
+                candidates.add(new Candidate(dataset, loadingCache, key, age));
+            }
+        }
+    }
+
+    /**
+     * A cache entry due for refresh-ahead.
+     */
+    private record Candidate(MarketDataset dataset, LoadingCache<Object, Object> cache, Object key, Duration age) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.stockapp.StockApp.service;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+/**
+ * Correlation ID of the work done by the current thread, kept in the logging MDC so that every
+ * log line of a request carries it.
+ * <p>
+ * Requests get theirs from {@link com.stockapp.StockApp.config.CorrelationIdFilter}; background
+ * work (warm-up, cache refresh) uses a fixed name. Tasks handed to the market data executor
+ * inherit the MDC of the submitting thread through {@link #propagate(Runnable)}.
+ */
+public final class CorrelationIds {
+    /**
+     * MDC key of the correlation ID.
+     */
+    public static final String MDC_KEY = "correlationId";
+
+    /**
+     * Request and response header carrying the correlation ID.
+     */
+    public static final String HEADER = "X-Correlation-Id";
+
+    private CorrelationIds() {
+    }
+
+    /**
+     * Wraps a task so that it runs with the MDC of the thread calling this method and restores
+     * the MDC of the executing thread afterwards.
+     *
+     * @param task The task to hand to another thread.
+     * @return The wrapped task.
+     */
+    public static Runnable propagate(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                task.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
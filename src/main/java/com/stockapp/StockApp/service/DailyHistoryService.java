@@ -0,0 +1,143 @@
+package com.stockapp.StockApp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Service maintaining the daily adjusted price history of a symbol incrementally.
+ * <p>
+ * The first load of a symbol downloads the full history (20+ years of daily rows). Every later
+ * refresh only downloads the compact series (the latest ~100 rows) and merges it into the
+ * stored history by date. When a split or dividend happened since the last refresh, Alpha
+ * Vantage re-adjusts all earlier closes; this shows up as a different adjusted close on the
+ * overlapping dates, and the stored older rows are rescaled by the same ratio.
+ */
+@Service
+public class DailyHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(DailyHistoryService.class);
+    private static final URLCreator.FunctionType FUNCTION = URLCreator.FunctionType.TIME_SERIES_DAILY_ADJUSTED;
+
+    /** Relative difference below which two adjusted closes count as equal (4-decimal rounding). */
+    private static final double ADJUSTMENT_TOLERANCE = 1e-4;
+
+    private final AlphaVantageService service;
+    private final InFlightRequests inFlightRequests;
+    private final PriceHistoryStore store;
+
+    /**
+     * Constructs the daily history service.
+     *
+     * @param service          The service used to fetch and parse upstream data.
+     * @param inFlightRequests The table coalescing concurrent refreshes of the same symbol.
+     * @param store            The store holding the full history between refreshes.
+     */
+    public DailyHistoryService(AlphaVantageService service, InFlightRequests inFlightRequests, PriceHistoryStore store) {
+        this.service = service;
+        this.inFlightRequests = inFlightRequests;
+        this.store = store;
+    }
+
+    /**
+     * Brings the stored daily history of a symbol up to date and returns it. Downloads the
+     * full history if nothing is stored yet or the compact series does not reach back to the
+     * stored rows; otherwise only the compact series.
+     *
+     * @param symbol The stock symbol.
+     * @return The complete daily history, oldest first.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    public PriceSeries refresh(String symbol) {
+        String normalized = URLCreator.normalizeSymbol(symbol);
+        try {
+            // Whatever is downloaded, the result is the full history.
+            return inFlightRequests.execute(normalized, FUNCTION, URLCreator.OutputSize.FULL, () -> {
+                PriceSeries stored = store.load(normalized, FUNCTION);
+                PriceSeries history = null;
+                if (stored != null && !stored.isEmpty()) {
+                    history = merge(stored, fetch(normalized, URLCreator.OutputSize.COMPACT));
+                    if (history == null) {
+                        log.info("Compact daily series of {} does not overlap the stored history", normalized);
+                    }
+                }
+                if (history == null) {
+                    history = fetch(normalized, URLCreator.OutputSize.FULL);
+                }
+                return store.save(normalized, FUNCTION, history);
+            });
+        } catch (QuotaExceededException e) {
+            log.warn("Error fetching daily stock data of {}: {}", normalized, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error fetching daily stock data of {}: {}", normalized, e.getMessage());
+            throw new RuntimeException("Error fetching daily stock data.", e);
+        }
+    }
+
+    private PriceSeries fetch(String symbol, URLCreator.OutputSize outputSize) throws Exception {
+        URLCreator request = new URLCreator(symbol, FUNCTION, outputSize);
+        if (log.isDebugEnabled()) {
+            log.debug("Daily stock url: {}", service.loggableUrlOf(request));
+        }
+        return service.fetch(request, body -> service.parseStockData(symbol, body, FUNCTION));
+    }
+
+    /**
+     * Merges a recent series into a stored history. Rows from the first recent date on are
+     * taken from the recent series; older rows are kept from the stored history, rescaled if
+     * the adjusted close of the first common date changed (split or dividend re-adjustment).
+     *
+     * @param stored The stored history, oldest first.
+     * @param recent The recently fetched rows, oldest first.
+     * @return The merged history, or null if the two series share no date.
+     */
+    static PriceSeries merge(PriceSeries stored, PriceSeries recent) {
+        if (recent.isEmpty()) {
+            return stored;
+        }
+        int cut = stored.indexOf(recent.epochDay(0));
+        if (cut < 0) {
+            cut = -cut - 1;
+        }
+        if (cut == stored.size()) {
+            return null;
+        }
+
+        // The first date present in both series tells whether older rows were re-adjusted
+        int anchor = 0;
+        int storedAnchor = stored.indexOf(recent.epochDay(0));
+        while (storedAnchor < 0 && ++anchor < recent.size()) {
+            storedAnchor = stored.indexOf(recent.epochDay(anchor));
+        }
+        if (storedAnchor < 0) {
+            return null;
+        }
+        double storedClose = stored.adjustedClose(storedAnchor);
+        double ratio = storedClose == 0 ? 1 : recent.adjustedClose(anchor) / storedClose;
+        if (Math.abs(ratio - 1) <= ADJUSTMENT_TOLERANCE) {
+            ratio = 1;
+        }
+
+        boolean withOhlcv = stored.hasOhlcv() && recent.hasOhlcv();
+        PriceSeries.Builder builder = PriceSeries.builder(recent.getSymbol(), withOhlcv);
+        for (int i = 0; i < cut; i++) {
+            append(builder, stored, i, ratio, withOhlcv);
+        }
+        for (int i = 0; i < recent.size(); i++) {
+            append(builder, recent, i, 1, withOhlcv);
+        }
+        return builder.build();
+    }
+
+    private static void append(PriceSeries.Builder builder, PriceSeries series, int i, double ratio, boolean withOhlcv) {
+        if (withOhlcv) {
+            builder.append(series.epochDay(i), series.adjustedClose(i) * ratio,
+                    series.open(i), series.high(i), series.low(i), series.close(i), series.volume(i));
+        } else {
+            builder.append(series.epochDay(i), series.adjustedClose(i) * ratio);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.stockapp.StockApp.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.stockapp.StockApp.config.MarketDataProperties;
+import com.stockapp.StockApp.model.MarketDataset;
+
+/**
+ * Service assembling several dashboard datasets of one symbol into a single response.
+ */
+@Service
+public class DashboardBundleService {
+    private final MarketDataService marketDataService;
+    private final AsyncTaskExecutor marketDataExecutor;
+    private final MarketDataProperties properties;
+
+    /**
+     * Constructs the bundle service.
+     *
+     * @param marketDataService  The cached source of the datasets.
+     * @param marketDataExecutor The pool on which the sections are loaded concurrently.
+     * @param properties         The market data settings (fetch deadline).
+     */
+    public DashboardBundleService(MarketDataService marketDataService, AsyncTaskExecutor marketDataExecutor,
+            MarketDataProperties properties) {
+        this.marketDataService = marketDataService;
+        this.marketDataExecutor = marketDataExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the requested sections concurrently under one overall deadline.
+     * A section that fails or is not ready in time is reported under "errors" and does not
+     * hold back the others; its load keeps running in the background and fills the cache
+     * for the next request.
+     *
+     * @param symbol   The stock symbol.
+     * @param sections The datasets to include.
+     * @return The bundle of the loaded sections and the errors of the others.
+     */
+    public Bundle loadBundle(String symbol, Set<MarketDataset> sections) {
+        Map<MarketDataset, CompletableFuture<Object>> futures = new EnumMap<>(MarketDataset.class);
+        for (MarketDataset section : sections) {
+            futures.put(section, CompletableFuture.supplyAsync(() -> load(section, symbol), marketDataExecutor));
+        }
+
+        Map<String, Object> loaded = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        long deadlineNanos = System.nanoTime() + properties.getFetchTimeout().toNanos();
+        for (Map.Entry<MarketDataset, CompletableFuture<Object>> entry : futures.entrySet()) {
+            String key = entry.getKey().getKey();
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                loaded.put(key, entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                errors.put(key, "Timed out after " + properties.getFetchTimeout().toMillis() + " ms.");
+            } catch (ExecutionException e) {
+                errors.put(key, messageOf(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.put(key, "Interrupted.");
+            }
+        }
+        return new Bundle(symbol, loaded, errors);
+    }
+
+    /**
+     * @return The message of a failure, or its type if it has none (e.g. a NullPointerException).
+     */
+    private static String messageOf(Throwable failure) {
+        return failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+    }
+
+    /**
+     * Loads one section through the cache proxy of the market data service.
+     *
+     * @param section The dataset to load.
+     * @param symbol  The stock symbol.
+     * @return The (cached) dataset.
+     */
+    public Object load(MarketDataset section, String symbol) {
+        return switch (section) {
+            case STOCKS -> marketDataService.getStockData(symbol);
+            case OVERVIEW -> marketDataService.getOverview(symbol);
+            case INCOME_STATEMENT -> marketDataService.getAnnualIncomeStatements(symbol);
+            case BALANCE_SHEET -> marketDataService.getAnnualBalanceSheet(symbol);
+            case CASH_FLOW_STATEMENT -> marketDataService.getAnnualCashFlow(symbol);
+        };
+    }
+
+    /**
+     * Several dashboard datasets of one symbol. Serialized as {@code symbol}, one field per
+     * loaded section (named by its {@link MarketDataset#getKey() key}) and {@code errors}.
+     *
+     * @param symbol   The stock symbol as requested.
+     * @param sections The loaded sections by key.
+     * @param errors   The error message of every section that failed or timed out, by key.
+     */
+    @JsonPropertyOrder({"symbol", "errors"})
+    public record Bundle(String symbol, @JsonAnyGetter Map<String, Object> sections, Map<String, String> errors) {
+
+        /**
+         * @param section The dataset.
+         * @return The loaded section, or null if it was not requested or failed.
+         */
+        public Object section(MarketDataset section) {
+            return sections.get(section.getKey());
+        }
+    }
+}
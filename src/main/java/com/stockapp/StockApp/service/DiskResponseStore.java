@@ -0,0 +1,240 @@
+package com.stockapp.StockApp.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.stockapp.StockApp.config.ResponseStoreProperties;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * {@link ResponseStore} on the local filesystem.
+ * <p>
+ * Responses are stored gzip compressed as
+ * {@code <directory>/<SYMBOL>/<FUNCTION>[-<outputsize>]/<fetchedAtMillis>.json.gz}. A response
+ * is written to a temporary file while it streams in and moved into place atomically once it
+ * was parsed, so readers never see a partial file. The latest fetch time per symbol and
+ * function is indexed in memory; the index is rebuilt from the directory on startup.
+ */
+public class DiskResponseStore implements ResponseStore {
+    private static final Logger log = LoggerFactory.getLogger(DiskResponseStore.class);
+    private static final String SUFFIX = ".json.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Symbols end up in paths: anything that could escape the store directory is not stored.
+    private static final Pattern SAFE_SYMBOL = Pattern.compile("[A-Z0-9][A-Z0-9.=^_-]{0,19}");
+
+    private final ResponseStoreProperties properties;
+    private final Path directory;
+    private final ConcurrentMap<Path, Long> latestFetch = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the store and indexes the responses already on disk.
+     *
+     * @param properties The response store settings.
+     * @throws UncheckedIOException If the store directory cannot be created or read.
+     */
+    public DiskResponseStore(ResponseStoreProperties properties) {
+        this.properties = properties;
+        this.directory = properties.getDirectory().toAbsolutePath().normalize();
+        try {
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open response store " + directory, e);
+        }
+    }
+
+    @Override
+    public InputStream openFresh(URLCreator request) throws IOException {
+        Path responses = responsesOf(request);
+        Long fetchedAt = responses == null ? null : latestFetch.get(responses);
+        if (fetchedAt == null
+                || System.currentTimeMillis() - fetchedAt > properties.freshnessOf(request.getFunction()).toMillis()) {
+            return null;
+        }
+        try {
+            return new GZIPInputStream(Files.newInputStream(responses.resolve(fetchedAt + SUFFIX)), 8192);
+        } catch (NoSuchFileException e) {
+            latestFetch.remove(responses, fetchedAt);
+            return null;
+        }
+    }
+
+    @Override
+    public Recording record(URLCreator request, InputStream body) throws IOException {
+        Path responses = responsesOf(request);
+        if (responses == null) {
+            return new Recording(body);
+        }
+        Files.createDirectories(responses);
+        return new DiskRecording(body, responses, System.currentTimeMillis());
+    }
+
+    /**
+     * @return The number of symbol/function combinations with a stored response.
+     */
+    public int size() {
+        return latestFetch.size();
+    }
+
+    /**
+     * Returns the directory holding the responses of a request.
+     *
+     * @param request The upstream request.
+     * @return The directory, or null if the symbol is not safe to use in a path.
+     */
+    private Path responsesOf(URLCreator request) {
+        String symbol = URLCreator.normalizeSymbol(request.getSymbol());
+        if (symbol == null || !SAFE_SYMBOL.matcher(symbol).matches()) {
+            return null;
+        }
+        String name = request.getFunction().name();
+        if (request.getOutputSize() != null) {
+            name += "-" + request.getOutputSize().getOutput();
+        }
+        return directory.resolve(symbol).resolve(name);
+    }
+
+    /**
+     * Scans the store directory: records the latest response of every symbol and function,
+     * deletes temporary files left by an interrupted write and prunes old responses.
+     */
+    private void loadIndex() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> symbols = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path symbol : symbols) {
+                try (DirectoryStream<Path> functions = Files.newDirectoryStream(symbol, Files::isDirectory)) {
+                    for (Path responses : functions) {
+                        prune(responses, true);
+                    }
+                }
+            }
+        }
+        log.info("Response store {}: {} stored responses", directory, latestFetch.size());
+    }
+
+    /**
+     * Deletes all but the latest {@code retain} responses in a directory and updates the index.
+     *
+     * @param responses  The directory of one symbol and function.
+     * @param deleteTemp Whether temporary files are deleted too (only safe while nothing is being recorded).
+     */
+    private void prune(Path responses, boolean deleteTemp) throws IOException {
+        List<Long> fetchTimes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(responses)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (deleteTemp && name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    try {
+                        fetchTimes.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+                    } catch (NumberFormatException ignored) {
+                        // not written by this store
+                    }
+                }
+            }
+        }
+        if (fetchTimes.isEmpty()) {
+            return;
+        }
+        fetchTimes.sort(Comparator.reverseOrder());
+        latestFetch.merge(responses, fetchTimes.get(0), Math::max);
+        for (Long fetchedAt : fetchTimes.subList(Math.min(fetchTimes.size(), Math.max(1, properties.getRetain())), fetchTimes.size())) {
+            Files.deleteIfExists(responses.resolve(fetchedAt + SUFFIX));
+        }
+    }
+
+    /**
+     * Recording that copies every byte read into a compressed temporary file.
+     */
+    private final class DiskRecording extends Recording {
+        private final Path responses;
+        private final long fetchedAt;
+        private final Path temp;
+        private final OutputStream copy;
+        private boolean done;
+
+        DiskRecording(InputStream body, Path responses, long fetchedAt) throws IOException {
+            super(body);
+            this.responses = responses;
+            this.fetchedAt = fetchedAt;
+            this.temp = Files.createTempFile(responses, Long.toString(fetchedAt), TEMP_SUFFIX);
+            this.copy = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), 8192);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                copy.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public void commit() throws IOException {
+            if (done) {
+                return;
+            }
+            // The parser may stop before the end of the body; the stored copy must be complete.
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // copied by read
+            }
+            copy.close();
+            done = true;
+            Files.move(temp, responses.resolve(fetchedAt + SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            latestFetch.merge(responses, fetchedAt, Math::max);
+            prune(responses, false);
+        }
+
+        @Override
+        public void discard() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                copy.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Could not delete {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+}
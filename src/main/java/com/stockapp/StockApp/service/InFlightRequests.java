@@ -0,0 +1,134 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Table of upstream requests that are currently in flight, keyed by normalized symbol,
+ * {@link URLCreator.FunctionType} and {@link URLCreator.OutputSize}, so a compact and a full
+ * series of the same symbol are never served by one load.
+ * <p>
+ * The first caller for a key (the leader) runs the fetch and parse; every caller arriving
+ * while it is still running waits for and shares the leader's result instead of issuing its
+ * own upstream call. The entry is removed once the leader finishes, so later callers are
+ * served by the cache again.
+ * <p>
+ * Joining callers wait at most as long as a leader can legitimately take: the longest quota
+ * wait plus the request timeout, which bounds receiving and parsing the response.
+ */
+@Component
+public class InFlightRequests {
+    private final ConcurrentMap<RequestKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final Duration joinTimeout;
+
+    /**
+     * Constructs the table.
+     *
+     * @param properties The Alpha Vantage settings the wait of joining callers is derived from.
+     */
+    public InFlightRequests(AlphaVantageProperties properties) {
+        AlphaVantageProperties.Quota quota = properties.getQuota();
+        Duration quotaWait = quota.isEnabled() ? max(quota.getInteractiveWait(), quota.getBackgroundWait()) : Duration.ZERO;
+        this.joinTimeout = quotaWait.plus(properties.getHttp().getRequestTimeout());
+    }
+
+    /**
+     * Runs the loader for a request without output size, or joins the load already running
+     * for it.
+     *
+     * @param <T>      The type of the loaded value.
+     * @param symbol   The stock symbol (normalized before use as a key).
+     * @param function The Alpha Vantage function being fetched.
+     * @param loader   The fetch-and-parse work executed by the leader only.
+     * @return The value produced by the leader.
+     * @throws TimeoutException If the leader's load did not finish within the join timeout.
+     * @throws Exception The exception thrown by the leader's loader.
+     */
+    public <T> T execute(String symbol, URLCreator.FunctionType function, Callable<T> loader) throws Exception {
+        return execute(symbol, function, null, loader);
+    }
+
+    /**
+     * Runs the loader for the given key, or joins the load already running for it.
+     *
+     * @param <T>        The type of the loaded value.
+     * @param symbol     The stock symbol (normalized before use as a key).
+     * @param function   The Alpha Vantage function being fetched.
+     * @param outputSize The output size of the loaded series, or null if the function has none.
+     * @param loader     The fetch-and-parse work executed by the leader only.
+     * @return The value produced by the leader.
+     * @throws TimeoutException If the leader's load did not finish within the join timeout.
+     * @throws Exception The exception thrown by the leader's loader.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String symbol, URLCreator.FunctionType function, URLCreator.OutputSize outputSize,
+            Callable<T> loader) throws Exception {
+        RequestKey key = RequestKey.of(symbol, function, outputSize);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            try {
+                return (T) existing.get(joinTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } catch (TimeoutException e) {
+                throw new TimeoutException("In-flight " + function + " request of " + key.symbol()
+                        + " did not finish within " + joinTimeout);
+            }
+        }
+
+        try {
+            T value = loader.call();
+            leader.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * @return The number of callers that were served by another caller's upstream request.
+     */
+    public long getCoalescedCount() { return coalescedCount.get(); }
+
+    /**
+     * @return The number of distinct upstream requests currently in flight.
+     */
+    public int getInFlightCount() { return inFlight.size(); }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Key of an in-flight request: the upper-cased symbol plus the API function and output size.
+     *
+     * @param symbol     The normalized stock symbol.
+     * @param function   The Alpha Vantage function.
+     * @param outputSize The output size, or null.
+     */
+    public record RequestKey(String symbol, URLCreator.FunctionType function, URLCreator.OutputSize outputSize) {
+
+        public static RequestKey of(String symbol, URLCreator.FunctionType function, URLCreator.OutputSize outputSize) {
+            return new RequestKey(URLCreator.normalizeSymbol(symbol), function, outputSize);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.stockapp.StockApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockapp.StockApp.config.MarketDataProperties;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+import com.stockapp.StockApp.util.PayloadSizeEstimator;
+
+/**
+ * {@link PriceHistoryStore} keeping the histories on the heap. Entries do not expire, but the
+ * store is bounded by the estimated size of the series and evicts the least used symbols first.
+ */
+public class InMemoryPriceHistoryStore implements PriceHistoryStore {
+    private final Cache<String, PriceSeries> histories;
+
+    /**
+     * Constructs the store.
+     *
+     * @param properties The market data settings (history size bound).
+     */
+    public InMemoryPriceHistoryStore(MarketDataProperties properties) {
+        this.histories = Caffeine.newBuilder()
+                .maximumWeight(properties.getHistoryMaxWeight().toBytes())
+                .weigher((String key, PriceSeries series) ->
+                        (int) Math.min(Integer.MAX_VALUE, PayloadSizeEstimator.estimateBytes(series)))
+                .build();
+    }
+
+    @Override
+    public PriceSeries load(String symbol, URLCreator.FunctionType function) {
+        return histories.getIfPresent(symbol + '/' + function);
+    }
+
+    @Override
+    public PriceSeries save(String symbol, URLCreator.FunctionType function, PriceSeries series) {
+        histories.put(symbol + '/' + function, series);
+        return series;
+    }
+}
@@ -0,0 +1,320 @@
+package com.stockapp.StockApp.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.stockapp.StockApp.model.MappedPriceSeries;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * {@link PriceHistoryStore} keeping every history in a fixed-width binary record file,
+ * {@code <directory>/<SYMBOL>/<FUNCTION>[.<generation>].prices}, read through a
+ * {@link MappedByteBuffer}.
+ * <p>
+ * Series handed out are {@link MappedPriceSeries} views of the file: the data lives in the OS
+ * page cache, not on the heap, and serving or slicing a series neither parses nor copies it.
+ * A save that only adds newer rows appends their records to the file; a save that changes
+ * stored rows (split or dividend re-adjustment) writes the history to a file of the next
+ * generation, moved into place atomically, and deletes the previous one. A mapped file is
+ * never replaced, which Windows would refuse; there, a previous generation still mapped by a
+ * view is deleted when the history is opened after a restart. Views handed out before keep the
+ * mapping they were created with.
+ * <p>
+ * A file that is not a price file (corrupted, or cut short before its header was written) is
+ * renamed to {@code .corrupt} and treated as absent, so the history is downloaded in full
+ * and written again.
+ */
+public class MappedPriceHistoryStore implements PriceHistoryStore {
+    private static final Logger log = LoggerFactory.getLogger(MappedPriceHistoryStore.class);
+    private static final String SUFFIX = ".prices";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    // Symbols end up in paths: anything that could escape the store directory is kept on the heap only.
+    private static final Pattern SAFE_SYMBOL = Pattern.compile("[A-Z0-9][A-Z0-9.=^_-]{0,19}");
+    private static final Pattern GENERATION = Pattern.compile("(?:\\.(\\d{1,18}))?" + Pattern.quote(SUFFIX));
+
+    private final Path directory;
+    // Keyed by the file of generation 0, whatever the current generation is.
+    private final ConcurrentMap<Path, Generation> mapped = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the store.
+     *
+     * @param directory The directory holding the price files.
+     * @throws UncheckedIOException If the directory cannot be created.
+     */
+    public MappedPriceHistoryStore(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open price store " + this.directory, e);
+        }
+    }
+
+    @Override
+    public PriceSeries load(String symbol, URLCreator.FunctionType function) {
+        Path base = fileOf(symbol, function);
+        if (base == null) {
+            return null;
+        }
+        Generation current = mapped.computeIfAbsent(base, path -> {
+            try {
+                return open(symbol, path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read " + path, e);
+            }
+        });
+        return current == null ? null : current.series();
+    }
+
+    @Override
+    public PriceSeries save(String symbol, URLCreator.FunctionType function, PriceSeries series) {
+        Path base = fileOf(symbol, function);
+        if (base == null) {
+            return series;
+        }
+        // compute() serializes writers of the same history
+        return mapped.compute(base, (path, stored) -> {
+            try {
+                if (stored == null) {
+                    stored = open(symbol, path);
+                }
+                if (stored != null && isPrefix(stored.series(), series)) {
+                    if (stored.series().size() == series.size()) {
+                        return stored;
+                    }
+                    append(stored.file(), series, stored.series().size(), stored.series().hasOhlcv());
+                    return new Generation(stored.file(), map(symbol, stored.file()));
+                }
+                Path file = rewrite(path, series);
+                if (stored != null) {
+                    deleteIfUnmapped(stored.file());
+                }
+                return new Generation(file, map(symbol, file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write " + path, e);
+            }
+        }).series();
+    }
+
+    /**
+     * Maps the latest generation of a history and deletes the older ones. A corrupt file is
+     * set aside.
+     *
+     * @return The mapped generation, or null if there is no (readable) file.
+     */
+    private static Generation open(String symbol, Path base) throws IOException {
+        Path latest = latestFile(base);
+        if (latest == null) {
+            return null;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(base.getParent(), prefixOf(base) + "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(latest) && generationOf(base, file) >= 0) {
+                    deleteIfUnmapped(file);
+                }
+            }
+        }
+        try {
+            PriceSeries series = map(symbol, latest);
+            return series == null ? null : new Generation(latest, series);
+        } catch (CorruptPriceFileException e) {
+            Path corrupt = latest.resolveSibling(latest.getFileName() + CORRUPT_SUFFIX);
+            log.warn("{}; moving it to {} and downloading the history again", e.getMessage(), corrupt);
+            Files.move(latest, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+    }
+
+    /**
+     * Maps the records of a price file.
+     *
+     * @return The series over the file, or null if the file does not exist.
+     * @throws CorruptPriceFileException If the file has no valid header.
+     */
+    private static PriceSeries map(String symbol, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MappedPriceSeries.HEADER_SIZE).order(MappedPriceSeries.BYTE_ORDER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read the whole header
+            }
+            header.flip();
+            if (header.remaining() < MappedPriceSeries.HEADER_SIZE
+                    || header.getInt() != MappedPriceSeries.MAGIC || header.getInt() != MappedPriceSeries.VERSION) {
+                throw new CorruptPriceFileException("Not a price file: " + file);
+            }
+            int recordSize = header.getInt();
+            boolean ohlcv = (header.getInt() & MappedPriceSeries.FLAG_OHLCV) != 0;
+            if (recordSize != MappedPriceSeries.recordSize(ohlcv)) {
+                throw new CorruptPriceFileException("Invalid record size " + recordSize + " in " + file);
+            }
+            // A record cut short by an interrupted append is not part of the series.
+            long records = (channel.size() - MappedPriceSeries.HEADER_SIZE) / recordSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    MappedPriceSeries.HEADER_SIZE, records * recordSize);
+            return new MappedPriceSeries(symbol, buffer, ohlcv);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a series starts with exactly the rows stored.
+     */
+    private static boolean isPrefix(PriceSeries stored, PriceSeries series) {
+        if (stored.size() > series.size() || (series.hasOhlcv() && !stored.hasOhlcv())) {
+            return false;
+        }
+        for (int i = 0; i < stored.size(); i++) {
+            if (stored.epochDay(i) != series.epochDay(i)
+                    || Double.compare(stored.adjustedClose(i), series.adjustedClose(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void append(Path file, PriceSeries series, int fromIndex, boolean ohlcv) throws IOException {
+        int recordSize = MappedPriceSeries.recordSize(ohlcv);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Drop a partial record left by an interrupted append before adding new ones.
+            long records = (channel.size() - MappedPriceSeries.HEADER_SIZE) / recordSize;
+            channel.truncate(MappedPriceSeries.HEADER_SIZE + records * recordSize);
+            ByteBuffer buffer = ByteBuffer.allocate((series.size() - fromIndex) * recordSize);
+            MappedPriceSeries.writeRecords(buffer, series, fromIndex, series.size(), ohlcv);
+            buffer.flip();
+            channel.position(channel.size());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Writes a history to the file of the next generation.
+     *
+     * @return The new file.
+     */
+    private static Path rewrite(Path base, PriceSeries series) throws IOException {
+        Files.createDirectories(base.getParent());
+        boolean ohlcv = series.hasOhlcv();
+        ByteBuffer buffer = ByteBuffer.allocate(MappedPriceSeries.HEADER_SIZE + series.size() * MappedPriceSeries.recordSize(ohlcv));
+        MappedPriceSeries.writeHeader(buffer, ohlcv);
+        MappedPriceSeries.writeRecords(buffer, series, 0, series.size(), ohlcv);
+        buffer.flip();
+
+        Path latest = latestFile(base);
+        Path file = latest == null ? base : base.resolveSibling(prefixOf(base) + "." + (generationOf(base, latest) + 1) + SUFFIX);
+        Path temp = Files.createTempFile(base.getParent(), base.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return file;
+    }
+
+    /**
+     * @return The file of the highest generation of a history, or null if there is none.
+     */
+    private static Path latestFile(Path base) throws IOException {
+        if (!Files.isDirectory(base.getParent())) {
+            return null;
+        }
+        Path latest = null;
+        long latestGeneration = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(base.getParent(), prefixOf(base) + "*" + SUFFIX)) {
+            for (Path file : files) {
+                long generation = generationOf(base, file);
+                if (generation > latestGeneration) {
+                    latest = file;
+                    latestGeneration = generation;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * @return The generation of a file of a history, 0 for the base file, or -1 if the file
+     *         does not belong to the history.
+     */
+    private static long generationOf(Path base, Path file) {
+        String name = file.getFileName().toString();
+        String prefix = prefixOf(base);
+        if (!name.startsWith(prefix)) {
+            return -1;
+        }
+        Matcher matcher = GENERATION.matcher(name.substring(prefix.length()));
+        if (!matcher.matches()) {
+            return -1;
+        }
+        return matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+    }
+
+    private static String prefixOf(Path base) {
+        String name = base.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+
+    /**
+     * Deletes a previous generation. On Windows this fails while the file is still mapped by a
+     * view handed out before; it is deleted when the history is opened again.
+     */
+    private static void deleteIfUnmapped(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Cannot delete {} yet: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the price file of generation 0 of a symbol and function.
+     *
+     * @return The file, or null if the symbol is not safe to use in a path.
+     */
+    private Path fileOf(String symbol, URLCreator.FunctionType function) {
+        if (symbol == null || !SAFE_SYMBOL.matcher(symbol).matches()) {
+            return null;
+        }
+        return directory.resolve(symbol).resolve(function.name() + SUFFIX);
+    }
+
+    /**
+     * The current file of a history and the series mapped from it.
+     */
+    private record Generation(Path file, PriceSeries series) {
+    }
+
+    /**
+     * Thrown for a file that is not a valid price file.
+     */
+    private static final class CorruptPriceFileException extends IOException {
+        CorruptPriceFileException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.stockapp.StockApp.service;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.stockapp.StockApp.model.BalanceSheet;
+import com.stockapp.StockApp.model.CashFlow;
+import com.stockapp.StockApp.model.IncomeStatement;
+import com.stockapp.StockApp.model.MarketDataset;
+import com.stockapp.StockApp.model.Overview;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Cached access to the market data of a company.
+ * <p>
+ * This is the single entry point for price history, overview and financial statements. Every
+ * caller (dashboard endpoints, DCF valuation) goes through the Spring cache proxy of this bean,
+ * so a dataset that was loaded once is served from the cache regardless of who asks for it.
+ * Cache misses for the same symbol and function are coalesced by {@link InFlightRequests}.
+ */
+@Service
+public class MarketDataService {
+    private static final Logger log = LoggerFactory.getLogger(MarketDataService.class);
+
+    private final AlphaVantageService service;
+    private final InFlightRequests inFlightRequests;
+    private final DailyHistoryService dailyHistoryService;
+    private final PriceHistoryStore priceHistoryStore;
+
+    /**
+     * Constructs the market data service.
+     *
+     * @param service             The service used to fetch and parse upstream data.
+     * @param inFlightRequests    The table coalescing concurrent fetches of the same data.
+     * @param dailyHistoryService The service maintaining the daily price histories incrementally.
+     * @param priceHistoryStore   The store the cached price series are views of.
+     */
+    public MarketDataService(AlphaVantageService service, InFlightRequests inFlightRequests,
+            DailyHistoryService dailyHistoryService, PriceHistoryStore priceHistoryStore) {
+        this.service = service;
+        this.inFlightRequests = inFlightRequests;
+        this.dailyHistoryService = dailyHistoryService;
+        this.priceHistoryStore = priceHistoryStore;
+    }
+
+    /**
+     * Retrieves stock (price over time) data for a given symbol.
+     * The series is written to the price history store and the cached value is the store's
+     * view of it, so with the mapped store the cache does not hold the rows on the heap.
+     *
+     * @param symbol The stock symbol.
+     * @return The price series of the stock, oldest first.
+     * @throws RuntimeException If an error occurs during data retrieval.
+     */
+    @Cacheable(value = "stocks", keyGenerator = "symbolKeyGenerator", sync = true)
+    public PriceSeries getStockData(String symbol) {
+        return loadStockData(symbol, false);
+    }
+
+    /**
+     * Retrieves the daily adjusted price history of a symbol. When the cached entry expires,
+     * only the latest rows are downloaded and merged into the stored history.
+     *
+     * @param symbol The stock symbol.
+     * @return The daily price series of the stock, oldest first.
+     * @throws RuntimeException If an error occurs during data retrieval.
+     */
+    @Cacheable(value = "dailyStocks", keyGenerator = "symbolKeyGenerator", sync = true)
+    public PriceSeries getDailyStockData(String symbol) {
+        return dailyHistoryService.refresh(symbol);
+    }
+
+    /**
+     * Retrieves Overview data for a given symbol.
+     *
+     * @param symbol The stock symbol.
+     * @return A Overview object representing overview data.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    @Cacheable(value = "overview", keyGenerator = "symbolKeyGenerator", sync = true)
+    public Overview getOverview(String symbol) {
+        return loadOverview(symbol, false);
+    }
+
+    /**
+     * Retrieves annual income statement data for a given stock symbol.
+     *
+     * @param symbol The stock symbol.
+     * @return A list of Annual IncomeStatement objects.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    @Cacheable(value = "incomeStatement", keyGenerator = "symbolKeyGenerator", sync = true)
+    public List<IncomeStatement> getAnnualIncomeStatements(String symbol) {
+        return loadAnnualIncomeStatements(symbol, false);
+    }
+
+    /**
+     * Retrieves annual balance sheet data for a given stock symbol.
+     *
+     * @param symbol The stock symbol.
+     * @return A list of Annual BalanceSheet objects.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    @Cacheable(value = "balanceSheet", keyGenerator = "symbolKeyGenerator", sync = true)
+    public List<BalanceSheet> getAnnualBalanceSheet(String symbol) {
+        return loadAnnualBalanceSheet(symbol, false);
+    }
+
+    /**
+     * Retrieves annual cash flow statement data for a given stock symbol.
+     *
+     * @param symbol The stock symbol.
+     * @return A list of Annual CashFlow objects.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    @Cacheable(value = "cashFlowStatement", keyGenerator = "symbolKeyGenerator", sync = true)
+    public List<CashFlow> getAnnualCashFlow(String symbol) {
+        return loadAnnualCashFlow(symbol, false);
+    }
+
+    /**
+     * Loads a dataset from the API, bypassing both the caches and the stored responses. This
+     * is the loader of the cache refreshes, which run at {@link RequestPriority#BACKGROUND}.
+     *
+     * @param dataset The dataset to load.
+     * @param symbol  The stock symbol.
+     * @return The freshly loaded dataset.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    public Object reload(MarketDataset dataset, String symbol) {
+        return switch (dataset) {
+            case STOCKS -> loadStockData(symbol, true);
+            case OVERVIEW -> loadOverview(symbol, true);
+            case INCOME_STATEMENT -> loadAnnualIncomeStatements(symbol, true);
+            case BALANCE_SHEET -> loadAnnualBalanceSheet(symbol, true);
+            case CASH_FLOW_STATEMENT -> loadAnnualCashFlow(symbol, true);
+        };
+    }
+
+    private PriceSeries loadStockData(String symbol, boolean revalidate) {
+        URLCreator.FunctionType function = URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED;
+        PriceSeries series = fetch(symbol, function, "stock", service::parseStockData, revalidate);
+        return priceHistoryStore.save(URLCreator.normalizeSymbol(symbol), function, series);
+    }
+
+    private Overview loadOverview(String symbol, boolean revalidate) {
+        return fetch(symbol, URLCreator.FunctionType.OVERVIEW, "overview", service::parseOverview, revalidate);
+    }
+
+    private List<IncomeStatement> loadAnnualIncomeStatements(String symbol, boolean revalidate) {
+        return fetch(symbol, URLCreator.FunctionType.INCOME_STATEMENT, "income statement", service::parseAnnualIncomeStatement, revalidate);
+    }
+
+    private List<BalanceSheet> loadAnnualBalanceSheet(String symbol, boolean revalidate) {
+        return fetch(symbol, URLCreator.FunctionType.BALANCE_SHEET, "balance sheet", service::parseAnnualBalanceSheet, revalidate);
+    }
+
+    private List<CashFlow> loadAnnualCashFlow(String symbol, boolean revalidate) {
+        return fetch(symbol, URLCreator.FunctionType.CASH_FLOW, "cash flow", service::parseAnnualCashFlow, revalidate);
+    }
+
+    /**
+     * Fetches and parses one dataset from the upstream API, sharing the work with concurrent
+     * callers asking for the same symbol and function. A fresh stored response is used if
+     * there is one; otherwise the response body is parsed while it streams in.
+     *
+     * @param <T>      The parsed type.
+     * @param symbol     The stock symbol.
+     * @param function   The Alpha Vantage function to call.
+     * @param label      Human readable name of the dataset, used in messages.
+     * @param parser     The parser turning the JSON response body into the model.
+     * @param revalidate Whether a stored response must not be used even if it is fresh.
+     * @return The parsed data.
+     * @throws QuotaExceededException If the API quota does not allow the request in time.
+     * @throws RuntimeException If an error occurs during data retrieval or parsing.
+     */
+    private <T> T fetch(String symbol, URLCreator.FunctionType function, String label, ResponseParser<T> parser,
+            boolean revalidate) {
+        URLCreator urlCreator = new URLCreator(URLCreator.normalizeSymbol(symbol), function);
+        if (log.isDebugEnabled()) {
+            log.debug("{} url: {}", label, service.loggableUrlOf(urlCreator));
+        }
+
+        try {
+            return inFlightRequests.execute(urlCreator.getSymbol(), function,
+                    () -> service.fetch(urlCreator, body -> parser.parse(urlCreator.getSymbol(), body, function), !revalidate));
+        } catch (QuotaExceededException e) {
+            log.warn("Error fetching {} data of {}: {}", label, urlCreator.getSymbol(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error fetching {} data of {}: {}", label, urlCreator.getSymbol(), e.getMessage());
+            throw new RuntimeException("Error fetching " + label + " data.", e);
+        }
+    }
+
+    /**
+     * Parser method of {@link AlphaVantageService} for one dataset.
+     *
+     * @param <T> The parsed type.
+     */
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(String symbol, InputStream jsonStream, URLCreator.FunctionType functionType);
+    }
+}
@@ -0,0 +1,91 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Versions of the cached market data values.
+ * <p>
+ * Cached values are never modified, and every load or refresh replaces an entry with a new
+ * object. A value therefore gets a version the first time it is seen here: a number from a
+ * sequence, never reused within this {@link #getEpoch() epoch}, and the time it was first seen
+ * (the time it was loaded, or later for a value first served after a background refresh).
+ * Values derived from cached data (see {@link ValuationService#loadValuationInputs}) and HTTP
+ * responses compare the versions of the values they are built from, read from the caches
+ * like any other lookup.
+ * <p>
+ * Values are held weakly and compared by identity, so a version lives exactly as long as its
+ * value is cached or otherwise in use.
+ */
+@Component
+public class MarketDataVersions {
+    private final Cache<Object, Version> versions = Caffeine.newBuilder().weakKeys().build();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final Version absent = new Version(0, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    /**
+     * Returns the version of a cached value.
+     *
+     * @param value The value as returned by the cache, or null.
+     * @return Its version; the same one as long as the value is the same object.
+     */
+    public Version of(Object value) {
+        if (value == null) {
+            return absent;
+        }
+        // HTTP dates have a resolution of one second.
+        return versions.get(value, key -> new Version(sequence.incrementAndGet(), Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+    }
+
+    /**
+     * Returns the combined version of several values, e.g. the datasets a result is built
+     * from. It changes whenever one of the values is replaced.
+     *
+     * @param values The values as returned by the caches.
+     * @return The version numbers in hexadecimal, joined with dots.
+     */
+    public String combined(Object... values) {
+        StringJoiner joiner = new StringJoiner(".");
+        for (Object value : values) {
+            joiner.add(Long.toHexString(of(value).number()));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * @param values The values as returned by the caches.
+     * @return The time the newest of the values was first seen.
+     */
+    public Instant lastModified(Object... values) {
+        Instant lastModified = absent.firstSeen();
+        for (Object value : values) {
+            Instant firstSeen = of(value).firstSeen();
+            lastModified = firstSeen.isAfter(lastModified) ? firstSeen : lastModified;
+        }
+        return lastModified;
+    }
+
+    /**
+     * @return A random number identifying this run of the application, and with it the range
+     *         in which versions are comparable.
+     */
+    public long getEpoch() { return epoch; }
+
+    /**
+     * Version of one cached value.
+     *
+     * @param number    The number of the version, unique within the epoch; 0 for no value.
+     * @param firstSeen When the value was first seen, to the second.
+     */
+    public record Version(long number, Instant firstSeen) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.stockapp.StockApp.service;
+
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Storage of the price histories per symbol and time series function.
+ * <p>
+ * The stored daily series is the base that later compact refreshes are merged into, so it
+ * must outlive the dashboard caches; losing it only costs one full download on the next refresh.
+ */
+public interface PriceHistoryStore {
+
+    /**
+     * Loads the stored history of a symbol.
+     *
+     * @param symbol   The normalized stock symbol.
+     * @param function The time series function the history was loaded from.
+     * @return The stored series, or null if there is none.
+     */
+    PriceSeries load(String symbol, URLCreator.FunctionType function);
+
+    /**
+     * Stores (replaces) the history of a symbol.
+     *
+     * @param symbol   The normalized stock symbol.
+     * @param function The time series function the history was loaded from.
+     * @param series   The complete series, oldest first.
+     * @return The stored series, which callers should keep instead of the given one (it may be
+     *         a view of the store rather than a heap copy).
+     */
+    PriceSeries save(String symbol, URLCreator.FunctionType function, PriceSeries series);
+}
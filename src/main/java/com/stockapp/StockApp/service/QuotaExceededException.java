@@ -0,0 +1,22 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an upstream request cannot get API quota within its wait deadline.
+ * The request was not sent, so no quota was spent on it.
+ */
+public class QuotaExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    /**
+     * @param message    The reason.
+     * @param retryAfter The estimated time until quota is available again.
+     */
+    public QuotaExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
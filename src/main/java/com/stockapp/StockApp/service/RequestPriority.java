@@ -0,0 +1,64 @@
+package com.stockapp.StockApp.service;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Priority of the upstream requests made by the current thread.
+ * <p>
+ * Threads serving users run at {@link #INTERACTIVE} by default. Background work (cache
+ * refreshes, warm-up) switches to {@link #BACKGROUND} with {@link #callAs}; tasks handed to
+ * the market data executor inherit the priority of the submitting thread through
+ * {@link #propagate(Runnable)}.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * @return The priority of the current thread.
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a task at the given priority and restores the previous priority afterwards.
+     *
+     * @param <T>      The result type.
+     * @param priority The priority of the upstream requests made by the task.
+     * @param task     The task.
+     * @return The result of the task.
+     * @throws Exception The exception thrown by the task.
+     */
+    public static <T> T callAs(RequestPriority priority, Callable<T> task) throws Exception {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return task.call();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs at the priority of the thread calling this method.
+     * Used as task decorator of the executors.
+     *
+     * @param task The task to hand to another thread.
+     * @return The wrapped task.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestPriority priority = CURRENT.get();
+        return () -> {
+            RequestPriority previous = CURRENT.get();
+            CURRENT.set(priority);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+}
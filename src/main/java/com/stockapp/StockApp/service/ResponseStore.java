@@ -0,0 +1,77 @@
+package com.stockapp.StockApp.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Write-through store of raw upstream responses, keyed by symbol, function (and output size)
+ * and fetch time. A fresh stored response is served instead of calling the API, so a restart
+ * does not start with cold caches and an empty quota.
+ */
+public interface ResponseStore {
+
+    /** Store that keeps nothing: every request goes to the API. */
+    ResponseStore NONE = new ResponseStore() {
+        @Override
+        public InputStream openFresh(URLCreator request) {
+            return null;
+        }
+
+        @Override
+        public Recording record(URLCreator request, InputStream body) {
+            return new Recording(body);
+        }
+    };
+
+    /**
+     * Opens the latest stored response of a request if it is still fresh.
+     *
+     * @param request The upstream request.
+     * @return The uncompressed response body, or null if no fresh response is stored.
+     * @throws IOException If the stored response cannot be opened.
+     */
+    InputStream openFresh(URLCreator request) throws IOException;
+
+    /**
+     * Wraps a response body so that everything read from it is recorded.
+     *
+     * @param request The upstream request.
+     * @param body    The response body.
+     * @return The recording stream to read the body from.
+     * @throws IOException If the recording cannot be started.
+     */
+    Recording record(URLCreator request, InputStream body) throws IOException;
+
+    /**
+     * Response body being recorded while it is read. The recording is only stored by
+     * {@link #commit()}, i.e. after the body was parsed successfully; error payloads are
+     * dropped by {@link #discard()}. Closing it does not close the underlying body.
+     */
+    class Recording extends FilterInputStream {
+
+        public Recording(InputStream body) {
+            super(body);
+        }
+
+        /**
+         * Reads the rest of the body and stores the recording.
+         *
+         * @throws IOException If the body cannot be read or the recording cannot be stored.
+         */
+        public void commit() throws IOException {
+        }
+
+        /**
+         * Drops the recording unless it was committed.
+         */
+        public void discard() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.stockapp.StockApp.config.UniverseProperties;
+import com.stockapp.StockApp.model.MarketDataset;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pre-loads the datasets of the configured universe once the application has started, so the
+ * first users are served from the caches.
+ * <p>
+ * The datasets are loaded company by company through the cache proxy, {@code parallelism} at a
+ * time and at {@link RequestPriority#BACKGROUND}, so the warm-up stays within the API quota and
+ * never delays a user. It stops early when the daily budget is down to its reserve or after
+ * {@code max-duration}. The application reports ready (see {@link #isReady()}) once
+ * {@code ready-threshold} of the datasets are loaded or the warm-up is over.
+ * <p>
+ * Metrics: {@code stockapp.warmup.datasets} (tagged total/loaded/failed) and
+ * {@code stockapp.warmup.duration}.
+ */
+@Component
+public class UniverseWarmUp {
+    private static final Logger log = LoggerFactory.getLogger(UniverseWarmUp.class);
+
+    private final DashboardBundleService bundleService;
+    private final AsyncTaskExecutor marketDataExecutor;
+    private final UpstreamQuotaScheduler quotaScheduler;
+    private final UniverseProperties properties;
+    private final Timer durationTimer;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile int total;
+    private volatile long startedAt;
+    private volatile Duration readyAfter;
+    private volatile Duration duration;
+    private volatile CompletableFuture<Void> run;
+
+    /**
+     * Constructs the warm-up.
+     *
+     * @param bundleService      The service loading single datasets through the caches.
+     * @param marketDataExecutor The pool on which the datasets are loaded.
+     * @param quotaScheduler     The API quota, checked for the daily reserve.
+     * @param properties         The universe and warm-up settings.
+     * @param registry           The registry the warm-up progress is published to.
+     */
+    public UniverseWarmUp(DashboardBundleService bundleService, AsyncTaskExecutor marketDataExecutor,
+            UpstreamQuotaScheduler quotaScheduler, UniverseProperties properties, MeterRegistry registry) {
+        this.bundleService = bundleService;
+        this.marketDataExecutor = marketDataExecutor;
+        this.quotaScheduler = quotaScheduler;
+        this.properties = properties;
+
+        Gauge.builder("stockapp.warmup.datasets", this, UniverseWarmUp::getTotal)
+                .tag("state", "total").description("Datasets of the universe to warm up").register(registry);
+        Gauge.builder("stockapp.warmup.datasets", loaded, AtomicInteger::get)
+                .tag("state", "loaded").description("Datasets loaded by the warm-up").register(registry);
+        Gauge.builder("stockapp.warmup.datasets", failed, AtomicInteger::get)
+                .tag("state", "failed").description("Datasets the warm-up failed to load").register(registry);
+        this.durationTimer = Timer.builder("stockapp.warmup.duration")
+                .description("Duration of the startup warm-up").register(registry);
+    }
+
+    /**
+     * Starts the warm-up when the application is up, if {@code stockapp.universe.warm-up.enabled}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.getWarmUp().isEnabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the warm-up on a background thread; later calls return the same run.
+     *
+     * @return A future completed when the warm-up is over.
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (run != null) {
+            return run;
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (UniverseProperties.Company company : properties.getCompanies()) {
+            for (MarketDataset section : properties.getWarmUp().getSections()) {
+                tasks.add(new Task(company.getSymbol(), section));
+            }
+        }
+        total = tasks.size();
+        startedAt = System.nanoTime();
+        run = new CompletableFuture<>();
+
+        Thread thread = new Thread(() -> {
+            MDC.put(CorrelationIds.MDC_KEY, "warm-up");
+            try {
+                RequestPriority.callAs(RequestPriority.BACKGROUND, () -> {
+                    warmUp(tasks);
+                    return null;
+                });
+            } catch (Exception e) {
+                log.error("Warm-up aborted: {}", e.getMessage());
+            }
+            finish(tasks.size());
+            run.complete(null);
+        }, "universe-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return run;
+    }
+
+    private void warmUp(List<Task> tasks) throws InterruptedException {
+        UniverseProperties.WarmUp settings = properties.getWarmUp();
+        log.info("Warm-up of {} companies ({} datasets) started", properties.getCompanies().size(), tasks.size());
+
+        int parallelism = Math.max(1, settings.getParallelism());
+        Semaphore permits = new Semaphore(parallelism);
+        long deadline = startedAt + settings.getMaxDuration().toNanos();
+        for (Task task : tasks) {
+            int remainingToday = quotaScheduler.getRemainingToday();
+            if (remainingToday >= 0 && remainingToday <= settings.getDailyReserve()) {
+                log.warn("Warm-up stopped: only {} API requests left today", remainingToday);
+                break;
+            }
+            if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                break;
+            }
+            // The executor hands on the BACKGROUND priority of this thread.
+            CompletableFuture.runAsync(() -> bundleService.load(task.section(), task.symbol()), marketDataExecutor)
+                    .whenComplete((result, error) -> {
+                        // Count first: the final wait for all permits must see every result.
+                        completed(task, error);
+                        permits.release();
+                    });
+        }
+        if (!permits.tryAcquire(parallelism, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            log.warn("Warm-up stopped after {} ms", settings.getMaxDuration().toMillis());
+        }
+    }
+
+    private void completed(Task task, Throwable error) {
+        if (error != null) {
+            failed.incrementAndGet();
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            log.warn("Warm-up of {} for {} failed: {}", task.section().getKey(), task.symbol(), cause.getMessage());
+        } else {
+            loaded.incrementAndGet();
+        }
+        log.debug("Warm-up: {}/{} datasets loaded, {} failed", loaded.get(), total, failed.get());
+        if (readyAfter == null && isReady()) {
+            markReady();
+        }
+    }
+
+    private synchronized void markReady() {
+        if (readyAfter == null) {
+            readyAfter = Duration.ofNanos(System.nanoTime() - startedAt);
+            log.info("Warm-up reached its ready threshold after {} ms", readyAfter.toMillis());
+        }
+    }
+
+    private void finish(int planned) {
+        duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        durationTimer.record(duration);
+        markReady();
+        int skipped = planned - loaded.get() - failed.get();
+        log.info("Warm-up finished in {} ms: {} loaded, {} failed, {} not loaded", duration.toMillis(), loaded.get(),
+                failed.get(), skipped);
+    }
+
+    /**
+     * @return Whether the application may receive traffic: the warm-up is disabled, over, or
+     *         has loaded the ready threshold of the datasets.
+     */
+    public boolean isReady() {
+        if (run == null) {
+            return !properties.getWarmUp().isEnabled();
+        }
+        return duration != null || loaded.get() >= Math.ceil(properties.getWarmUp().getReadyThreshold() * total);
+    }
+
+    /**
+     * @return Whether the warm-up is currently running.
+     */
+    public boolean isRunning() {
+        return run != null && duration == null;
+    }
+
+    public int getTotal() { return total; }
+    public int getLoaded() { return loaded.get(); }
+    public int getFailed() { return failed.get(); }
+
+    /**
+     * @return The time from the start until the ready threshold was reached, or null.
+     */
+    public Duration getReadyAfter() { return readyAfter; }
+
+    /**
+     * @return The duration of the finished warm-up, or null while it has not finished.
+     */
+    public Duration getDuration() { return duration; }
+
+    /**
+     * One dataset of one company.
+     */
+    private record Task(String symbol, MarketDataset section) {
+    }
+}
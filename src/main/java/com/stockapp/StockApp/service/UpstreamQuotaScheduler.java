@@ -0,0 +1,233 @@
+package com.stockapp.StockApp.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Gatekeeper of the Alpha Vantage request budget. Every upstream request has to
+ * {@link #acquire()} a permit before it is sent.
+ * <p>
+ * Permits come from a token bucket (requests per minute, with a burst capacity) and a daily
+ * budget. Requests waiting for a token are served in priority order: {@link RequestPriority#INTERACTIVE}
+ * requests go ahead of {@link RequestPriority#BACKGROUND} ones, equal priorities in arrival
+ * order. A request whose expected wait exceeds its deadline fails at once with a
+ * {@link QuotaExceededException} instead of waiting in vain, and once the daily budget is
+ * used up every request fails fast until it resets.
+ * <p>
+ * Metrics: {@code alphavantage.quota.tokens}, {@code alphavantage.quota.daily.remaining},
+ * {@code alphavantage.quota.waiting}, {@code alphavantage.quota.wait} and
+ * {@code alphavantage.quota.rejected}.
+ */
+@Component
+public class UpstreamQuotaScheduler {
+    private final AlphaVantageProperties.Quota quota;
+    private final double nanosPerToken;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+    private long sequence;
+    private double tokens;
+    private long refilledAt;
+    private LocalDate budgetDay;
+    private int usedToday;
+
+    private final Map<RequestPriority, Timer> waitTimers = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejections = new EnumMap<>(RequestPriority.class);
+
+    /**
+     * Constructs the scheduler with a full token bucket.
+     *
+     * @param properties The Alpha Vantage settings (quota).
+     * @param registry   The registry the quota metrics are published to.
+     */
+    public UpstreamQuotaScheduler(AlphaVantageProperties properties, MeterRegistry registry) {
+        this.quota = properties.getQuota();
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / (double) Math.max(1, quota.getRequestsPerMinute());
+        this.tokens = Math.max(1, quota.getBurst());
+        this.refilledAt = System.nanoTime();
+
+        Gauge.builder("alphavantage.quota.tokens", this, UpstreamQuotaScheduler::getAvailableTokens)
+                .description("Requests that can be sent right now")
+                .register(registry);
+        Gauge.builder("alphavantage.quota.daily.remaining", this, UpstreamQuotaScheduler::getRemainingToday)
+                .description("Requests left in today's budget (-1 if unlimited)")
+                .register(registry);
+        Gauge.builder("alphavantage.quota.waiting", this, UpstreamQuotaScheduler::getWaitingCount)
+                .description("Requests waiting for quota")
+                .register(registry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitTimers.put(priority, Timer.builder("alphavantage.quota.wait")
+                    .tag("priority", priority.name()).register(registry));
+            rejections.put(priority, Counter.builder("alphavantage.quota.rejected")
+                    .tag("priority", priority.name()).register(registry));
+        }
+    }
+
+    /**
+     * Waits for a permit at the priority of the current thread.
+     *
+     * @throws QuotaExceededException If no permit can be had within the wait deadline.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        acquire(RequestPriority.current());
+    }
+
+    /**
+     * Waits for a permit.
+     *
+     * @param priority The priority of the request.
+     * @throws QuotaExceededException If no permit can be had within the wait deadline.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void acquire(RequestPriority priority) throws InterruptedException {
+        if (!quota.isEnabled()) {
+            return;
+        }
+        Duration maxWait = priority == RequestPriority.INTERACTIVE ? quota.getInteractiveWait() : quota.getBackgroundWait();
+        long start = System.nanoTime();
+        long deadline = start + maxWait.toNanos();
+
+        lock.lock();
+        Ticket ticket = new Ticket(priority, sequence++);
+        waiting.add(ticket);
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                int ahead = ticketsAhead(ticket);
+                if (quota.getRequestsPerDay() > 0 && usedToday + ahead >= quota.getRequestsPerDay()) {
+                    throw reject(priority, "Daily Alpha Vantage budget of " + quota.getRequestsPerDay()
+                            + " requests is used up.", untilBudgetReset());
+                }
+                if (ahead == 0 && tokens >= 1) {
+                    tokens -= 1;
+                    usedToday++;
+                    waitTimers.get(priority).record(now - start, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                long expectedWait = (long) Math.max(0, (ahead + 1 - tokens) * nanosPerToken);
+                if (expectedWait > deadline - now) {
+                    throw reject(priority, "No Alpha Vantage quota available within "
+                            + maxWait.toMillis() + " ms.", Duration.ofNanos(expectedWait));
+                }
+                // The head waits for its token; the others until the queue changes.
+                changed.awaitNanos(ahead == 0 ? Math.max(1, expectedWait) : deadline - now);
+            }
+        } finally {
+            waiting.remove(ticket);
+            changed.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of requests that could be sent right now.
+     */
+    public double getAvailableTokens() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of requests left in today's budget, -1 if there is no daily limit.
+     */
+    public int getRemainingToday() {
+        if (quota.getRequestsPerDay() <= 0) {
+            return -1;
+        }
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return Math.max(0, quota.getRequestsPerDay() - usedToday);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells background work whether it may still use the daily budget.
+     *
+     * @param reserve The part of the daily budget kept for interactive requests.
+     * @return Whether more than the reserve is left today; always true without a daily limit.
+     */
+    public boolean isAboveReserve(int reserve) {
+        int remaining = getRemainingToday();
+        return remaining < 0 || remaining > reserve;
+    }
+
+    /**
+     * @return The number of requests waiting for quota.
+     */
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(Math.max(1, quota.getBurst()), tokens + (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        LocalDate today = LocalDate.now(quota.getResetZone());
+        if (!today.equals(budgetDay)) {
+            budgetDay = today;
+            usedToday = 0;
+        }
+    }
+
+    private int ticketsAhead(Ticket ticket) {
+        int ahead = 0;
+        for (Ticket other : waiting) {
+            if (other.compareTo(ticket) < 0) {
+                ahead++;
+            }
+        }
+        return ahead;
+    }
+
+    private Duration untilBudgetReset() {
+        ZonedDateTime now = ZonedDateTime.now(quota.getResetZone());
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(quota.getResetZone()));
+    }
+
+    private QuotaExceededException reject(RequestPriority priority, String message, Duration retryAfter) {
+        rejections.get(priority).increment();
+        return new QuotaExceededException(message, retryAfter);
+    }
+
+    /**
+     * A request waiting for quota: higher priority first, then first come first served.
+     */
+    private record Ticket(RequestPriority priority, long sequence) implements Comparable<Ticket> {
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package com.stockapp.StockApp.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.stockapp.StockApp.config.MarketDataProperties;
+import com.stockapp.StockApp.config.ValuationProperties;
+import com.stockapp.StockApp.model.BalanceSheet;
+import com.stockapp.StockApp.model.CashFlow;
+import com.stockapp.StockApp.model.IncomeStatement;
+import com.stockapp.StockApp.model.MarketDataset;
+import com.stockapp.StockApp.model.Overview;
+import com.stockapp.StockApp.model.URLCreator;
+import com.stockapp.StockApp.util.DCFValuationUtil;
+import com.stockapp.StockApp.util.Distribution;
+import com.stockapp.StockApp.util.FanOut;
+import com.stockapp.StockApp.util.MonteCarloDCF;
+import com.stockapp.StockApp.util.QuantileSketch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Service computing DCF valuations from the cached market data of a company.
+ * <p>
+ * What the valuations of a company need is derived from its statements and overview once and
+ * kept in the {@code valuationInputs} cache, together with the {@link MarketDataVersions
+ * versions} of the datasets it was derived from. The datasets are still read from their caches
+ * on every valuation, so they are refreshed and kept hot as usual, and the inputs are derived
+ * again as soon as one of them has been replaced. Only when a dataset is not cached are they
+ * loaded concurrently on the market data executor.
+ * <p>
+ * Metrics: {@code stockapp.dcf} (duration of a single DCF computation, per outcome),
+ * {@code stockapp.dcf.inputs} (duration of loading the input datasets concurrently),
+ * {@code stockapp.dcf.inputs.derived} (valuation inputs derived, per cause),
+ * {@code stockapp.dcf.batch} (duration of valuing a scenario batch),
+ * {@code stockapp.dcf.batch.scenarios} (scenarios per batch),
+ * {@code stockapp.dcf.sensitivity} (duration of computing a sensitivity grid) and
+ * {@code stockapp.dcf.simulation} (duration of a Monte Carlo simulation).
+ */
+@Service
+public class ValuationService {
+    private static final Logger log = LoggerFactory.getLogger(ValuationService.class);
+    private static final BigDecimal RISK_FREE_RATE = new BigDecimal("0.0461");     // 02/14/2025 - bonds
+    private static final BigDecimal MARKET_RISK_PREMIUM = new BigDecimal("0.1");   // Average S&P500 annual return
+    private static final int[] PERCENTILES = {1, 5, 10, 25, 50, 75, 90, 95, 99};
+    private static final int MAX_HISTOGRAM_BINS = 200;
+
+    private final MarketDataService marketDataService;
+    private final MarketDataVersions versions;
+    private final Cache inputsCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> balanceSheetCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> incomeStatementCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cashFlowCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> overviewCache;
+    private final DCFValuationUtil dcfUtil;
+    private final AsyncTaskExecutor marketDataExecutor;
+    private final ForkJoinPool valuationPool;
+    private final MarketDataProperties properties;
+    private final ValuationProperties valuationProperties;
+    private final MeterRegistry registry;
+    private final Timer inputsTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary scenarioSummary;
+    private final Timer sensitivityTimer;
+    private final Timer simulationTimer;
+
+    /**
+     * Constructs the valuation service.
+     *
+     * @param marketDataService   The cached source of statements and overview data.
+     * @param versions            The versions of the cached datasets.
+     * @param cacheManager        The cache manager providing the {@code valuationInputs} cache and
+     *                            the caches of the input datasets.
+     * @param dcfUtil             The DCF calculator.
+     * @param marketDataExecutor  The pool on which the DCF inputs are loaded concurrently.
+     * @param valuationPool       The pool on which scenarios are valued in parallel.
+     * @param properties          The market data settings (fetch deadline).
+     * @param valuationProperties The valuation settings (batch size limit).
+     * @param registry            The registry the valuation timings are published to.
+     */
+    public ValuationService(MarketDataService marketDataService, MarketDataVersions versions,
+            CacheManager cacheManager, DCFValuationUtil dcfUtil,
+            AsyncTaskExecutor marketDataExecutor, ForkJoinPool valuationPool, MarketDataProperties properties,
+            ValuationProperties valuationProperties, MeterRegistry registry) {
+        this.marketDataService = marketDataService;
+        this.versions = versions;
+        this.inputsCache = cacheManager.getCache("valuationInputs");
+        this.balanceSheetCache = nativeCache(cacheManager, MarketDataset.BALANCE_SHEET);
+        this.incomeStatementCache = nativeCache(cacheManager, MarketDataset.INCOME_STATEMENT);
+        this.cashFlowCache = nativeCache(cacheManager, MarketDataset.CASH_FLOW_STATEMENT);
+        this.overviewCache = nativeCache(cacheManager, MarketDataset.OVERVIEW);
+        this.dcfUtil = dcfUtil;
+        this.marketDataExecutor = marketDataExecutor;
+        this.valuationPool = valuationPool;
+        this.properties = properties;
+        this.valuationProperties = valuationProperties;
+        this.registry = registry;
+        this.inputsTimer = Timer.builder("stockapp.dcf.inputs")
+                .description("Duration of loading the datasets of a DCF valuation")
+                .register(registry);
+        this.batchTimer = Timer.builder("stockapp.dcf.batch")
+                .description("Duration of valuing a batch of DCF scenarios")
+                .register(registry);
+        this.scenarioSummary = DistributionSummary.builder("stockapp.dcf.batch.scenarios")
+                .description("Number of scenarios per DCF batch")
+                .register(registry);
+        this.sensitivityTimer = Timer.builder("stockapp.dcf.sensitivity")
+                .description("Duration of computing a DCF sensitivity grid")
+                .register(registry);
+        this.simulationTimer = Timer.builder("stockapp.dcf.simulation")
+                .description("Duration of a Monte Carlo DCF simulation")
+                .register(registry);
+    }
+
+    /**
+     * Calculates the price per share of a company with the DCF method, using its WACC as
+     * discount rate.
+     *
+     * @param growthRates The annual FCF growth rates, the last element being the terminal growth rate.
+     * @param symbol      The stock symbol.
+     * @return The price per share (before margin of safety).
+     * @throws RuntimeException If the inputs cannot be loaded or the valuation is not possible.
+     */
+    public BigDecimal calculateDCF(List<BigDecimal> growthRates, String symbol) {
+        ValuationInputs inputs = loadValuationInputs(symbol);
+
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            // WACC is used as the discount rate
+            BigDecimal pricePerShare = value(inputs, growthRates, inputs.wacc());
+
+            log.debug("Price per share of {} (before margin of safety): {}", symbol, pricePerShare);
+            outcome = "success";
+            return pricePerShare;
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            log.warn("DCF valuation of {} failed: {}", symbol, e.getMessage());
+            throw new RuntimeException("Error in DCF valuation: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("stockapp.dcf")
+                    .description("Duration of the DCF computation")
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Values many growth scenarios of a company at once. The inputs and the WACC are derived
+     * once; the scenarios are valued in parallel on the valuation pool. A scenario that cannot
+     * be valued (e.g. a discount rate not above its terminal growth rate) gets an error
+     * instead of a value and does not affect the others.
+     *
+     * @param symbol    The stock symbol.
+     * @param scenarios The scenarios, each with its growth rates and an optional discount rate
+     *                  replacing the WACC.
+     * @return The WACC and one result per scenario, in the order of {@code scenarios}.
+     * @throws IllegalArgumentException If there are no or more than {@code max-scenarios} scenarios.
+     * @throws RuntimeException         If the inputs cannot be loaded or the WACC cannot be computed.
+     */
+    public BatchValuation calculateDCFScenarios(String symbol, List<Scenario> scenarios) {
+        if (scenarios == null || scenarios.isEmpty()) {
+            throw new IllegalArgumentException("No scenarios given.");
+        }
+        if (scenarios.size() > valuationProperties.getMaxScenarios()) {
+            throw new IllegalArgumentException("At most " + valuationProperties.getMaxScenarios() + " scenarios per request.");
+        }
+        ValuationInputs inputs = loadValuationInputs(symbol);
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            List<ScenarioValuation> results = valuationPool.submit(() -> scenarios.parallelStream()
+                    .map(scenario -> valueScenario(inputs, scenario))
+                    .toList()).get();
+            return new BatchValuation(inputs.symbol(), inputs.wacc(), results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while valuing scenarios of " + symbol + ".", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error valuing scenarios of " + symbol + ": " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            sample.stop(batchTimer);
+            scenarioSummary.record(scenarios.size());
+        }
+    }
+
+    /**
+     * Calculates the sensitivity table of a company's price per share: a grid of discount
+     * rates centered on the WACC and terminal growth rates centered on the last element of
+     * {@code growthRates}. The projected cash flows are shared by all cells and the rows are
+     * computed in parallel on the valuation pool, always in double precision.
+     *
+     * @param symbol         The stock symbol.
+     * @param growthRates    The annual FCF growth rates, the last element being the terminal growth rate.
+     * @param discountRates  The number of discount rates (rows).
+     * @param discountStep   The difference between neighbouring discount rates.
+     * @param terminalRates  The number of terminal growth rates (columns).
+     * @param terminalStep   The difference between neighbouring terminal growth rates.
+     * @return The grid; cells where the discount rate does not exceed the terminal growth rate are null.
+     * @throws IllegalArgumentException If the growth rates are missing, a step is not positive or
+     *                                  an axis is empty or longer than {@code max-grid-size}.
+     * @throws RuntimeException         If the inputs cannot be loaded or the WACC cannot be computed.
+     */
+    public SensitivityGrid calculateSensitivity(String symbol, List<BigDecimal> growthRates, int discountRates,
+            BigDecimal discountStep, int terminalRates, BigDecimal terminalStep) {
+        if (growthRates == null || growthRates.isEmpty()) {
+            throw new IllegalArgumentException("Growth rates are missing.");
+        }
+        int maxGridSize = valuationProperties.getMaxGridSize();
+        if (discountRates < 1 || terminalRates < 1 || discountRates > maxGridSize || terminalRates > maxGridSize) {
+            throw new IllegalArgumentException("A sensitivity grid has between 1 and " + maxGridSize + " rates per axis.");
+        }
+        if (discountStep.signum() <= 0 || terminalStep.signum() <= 0) {
+            throw new IllegalArgumentException("Steps must be positive.");
+        }
+        ValuationInputs inputs = loadValuationInputs(symbol);
+
+        double[] rates = new double[growthRates.size()];
+        for (int i = 0; i < rates.length; i++) {
+            BigDecimal growthRate = growthRates.get(i);
+            rates[i] = growthRate == null ? 0 : growthRate.doubleValue();
+        }
+        List<BigDecimal> discountAxis = axis(inputs.wacc(), discountStep, discountRates);
+        List<BigDecimal> terminalAxis = axis(growthRates.get(rates.length - 1) == null ? BigDecimal.ZERO
+                : growthRates.get(rates.length - 1), terminalStep, terminalRates);
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            double[][] grid = dcfUtil.calculateSensitivityGrid(
+                    dcfUtil.projectCashFlows(inputs.lastYearFCF().doubleValue(), rates),
+                    discountAxis.stream().mapToDouble(BigDecimal::doubleValue).toArray(),
+                    terminalAxis.stream().mapToDouble(BigDecimal::doubleValue).toArray(),
+                    inputs.numberOfShares().doubleValue(), inputs.netDebt().doubleValue(), valuationPool);
+
+            List<List<BigDecimal>> values = new ArrayList<>(grid.length);
+            for (double[] row : grid) {
+                List<BigDecimal> rowValues = new ArrayList<>(row.length);
+                for (double value : row) {
+                    rowValues.add(Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP) : null);
+                }
+                values.add(rowValues);
+            }
+            return new SensitivityGrid(inputs.symbol(), inputs.wacc(), discountAxis, terminalAxis, values);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            log.warn("DCF sensitivity of {} failed: {}", symbol, e.getMessage());
+            throw new RuntimeException("Error in DCF valuation: " + e.getMessage(), e);
+        } finally {
+            sample.stop(sensitivityTimer);
+        }
+    }
+
+    /**
+     * @return {@code count} rates spaced by {@code step}, with {@code center} in the middle.
+     */
+    private static List<BigDecimal> axis(BigDecimal center, BigDecimal step, int count) {
+        List<BigDecimal> axis = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            axis.add(center.add(step.multiply(BigDecimal.valueOf(i - (count - 1) / 2))));
+        }
+        return axis;
+    }
+
+    /**
+     * Runs a Monte Carlo simulation of a company's price per share: growth rates, terminal
+     * growth, beta and market risk premium are drawn from the requested distributions (beta and
+     * market risk premium default to the company's beta and the standard premium). The
+     * percentiles come from a streaming sketch and the histogram spans the 0.5th to 99.5th
+     * percentile; values outside are counted as below or above.
+     *
+     * @param symbol  The stock symbol.
+     * @param request The distributions and the run settings.
+     * @return The statistics of the simulated prices per share.
+     * @throws IllegalArgumentException If the request is incomplete or exceeds the limits.
+     * @throws RuntimeException         If the inputs cannot be loaded or the WACC cannot be computed.
+     */
+    public SimulationResult simulateDCF(String symbol, SimulationRequest request) {
+        ValuationProperties.Simulation settings = valuationProperties.getSimulation();
+        long iterations = request.iterations() != null ? request.iterations() : settings.getDefaultIterations();
+        if (iterations < 1 || iterations > settings.getMaxIterations()) {
+            throw new IllegalArgumentException("A simulation has between 1 and " + settings.getMaxIterations() + " iterations.");
+        }
+        Duration budget = settings.getTimeBudget();
+        if (request.timeBudgetMs() != null) {
+            if (request.timeBudgetMs() <= 0) {
+                throw new IllegalArgumentException("The time budget must be positive.");
+            }
+            budget = Duration.ofMillis(Math.min(request.timeBudgetMs(), budget.toMillis()));
+        }
+        if (request.growthRates() != null && request.growthRates().size() > settings.getMaxProjectionYears()) {
+            throw new IllegalArgumentException("A simulation projects at most " + settings.getMaxProjectionYears() + " years.");
+        }
+        int bins = request.bins() != null ? request.bins() : 40;
+        if (bins < 1 || bins > MAX_HISTOGRAM_BINS) {
+            throw new IllegalArgumentException("A histogram has between 1 and " + MAX_HISTOGRAM_BINS + " bins.");
+        }
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        ValuationInputs inputs = loadValuationInputs(symbol);
+
+        MonteCarloDCF.Company company = new MonteCarloDCF.Company(inputs.lastYearFCF().doubleValue(),
+                inputs.numberOfShares().doubleValue(), inputs.netDebt().doubleValue(), RISK_FREE_RATE.doubleValue(),
+                inputs.interestExpense().doubleValue(), inputs.totalDebt().doubleValue(),
+                inputs.marketCapitalization().doubleValue(), inputs.taxProvision().doubleValue(),
+                inputs.pretaxIncome().doubleValue());
+        MonteCarloDCF.Inputs distributions = new MonteCarloDCF.Inputs(request.growthRates(), request.terminalGrowth(),
+                request.beta() != null ? request.beta() : Distribution.fixed(inputs.beta().doubleValue()),
+                request.marketRiskPremium() != null ? request.marketRiskPremium() : Distribution.fixed(MARKET_RISK_PREMIUM.doubleValue()));
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            MonteCarloDCF.Result result = new MonteCarloDCF(dcfUtil, settings.getRelativeAccuracy())
+                    .simulate(company, distributions, iterations, seed, budget, valuationPool);
+            QuantileSketch sketch = result.sketch();
+
+            Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+            for (int percentile : PERCENTILES) {
+                percentiles.put("p" + percentile, price(sketch.quantile(percentile / 100.0)));
+            }
+            return new SimulationResult(inputs.symbol(), seed, iterations, result.completed(), result.invalid(),
+                    result.completed() < iterations, price(result.mean()), price(result.stdDev()),
+                    price(sketch.getMin()), price(sketch.getMax()), percentiles, histogram(sketch, bins));
+        } finally {
+            sample.stop(simulationTimer);
+        }
+    }
+
+    private static Histogram histogram(QuantileSketch sketch, int bins) {
+        if (sketch.getCount() == 0) {
+            return new Histogram(List.of(), List.of(), 0, 0);
+        }
+        double lower = sketch.quantile(0.005);
+        double upper = sketch.quantile(0.995);
+        double width = (upper - lower) / bins;
+        long[] counts = new long[bins];
+        long[] outside = new long[2];
+        sketch.forEachBucket((value, count) -> {
+            if (value < lower) {
+                outside[0] += count;
+            } else if (value > upper) {
+                outside[1] += count;
+            } else {
+                counts[width > 0 ? Math.min(bins - 1, (int) ((value - lower) / width)) : 0] += count;
+            }
+        });
+        List<BigDecimal> edges = new ArrayList<>(bins + 1);
+        for (int i = 0; i <= bins; i++) {
+            edges.add(price(lower + width * i));
+        }
+        return new Histogram(edges, Arrays.stream(counts).boxed().toList(), outside[0], outside[1]);
+    }
+
+    private static BigDecimal price(double value) {
+        return Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * Returns what every DCF valuation of a company needs, including the WACC. The datasets
+     * are read from their caches on the calling thread, and loaded concurrently only if one of
+     * them is missing; the cached inputs are used as long as they were derived from the very
+     * same dataset values, otherwise they are derived and cached again.
+     *
+     * @param symbol The stock symbol.
+     * @return The valuation inputs.
+     * @throws RuntimeException If the datasets cannot be loaded or the WACC cannot be computed.
+     */
+    public ValuationInputs loadValuationInputs(String symbol) {
+        String key = URLCreator.normalizeSymbol(symbol);
+        FinancialData data = cachedFinancialData(key);
+        if (data == null) {
+            data = loadFinancialData(key);
+        }
+        String version = versions.combined(data.balanceSheets(), data.incomeStatements(), data.cashFlows(),
+                data.overview());
+        ValuationInputs cached = inputsCache.get(key, ValuationInputs.class);
+        if (cached != null && cached.version().equals(version)) {
+            return cached;
+        }
+
+        ValuationInputs inputs = deriveValuationInputs(key, version, data);
+        inputsCache.put(key, inputs);
+        registry.counter("stockapp.dcf.inputs.derived", "cause", cached == null ? "miss" : "changed").increment();
+        return inputs;
+    }
+
+    /**
+     * Reads the four DCF inputs of a company from their caches without loading them. Like any
+     * cache read, this counts as an access and triggers the refresh of stale entries.
+     *
+     * @param key The normalized stock symbol.
+     * @return The cached datasets, or null if any of them is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    private FinancialData cachedFinancialData(String key) {
+        if (balanceSheetCache.getIfPresent(key) instanceof List<?> balanceSheets
+                && incomeStatementCache.getIfPresent(key) instanceof List<?> incomeStatements
+                && cashFlowCache.getIfPresent(key) instanceof List<?> cashFlows
+                && overviewCache.getIfPresent(key) instanceof Overview overview) {
+            return new FinancialData((List<BalanceSheet>) balanceSheets, (List<IncomeStatement>) incomeStatements,
+                    (List<CashFlow>) cashFlows, overview);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the Caffeine cache behind a dataset cache. Spring's {@link Cache#get(Object)}
+     * runs the loader of a loading cache on a miss, {@code getIfPresent} only looks up.
+     */
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(CacheManager cacheManager,
+            MarketDataset dataset) {
+        Object cache = cacheManager.getCache(dataset.getKey()).getNativeCache();
+        return cache instanceof AsyncCache<?, ?> async
+                ? ((AsyncCache<Object, Object>) async).synchronous()
+                : (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache;
+    }
+
+    private ValuationInputs deriveValuationInputs(String symbol, String version, FinancialData data) {
+        BalanceSheet latestBalanceSheet = data.balanceSheets().get(0);               // [Latest BS]
+        BigDecimal totalDebt = latestBalanceSheet.getShortLongTermDebtTotal();      // [BS] ---
+        BigDecimal netDebt = latestBalanceSheet.getShortLongTermDebtTotal()
+                .multiply(BigDecimal.valueOf(0.7));                             // [BS] ---
+
+        IncomeStatement latestIncomeStatements = data.incomeStatements().get(0);     // [Latest IS]
+        BigDecimal interestExpense = latestIncomeStatements.getInterestExpense();   // [IS]
+        BigDecimal taxProvision = latestIncomeStatements.getIncomeTaxExpense();     // [IS]
+        BigDecimal pretaxIncome = latestIncomeStatements.getIncomeBeforeTax();      // [IS] ---
+
+        CashFlow latestCashFlow = data.cashFlows().get(0);                           // [Latest CFS]
+        BigDecimal lastYearFCF = latestCashFlow.getOperatingCashflow()
+                .subtract(latestCashFlow.getCapitalExpenditures());                 // [CFS] ---
+
+        Overview overview = data.overview();                                        // [Overview data]
+        BigDecimal beta = overview.getBeta();                                       // [OV]
+        BigDecimal marketCapitalization = overview.getMarketCapitalization();       // [OV]
+        BigDecimal numberOfShares = overview.getSharesOutstanding();                // [OV]
+
+        if (log.isDebugEnabled()) {
+            log.debug("DCF inputs of {}: totalDebt={}, netDebt={}, interestExpense={}, taxProvision={}, pretaxIncome={}, "
+                            + "lastYearFCF={}, beta={}, marketCapitalization={}, numberOfShares={}",
+                    symbol, totalDebt, netDebt, interestExpense, taxProvision, pretaxIncome, lastYearFCF, beta,
+                    marketCapitalization, numberOfShares);
+        }
+
+        try {
+            BigDecimal wacc = dcfUtil.calculateWACCFromFinancialAndMarketData(
+                    RISK_FREE_RATE, beta, interestExpense, totalDebt, marketCapitalization, taxProvision, pretaxIncome, MARKET_RISK_PREMIUM
+            );
+            log.debug("WACC of {}: {}", symbol, wacc);
+            return new ValuationInputs(symbol, version, lastYearFCF, numberOfShares, netDebt, wacc, beta, interestExpense,
+                    totalDebt, marketCapitalization, taxProvision, pretaxIncome);
+        } catch (IllegalArgumentException e) {
+            log.warn("WACC of {} failed: {}", symbol, e.getMessage());
+            throw new RuntimeException("Error in DCF valuation: " + e.getMessage(), e);
+        }
+    }
+
+    private ScenarioValuation valueScenario(ValuationInputs inputs, Scenario scenario) {
+        if (scenario == null || scenario.growthRates() == null || scenario.growthRates().isEmpty()) {
+            return new ScenarioValuation(null, null, "Growth rates are missing.");
+        }
+        BigDecimal discountRate = scenario.discountRate() != null ? scenario.discountRate() : inputs.wacc();
+        try {
+            return new ScenarioValuation(discountRate, value(inputs, scenario.growthRates(), discountRate), null);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return new ScenarioValuation(discountRate, null, e.getMessage());
+        }
+    }
+
+    private BigDecimal value(ValuationInputs inputs, List<BigDecimal> growthRates, BigDecimal discountRate) {
+        return dcfUtil.calculateDCF(inputs.lastYearFCF(), growthRates, discountRate, inputs.numberOfShares(), inputs.netDebt());
+    }
+
+    /**
+     * Loads the four DCF inputs of a company concurrently. The overall latency is that of the
+     * slowest dataset; if one of them fails or the deadline passes, the valuation fails at once.
+     * Loads that have not started are dropped; running ones finish and fill the caches, as
+     * other requests may share them.
+     *
+     * @param symbol The stock symbol.
+     * @return The balance sheets, income statements, cash flows and overview of the company.
+     * @throws RuntimeException If any dataset cannot be loaded in time.
+     */
+    public FinancialData loadFinancialData(String symbol) {
+        Timer.Sample sample = Timer.start(registry);
+        try (FanOut fanOut = new FanOut(marketDataExecutor, properties.getFetchTimeout())) {
+            Future<List<BalanceSheet>> balanceSheets = fanOut.submit(() -> marketDataService.getAnnualBalanceSheet(symbol));
+            Future<List<IncomeStatement>> incomeStatements = fanOut.submit(() -> marketDataService.getAnnualIncomeStatements(symbol));
+            Future<List<CashFlow>> cashFlows = fanOut.submit(() -> marketDataService.getAnnualCashFlow(symbol));
+            Future<Overview> overview = fanOut.submit(() -> marketDataService.getOverview(symbol));
+            fanOut.awaitAll();
+            return new FinancialData(balanceSheets.get(), incomeStatements.get(), cashFlows.get(), overview.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading DCF data for " + symbol + ".", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error loading DCF data for " + symbol + ": " + e.getMessage(), e);
+        } finally {
+            sample.stop(inputsTimer);
+        }
+    }
+
+    /**
+     * The datasets a DCF valuation is derived from.
+     *
+     * @param balanceSheets    Annual balance sheets, latest first.
+     * @param incomeStatements Annual income statements, latest first.
+     * @param cashFlows        Annual cash flow statements, latest first.
+     * @param overview         The company overview.
+     */
+    public record FinancialData(List<BalanceSheet> balanceSheets, List<IncomeStatement> incomeStatements,
+            List<CashFlow> cashFlows, Overview overview) {
+    }
+
+    /**
+     * What every DCF valuation of a company is derived from.
+     *
+     * @param symbol               The normalized stock symbol.
+     * @param version              The combined version of the dataset values the inputs were derived from.
+     * @param lastYearFCF          The free cash flow of the latest fiscal year.
+     * @param numberOfShares       The number of outstanding shares.
+     * @param netDebt              The net debt.
+     * @param wacc                 The weighted average cost of capital, the default discount rate.
+     * @param beta                 The beta of the company.
+     * @param interestExpense      The latest interest expense.
+     * @param totalDebt            The latest total debt.
+     * @param marketCapitalization The market capitalization.
+     * @param taxProvision         The latest tax provision.
+     * @param pretaxIncome         The latest pretax income.
+     */
+    public record ValuationInputs(String symbol, String version, BigDecimal lastYearFCF, BigDecimal numberOfShares,
+            BigDecimal netDebt, BigDecimal wacc, BigDecimal beta, BigDecimal interestExpense, BigDecimal totalDebt,
+            BigDecimal marketCapitalization, BigDecimal taxProvision, BigDecimal pretaxIncome) {
+    }
+
+    /**
+     * One growth scenario of a batch valuation.
+     *
+     * @param growthRates  The annual FCF growth rates, the last element being the terminal growth rate.
+     * @param discountRate The discount rate to use instead of the WACC, or null.
+     */
+    public record Scenario(List<BigDecimal> growthRates, BigDecimal discountRate) {
+    }
+
+    /**
+     * The valuation of one scenario: either a value or an error.
+     *
+     * @param discountRate The discount rate used.
+     * @param value        The price per share (before margin of safety), or null on error.
+     * @param error        Why the scenario could not be valued, or null.
+     */
+    public record ScenarioValuation(BigDecimal discountRate, BigDecimal value, String error) {
+    }
+
+    /**
+     * The result of a batch valuation.
+     *
+     * @param symbol    The stock symbol.
+     * @param wacc      The WACC of the company.
+     * @param scenarios One valuation per scenario, in request order.
+     */
+    public record BatchValuation(String symbol, BigDecimal wacc, List<ScenarioValuation> scenarios) {
+    }
+
+    /**
+     * A DCF sensitivity table.
+     *
+     * @param symbol              The stock symbol.
+     * @param wacc                The WACC of the company, the center of the discount rates.
+     * @param discountRates       The discount rates (rows).
+     * @param terminalGrowthRates The terminal growth rates (columns).
+     * @param values              The prices per share, indexed [discount rate][terminal growth rate];
+     *                            null where the discount rate does not exceed the terminal growth rate.
+     */
+    public record SensitivityGrid(String symbol, BigDecimal wacc, List<BigDecimal> discountRates,
+            List<BigDecimal> terminalGrowthRates, List<List<BigDecimal>> values) {
+    }
+
+    /**
+     * A Monte Carlo simulation request. Only the growth rates and the terminal growth are
+     * required; everything else has a default.
+     *
+     * @param growthRates       The distribution of the growth rate of each projected year.
+     * @param terminalGrowth    The distribution of the terminal growth rate.
+     * @param beta              The distribution of beta, or null for the company's beta.
+     * @param marketRiskPremium The distribution of the market risk premium, or null for the standard premium.
+     * @param iterations        The number of iterations, or null for the default.
+     * @param seed              The seed, or null for a random one (returned with the result).
+     * @param timeBudgetMs      The time budget in milliseconds, or null for the configured maximum.
+     * @param bins              The number of histogram bins, or null for 40.
+     */
+    public record SimulationRequest(List<Distribution> growthRates, Distribution terminalGrowth, Distribution beta,
+            Distribution marketRiskPremium, Long iterations, Long seed, Long timeBudgetMs, Integer bins) {
+    }
+
+    /**
+     * The statistics of a Monte Carlo simulation; prices per share are rounded to cents.
+     *
+     * @param symbol      The stock symbol.
+     * @param seed        The seed; repeating the request with it gives the same result unless truncated.
+     * @param iterations  The requested iterations.
+     * @param completed   The iterations run.
+     * @param invalid     The iterations that could not be valued (discount rate not above terminal growth).
+     * @param truncated   Whether the time budget ran out before all iterations were run.
+     * @param mean        The mean price per share.
+     * @param stdDev      The standard deviation of the price per share.
+     * @param min         The lowest price per share.
+     * @param max         The highest price per share.
+     * @param percentiles The percentiles p1 to p99 of the price per share.
+     * @param histogram   The distribution of the price per share.
+     */
+    public record SimulationResult(String symbol, long seed, long iterations, long completed, long invalid,
+            boolean truncated, BigDecimal mean, BigDecimal stdDev, BigDecimal min, BigDecimal max,
+            Map<String, BigDecimal> percentiles, Histogram histogram) {
+    }
+
+    /**
+     * Equal-width histogram.
+     *
+     * @param edges  The bin edges, one more than bins.
+     * @param counts The number of values per bin.
+     * @param below  The number of values below the first edge.
+     * @param above  The number of values above the last edge.
+     */
+    public record Histogram(List<BigDecimal> edges, List<Long> counts, long below, long above) {
+    }
+}
@@ -2,13 +2,51 @@ package com.stockapp.StockApp.util;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Utility class for Discounted Cash Flow (DCF) valuation calculations.
+ * <p>
+ * DCF valuations are computed in {@link Precision#DOUBLE} by default: one pass over the
+ * projection with the discount factor carried from year to year. {@link Precision#BIG_DECIMAL}
+ * is the exact reference kept for audits; both modes agree to the cent for realistic inputs.
+ * WACC is always computed with {@link BigDecimal}.
  */
 public class DCFValuationUtil {
 
+    /**
+     * Arithmetic used by {@link #calculateDCF}.
+     */
+    public enum Precision {
+        /** Primitive doubles; fast enough for scenario and sensitivity analysis. */
+        DOUBLE,
+        /** {@link BigDecimal} with intermediate results at scale 10; the audit reference. */
+        BIG_DECIMAL
+    }
+
+    private final Precision precision;
+
+    /**
+     * Creates a utility computing DCF valuations in {@link Precision#DOUBLE}.
+     */
+    public DCFValuationUtil() {
+        this(Precision.DOUBLE);
+    }
+
+    /**
+     * @param precision The arithmetic used for DCF valuations.
+     */
+    public DCFValuationUtil(Precision precision) {
+        this.precision = precision;
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
     /**
      * Calculates the price per share using the Discounted Cash Flow (DCF) method.
      * This method projects future free cash flows based on provided growth rates, 
@@ -20,8 +58,9 @@ public class DCFValuationUtil {
      * @param discountRate    The discount rate used to calculate the present value of future cash flows.
      * @param numberOfShares  The number of outstanding shares.
      * @param netDebt         The net debt of the company (total debt minus cash and cash equivalents).
-     * @return The calculated price per share.
-     * @throws ArithmeticException      If the discount rate is less than or equal to the terminal growth rate.
+     * @return The calculated price per share, at scale 2.
+     * @throws ArithmeticException      If the discount rate is less than or equal to the terminal growth rate,
+     *                                  or the number of shares is zero.
      * @throws IllegalArgumentException If the discount rate is not positive or lastYearFCF is negative.
      */
     public BigDecimal calculateDCF(
@@ -29,6 +68,194 @@ public class DCFValuationUtil {
             BigDecimal discountRate, BigDecimal numberOfShares,
             BigDecimal netDebt)
         {
+        if (precision == Precision.BIG_DECIMAL) {
+            return calculateExactDCF(lastYearFCF, growthRates, discountRate, numberOfShares, netDebt);
+        }
+        double[] rates = new double[growthRates.size()];
+        for (int i = 0; i < rates.length; i++) {
+            BigDecimal growthRate = growthRates.get(i);
+            rates[i] = growthRate == null ? 0 : growthRate.doubleValue();
+        }
+        double pricePerShare = calculateDCF(lastYearFCF.doubleValue(), rates, discountRate.doubleValue(),
+                numberOfShares.doubleValue(), netDebt.doubleValue());
+        return BigDecimal.valueOf(pricePerShare).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates the price per share with the DCF method in double precision, without rounding.
+     * This is the primitive form of {@link #calculateDCF(BigDecimal, List, BigDecimal, BigDecimal, BigDecimal)}
+     * for callers evaluating many scenarios on the same inputs.
+     *
+     * @param lastYearFCF    The free cash flow from the last year.
+     * @param growthRates    The annual growth rates of the free cash flow, the last element being the terminal growth rate.
+     * @param discountRate   The discount rate.
+     * @param numberOfShares The number of outstanding shares.
+     * @param netDebt        The net debt of the company.
+     * @return The price per share.
+     * @throws ArithmeticException      If the discount rate is less than or equal to the terminal growth rate,
+     *                                  or the number of shares is zero.
+     * @throws IllegalArgumentException If the discount rate is not positive or lastYearFCF is negative.
+     */
+    public double calculateDCF(double lastYearFCF, double[] growthRates, double discountRate,
+            double numberOfShares, double netDebt) {
+        int n = growthRates.length - 1;
+        double terminalGrowthRate = growthRates[n];
+
+        if (discountRate <= terminalGrowthRate) {
+            throw new ArithmeticException("Discount rate must be greater than terminal growth rate.");
+        }
+        if (discountRate <= 0 || lastYearFCF < 0) {
+            throw new IllegalArgumentException("Invalid input values: discount rate must be positive, and lastYearFCF cannot be negative.");
+        }
+        if (numberOfShares == 0) {
+            throw new ArithmeticException("Number of shares must not be zero.");
+        }
+
+        // Each year's cash flow and discount factor follow from the previous year's.
+        double growthFactor = 1 + discountRate;
+        double currentFCF = lastYearFCF;
+        double discountFactor = 1;
+        double presentValue = 0;
+        for (int i = 0; i < n; i++) {
+            currentFCF *= 1 + growthRates[i];
+            discountFactor *= growthFactor;
+            presentValue += currentFCF / discountFactor;
+        }
+
+        // Terminal value (Gordon Growth Model), discounted with the factor of the last projected year
+        double terminalValue = currentFCF * (1 + terminalGrowthRate) / (discountRate - terminalGrowthRate);
+        presentValue += terminalValue / discountFactor;
+
+        return (presentValue - netDebt) / numberOfShares;
+    }
+
+    /**
+     * Projects the free cash flows of the explicit forecast years. The projection does not
+     * depend on the discount rate, so it can be shared by every cell of a sensitivity grid.
+     *
+     * @param lastYearFCF The free cash flow from the last year.
+     * @param growthRates The annual growth rates, the last element being the terminal growth rate (not used here).
+     * @return The free cash flows: the last year's at index 0, then one per projected year.
+     */
+    public double[] projectCashFlows(double lastYearFCF, double[] growthRates) {
+        double[] cashFlows = new double[growthRates.length];
+        cashFlows[0] = lastYearFCF;
+        for (int i = 1; i < cashFlows.length; i++) {
+            cashFlows[i] = cashFlows[i - 1] * (1 + growthRates[i - 1]);
+        }
+        return cashFlows;
+    }
+
+    /**
+     * Calculates the price per share for every combination of discount rate and terminal
+     * growth rate, in double precision. The present value of the projected cash flows and the
+     * final discount factor are computed once per discount rate and shared by its whole row,
+     * so a cell costs a few floating point operations. Rows are computed in parallel by
+     * splitting them into fork-join tasks.
+     *
+     * @param projectedFCF         The projected free cash flows, see {@link #projectCashFlows}.
+     * @param discountRates        The discount rates (rows).
+     * @param terminalGrowthRates  The terminal growth rates (columns).
+     * @param numberOfShares       The number of outstanding shares.
+     * @param netDebt              The net debt of the company.
+     * @param pool                 The pool computing the rows.
+     * @return The prices per share, indexed [discount rate][terminal growth rate]; NaN where the
+     *         discount rate is not positive or not greater than the terminal growth rate.
+     * @throws ArithmeticException      If the number of shares is zero.
+     * @throws IllegalArgumentException If lastYearFCF is negative.
+     */
+    public double[][] calculateSensitivityGrid(double[] projectedFCF, double[] discountRates, double[] terminalGrowthRates,
+            double numberOfShares, double netDebt, ForkJoinPool pool) {
+        if (projectedFCF[0] < 0) {
+            throw new IllegalArgumentException("Invalid input values: lastYearFCF cannot be negative.");
+        }
+        if (numberOfShares == 0) {
+            throw new ArithmeticException("Number of shares must not be zero.");
+        }
+        double[][] grid = new double[discountRates.length][terminalGrowthRates.length];
+        pool.invoke(new SensitivityRows(projectedFCF, discountRates, terminalGrowthRates, numberOfShares, netDebt, grid,
+                0, discountRates.length));
+        return grid;
+    }
+
+    /**
+     * Computes the rows {@code [from, to)} of a sensitivity grid, splitting in halves until a
+     * task has about {@link #CELLS_PER_TASK} cells.
+     */
+    private static final class SensitivityRows extends RecursiveAction {
+        private static final int CELLS_PER_TASK = 2048;
+
+        private final double[] projectedFCF;
+        private final double[] discountRates;
+        private final double[] terminalGrowthRates;
+        private final double numberOfShares;
+        private final double netDebt;
+        private final double[][] grid;
+        private final int from;
+        private final int to;
+
+        SensitivityRows(double[] projectedFCF, double[] discountRates, double[] terminalGrowthRates,
+                double numberOfShares, double netDebt, double[][] grid, int from, int to) {
+            this.projectedFCF = projectedFCF;
+            this.discountRates = discountRates;
+            this.terminalGrowthRates = terminalGrowthRates;
+            this.numberOfShares = numberOfShares;
+            this.netDebt = netDebt;
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int rowsPerTask = Math.max(1, CELLS_PER_TASK / Math.max(1, terminalGrowthRates.length + projectedFCF.length));
+            if (to - from <= rowsPerTask) {
+                for (int row = from; row < to; row++) {
+                    computeRow(row);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SensitivityRows(projectedFCF, discountRates, terminalGrowthRates, numberOfShares, netDebt, grid, from, middle),
+                    new SensitivityRows(projectedFCF, discountRates, terminalGrowthRates, numberOfShares, netDebt, grid, middle, to));
+        }
+
+        private void computeRow(int row) {
+            double discountRate = discountRates[row];
+            double[] values = grid[row];
+            if (discountRate <= 0) {
+                Arrays.fill(values, Double.NaN);
+                return;
+            }
+            double growthFactor = 1 + discountRate;
+            double discountFactor = 1;
+            double presentValue = 0;
+            for (int year = 1; year < projectedFCF.length; year++) {
+                discountFactor *= growthFactor;
+                presentValue += projectedFCF[year] / discountFactor;
+            }
+            double lastFCF = projectedFCF[projectedFCF.length - 1];
+            for (int column = 0; column < values.length; column++) {
+                double terminalGrowthRate = terminalGrowthRates[column];
+                if (discountRate <= terminalGrowthRate) {
+                    values[column] = Double.NaN;
+                    continue;
+                }
+                double terminalValue = lastFCF * (1 + terminalGrowthRate) / (discountRate - terminalGrowthRate);
+                values[column] = (presentValue + terminalValue / discountFactor - netDebt) / numberOfShares;
+            }
+        }
+    }
+
+    /**
+     * {@link Precision#BIG_DECIMAL} form of {@link #calculateDCF(BigDecimal, List, BigDecimal, BigDecimal, BigDecimal)}.
+     * The discount factors are exact powers of {@code 1 + discountRate}, built up year by year.
+     */
+    private BigDecimal calculateExactDCF(
+            BigDecimal lastYearFCF, List<BigDecimal> growthRates,
+            BigDecimal discountRate, BigDecimal numberOfShares,
+            BigDecimal netDebt)
+        {
 
         int n = growthRates.size() - 1;
         BigDecimal terminalGrowthRate = growthRates.get(n) == null ? BigDecimal.ZERO : growthRates.get(n);
@@ -40,7 +267,9 @@ public class DCFValuationUtil {
             throw new IllegalArgumentException("Invalid input values: discount rate must be positive, and lastYearFCF cannot be negative.");
         }
 
+        BigDecimal growthFactor = BigDecimal.ONE.add(discountRate);
         BigDecimal currentFCF = lastYearFCF;
+        BigDecimal discountFactor = BigDecimal.ONE;
         BigDecimal presentValue = BigDecimal.ZERO;
 
         // Calculate the present value of projected free cash flows
@@ -49,7 +278,7 @@ public class DCFValuationUtil {
             growthRate = (growthRate == null ? BigDecimal.ZERO : growthRate);
 
             currentFCF = currentFCF.multiply(BigDecimal.ONE.add(growthRate));
-            BigDecimal discountFactor = BigDecimal.ONE.add(discountRate).pow(i+1);
+            discountFactor = discountFactor.multiply(growthFactor);          // (1 + r)^(i+1)
             presentValue = presentValue.add(currentFCF.divide(discountFactor, 10, RoundingMode.HALF_UP));
         }
 
@@ -57,8 +286,7 @@ public class DCFValuationUtil {
         BigDecimal terminalValue = currentFCF.multiply(BigDecimal.ONE.add(terminalGrowthRate))
                 .divide(discountRate.subtract(terminalGrowthRate), 10, RoundingMode.HALF_UP);
 
-        BigDecimal terminalValueDiscountFactor = BigDecimal.ONE.add(discountRate).pow(n);
-        terminalValue = terminalValue.divide(terminalValueDiscountFactor, 10, RoundingMode.HALF_UP);
+        terminalValue = terminalValue.divide(discountFactor, 10, RoundingMode.HALF_UP);   // (1 + r)^n
         
         // Total present value including terminal value
         presentValue = presentValue.add(terminalValue);
@@ -117,6 +345,42 @@ public class DCFValuationUtil {
         return calculateWACC(costOfEquity, costOfDebt, equityValue, debtValue, taxRate);
     }
 
+    /**
+     * Double precision form of
+     * {@link #calculateWACCFromFinancialAndMarketData(BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal)},
+     * without rounding the result, for simulations drawing beta and the market risk premium
+     * many times.
+     *
+     * @param riskFreeRate          Risk-free rate of return (Rf).
+     * @param beta                  Beta of the company (β).
+     * @param interestExpense       Interest expense (I).
+     * @param totalDebt             Total debt (D).
+     * @param marketCapitalization  Market capitalization (E).
+     * @param taxProvision          Tax Provision (ITE).
+     * @param pretaxIncome          Pretax Income (IBT).
+     * @param marketRiskPremium     Market risk premium (Rm - Rf).
+     * @return The calculated WACC.
+     * @throws IllegalArgumentException If any of the input parameters are invalid.
+     */
+    public double calculateWACCFromFinancialAndMarketData(
+            double riskFreeRate, double beta,
+            double interestExpense, double totalDebt,
+            double marketCapitalization, double taxProvision,
+            double pretaxIncome, double marketRiskPremium)
+        {
+        if (totalDebt == 0) {
+            throw new IllegalArgumentException("Total debt cannot be zero.");
+        }
+        if (marketCapitalization <= 0 || totalDebt <= 0) {
+            throw new IllegalArgumentException("Equity and Debt values must be positive.");
+        }
+        double costOfEquity = riskFreeRate + beta * marketRiskPremium;                  // [Re]
+        double costOfDebt = interestExpense / totalDebt;                                // [Rd]
+        double taxRate = taxProvision / marketCapitalization;                           // [Tc], as in the BigDecimal form
+        double totalValue = marketCapitalization + totalDebt;                           // [V = E + D]
+        return marketCapitalization / totalValue * costOfEquity + totalDebt / totalValue * costOfDebt * (1 - taxRate);
+    }
+
     /**
      * Calculates the Weighted Average Cost of Capital (WACC) using financial statement and market data.
      * This method calculates the WACC based on the following formula:
@@ -0,0 +1,113 @@
+package com.stockapp.StockApp.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Probability distribution of one uncertain valuation input, as specified by a user.
+ * <p>
+ * Which fields are used depends on the type:
+ * <ul>
+ * <li>{@code FIXED}: {@code value};</li>
+ * <li>{@code UNIFORM}: {@code min} and {@code max};</li>
+ * <li>{@code NORMAL}: {@code mean} and {@code stdDev}, optionally truncated to {@code min}/{@code max};</li>
+ * <li>{@code TRIANGULAR}: {@code min}, {@code mode} and {@code max}.</li>
+ * </ul>
+ *
+ * @param type   The kind of distribution.
+ * @param value  The value of a fixed distribution.
+ * @param mean   The mean of a normal distribution.
+ * @param stdDev The standard deviation of a normal distribution.
+ * @param min    The lower bound.
+ * @param mode   The most likely value of a triangular distribution.
+ * @param max    The upper bound.
+ */
+public record Distribution(Type type, Double value, Double mean, Double stdDev, Double min, Double mode, Double max) {
+
+    /**
+     * Kinds of distribution.
+     */
+    public enum Type {
+        FIXED,
+        UNIFORM,
+        NORMAL,
+        TRIANGULAR
+    }
+
+    /**
+     * @param value The value.
+     * @return A distribution always yielding {@code value}.
+     */
+    public static Distribution fixed(double value) {
+        return new Distribution(Type.FIXED, value, null, null, null, null, null);
+    }
+
+    /**
+     * Checks the parameters and returns a sampler drawing from this distribution.
+     *
+     * @param name The name of the input, used in error messages.
+     * @return The sampler; it keeps no state besides the random generator passed to it.
+     * @throws IllegalArgumentException If a parameter the type needs is missing or inconsistent.
+     */
+    public Sampler sampler(String name) {
+        if (type == null) {
+            throw new IllegalArgumentException(name + ": distribution type is missing.");
+        }
+        switch (type) {
+            case FIXED -> {
+                double fixed = require(value, name, "value");
+                return random -> fixed;
+            }
+            case UNIFORM -> {
+                double low = require(min, name, "min");
+                double high = require(max, name, "max");
+                check(low <= high, name, "min must not exceed max");
+                return random -> low + (high - low) * random.nextDouble();
+            }
+            case NORMAL -> {
+                double mu = require(mean, name, "mean");
+                double sigma = require(stdDev, name, "stdDev");
+                check(sigma >= 0, name, "stdDev must not be negative");
+                double low = min == null ? Double.NEGATIVE_INFINITY : min;
+                double high = max == null ? Double.POSITIVE_INFINITY : max;
+                check(low <= high, name, "min must not exceed max");
+                return random -> Math.max(low, Math.min(high, mu + sigma * random.nextGaussian()));
+            }
+            case TRIANGULAR -> {
+                double low = require(min, name, "min");
+                double peak = require(mode, name, "mode");
+                double high = require(max, name, "max");
+                check(low <= peak && peak <= high, name, "min <= mode <= max is required");
+                double width = high - low;
+                double split = width == 0 ? 0 : (peak - low) / width;
+                return random -> {
+                    double u = random.nextDouble();
+                    return u < split
+                            ? low + Math.sqrt(u * width * (peak - low))
+                            : high - Math.sqrt((1 - u) * width * (high - peak));
+                };
+            }
+            default -> throw new IllegalArgumentException(name + ": unknown distribution " + type + ".");
+        }
+    }
+
+    private static double require(Double parameter, String name, String parameterName) {
+        if (parameter == null || !Double.isFinite(parameter)) {
+            throw new IllegalArgumentException(name + ": " + parameterName + " is missing.");
+        }
+        return parameter;
+    }
+
+    private static void check(boolean condition, String name, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(name + ": " + message + ".");
+        }
+    }
+
+    /**
+     * Draws values of a distribution.
+     */
+    @FunctionalInterface
+    public interface Sampler {
+        double sample(SplittableRandom random);
+    }
+}
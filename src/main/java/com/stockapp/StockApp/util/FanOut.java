@@ -0,0 +1,92 @@
+package com.stockapp.StockApp.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a group of independent tasks concurrently under one overall deadline.
+ * <p>
+ * {@link #awaitAll()} returns once every task has finished, or throws as soon as one task
+ * fails or the deadline passes. Closing the fan-out drops the tasks that have not started
+ * yet, so a failed group leaves no queued work behind. Running tasks are not interrupted: they
+ * are often loads other requests have joined (a single-flight leader, a cache loader), which
+ * an interrupt would fail for all of them. They finish in the background and fill the caches:
+ * <pre>{@code
+ * try (FanOut fanOut = new FanOut(executor, Duration.ofSeconds(10))) {
+ *     Future<A> a = fanOut.submit(this::loadA);
+ *     Future<B> b = fanOut.submit(this::loadB);
+ *     fanOut.awaitAll();
+ *     return combine(a.get(), b.get());
+ * }
+ * }</pre>
+ */
+public class FanOut implements AutoCloseable {
+    private final ExecutorCompletionService<Object> completionService;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final Duration deadline;
+    private final long deadlineNanos;
+
+    /**
+     * Starts a new fan-out; the deadline clock starts now.
+     *
+     * @param executor The executor running the tasks.
+     * @param deadline The time all tasks together may take.
+     */
+    public FanOut(Executor executor, Duration deadline) {
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.deadline = deadline;
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+    }
+
+    /**
+     * Submits one task of the group.
+     *
+     * @param <T>  The result type of the task.
+     * @param task The task to run concurrently.
+     * @return The future of the task, complete after a successful {@link #awaitAll()}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> submit(Callable<T> task) {
+        Future<T> future = (Future<T>) completionService.submit((Callable<Object>) task);
+        futures.add(future);
+        return future;
+    }
+
+    /**
+     * Waits until every submitted task has completed successfully.
+     *
+     * @throws TimeoutException     If the deadline passed before all tasks completed.
+     * @throws InterruptedException If the waiting thread was interrupted.
+     * @throws Exception            The exception thrown by the first task that failed.
+     */
+    public void awaitAll() throws Exception {
+        for (int i = 0; i < futures.size(); i++) {
+            long remaining = deadlineNanos - System.nanoTime();
+            Future<Object> done = completionService.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                throw new TimeoutException("Tasks did not complete within " + deadline.toMillis() + " ms.");
+            }
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+    }
+
+    /**
+     * Cancels every task that has not started yet; running tasks are left to finish.
+     */
+    @Override
+    public void close() {
+        futures.forEach(future -> future.cancel(false));
+    }
+}
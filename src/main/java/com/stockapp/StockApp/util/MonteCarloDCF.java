@@ -0,0 +1,238 @@
+package com.stockapp.StockApp.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of the DCF price per share.
+ * <p>
+ * Every iteration draws the growth rate of each projected year, the terminal growth rate, beta
+ * and the market risk premium from their distributions, derives the WACC and values the company
+ * with the double precision DCF. The iterations are split into fork-join tasks; every split
+ * hands one half a {@link SplittableRandom#split()} of the generator, so the draws only depend
+ * on the seed and the number of iterations, not on the threads. Samples are not kept: each task
+ * accumulates count, mean and variance and a {@link QuantileSketch}, and the partial results
+ * are merged up the task tree.
+ * <p>
+ * When the time budget runs out the tasks stop early and the result reports fewer completed
+ * iterations; such a result is not reproducible.
+ */
+public class MonteCarloDCF {
+    /** Iterations of a task that is not split any further. */
+    private static final int ITERATIONS_PER_TASK = 8192;
+    /** Iterations between two checks of the time budget. */
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final DCFValuationUtil dcfUtil;
+    private final double relativeAccuracy;
+
+    /**
+     * @param dcfUtil          The DCF calculator.
+     * @param relativeAccuracy The relative accuracy of the percentiles.
+     */
+    public MonteCarloDCF(DCFValuationUtil dcfUtil, double relativeAccuracy) {
+        this.dcfUtil = dcfUtil;
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * The company data that does not vary between iterations.
+     *
+     * @param lastYearFCF          The free cash flow of the latest fiscal year.
+     * @param numberOfShares       The number of outstanding shares.
+     * @param netDebt              The net debt.
+     * @param riskFreeRate         The risk-free rate.
+     * @param interestExpense      The interest expense.
+     * @param totalDebt            The total debt.
+     * @param marketCapitalization The market capitalization.
+     * @param taxProvision         The tax provision.
+     * @param pretaxIncome         The pretax income.
+     */
+    public record Company(double lastYearFCF, double numberOfShares, double netDebt, double riskFreeRate,
+            double interestExpense, double totalDebt, double marketCapitalization, double taxProvision,
+            double pretaxIncome) {
+    }
+
+    /**
+     * The uncertain inputs.
+     *
+     * @param growthRates       The growth rate of each projected year.
+     * @param terminalGrowth    The terminal growth rate.
+     * @param beta              The beta of the company.
+     * @param marketRiskPremium The market risk premium.
+     */
+    public record Inputs(List<Distribution> growthRates, Distribution terminalGrowth, Distribution beta,
+            Distribution marketRiskPremium) {
+    }
+
+    /**
+     * The outcome of a simulation.
+     *
+     * @param completed The iterations run, fewer than requested if the time budget ran out.
+     * @param invalid   The iterations whose draws could not be valued (WACC not positive or not
+     *                  above the terminal growth rate); they are not part of the statistics.
+     * @param mean      The mean price per share of the valid iterations.
+     * @param stdDev    The standard deviation of the price per share.
+     * @param sketch    The distribution of the price per share.
+     */
+    public record Result(long completed, long invalid, double mean, double stdDev, QuantileSketch sketch) {
+    }
+
+    /**
+     * Runs a simulation.
+     *
+     * @param company    The company data.
+     * @param inputs     The distributions of the uncertain inputs.
+     * @param iterations The number of iterations.
+     * @param seed       The seed; the same seed and iterations give the same result.
+     * @param budget     The time after which the simulation stops early.
+     * @param pool       The pool running the tasks.
+     * @return The result.
+     * @throws IllegalArgumentException If a distribution is incomplete, or the company cannot be
+     *                                  valued at all (negative FCF, no shares, no debt or equity).
+     */
+    public Result simulate(Company company, Inputs inputs, long iterations, long seed, Duration budget, ForkJoinPool pool) {
+        if (inputs.growthRates() == null || inputs.growthRates().isEmpty()) {
+            throw new IllegalArgumentException("Growth rates are missing.");
+        }
+        if (company.lastYearFCF() < 0 || company.numberOfShares() <= 0) {
+            throw new IllegalArgumentException("Invalid input values: lastYearFCF cannot be negative and the number of shares must be positive.");
+        }
+        if (company.totalDebt() <= 0 || company.marketCapitalization() <= 0) {
+            throw new IllegalArgumentException("Equity and Debt values must be positive.");
+        }
+        Distribution.Sampler[] growth = new Distribution.Sampler[inputs.growthRates().size()];
+        for (int i = 0; i < growth.length; i++) {
+            Distribution distribution = inputs.growthRates().get(i);
+            if (distribution == null) {
+                throw new IllegalArgumentException("growthRates[" + i + "]: distribution is missing.");
+            }
+            growth[i] = distribution.sampler("growthRates[" + i + "]");
+        }
+        Model model = new Model(company, growth, sampler(inputs.terminalGrowth(), "terminalGrowth"),
+                sampler(inputs.beta(), "beta"), sampler(inputs.marketRiskPremium(), "marketRiskPremium"),
+                System.nanoTime() + budget.toNanos());
+
+        Partial partial = pool.invoke(new Simulation(model, 0, iterations, new SplittableRandom(seed)));
+        double variance = partial.valid() > 1 ? partial.m2 / (partial.valid() - 1) : 0;
+        return new Result(partial.completed, partial.invalid, partial.valid() == 0 ? Double.NaN : partial.mean,
+                Math.sqrt(variance), partial.sketch);
+    }
+
+    private static Distribution.Sampler sampler(Distribution distribution, String name) {
+        if (distribution == null) {
+            throw new IllegalArgumentException(name + ": distribution is missing.");
+        }
+        return distribution.sampler(name);
+    }
+
+    private record Model(Company company, Distribution.Sampler[] growth, Distribution.Sampler terminalGrowth,
+            Distribution.Sampler beta, Distribution.Sampler marketRiskPremium, long deadline) {
+    }
+
+    /**
+     * Statistics of a range of iterations. Mean and variance are merged with the pairwise
+     * update of Chan et al., which stays accurate for large counts.
+     */
+    private static final class Partial {
+        private long completed;
+        private long invalid;
+        private double mean;
+        private double m2;
+        private final QuantileSketch sketch;
+
+        Partial(double relativeAccuracy) {
+            sketch = new QuantileSketch(relativeAccuracy);
+        }
+
+        long valid() {
+            return completed - invalid;
+        }
+
+        void add(double value) {
+            completed++;
+            long n = valid();
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+            sketch.add(value);
+        }
+
+        Partial merge(Partial other) {
+            long n = valid();
+            long m = other.valid();
+            if (m > 0) {
+                double delta = other.mean - mean;
+                long total = n + m;
+                mean += delta * m / total;
+                m2 += other.m2 + delta * delta * ((double) n * m / total);
+            }
+            completed += other.completed;
+            invalid += other.invalid;
+            sketch.merge(other.sketch);
+            return this;
+        }
+    }
+
+    /**
+     * Runs the iterations {@code [from, to)}.
+     */
+    private final class Simulation extends RecursiveTask<Partial> {
+        private final Model model;
+        private final long from;
+        private final long to;
+        private final SplittableRandom random;
+
+        Simulation(Model model, long from, long to, SplittableRandom random) {
+            this.model = model;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > ITERATIONS_PER_TASK) {
+                long middle = (from + to) >>> 1;
+                Simulation left = new Simulation(model, from, middle, random.split());
+                Simulation right = new Simulation(model, middle, to, random);
+                left.fork();
+                Partial partial = right.compute();
+                return left.join().merge(partial);
+            }
+            return run();
+        }
+
+        private Partial run() {
+            Company company = model.company();
+            Distribution.Sampler[] growth = model.growth();
+            double[] rates = new double[growth.length + 1];
+            Partial partial = new Partial(relativeAccuracy);
+            for (long i = from; i < to; i++) {
+                if ((i - from) % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - model.deadline() > 0) {
+                    break;
+                }
+                for (int year = 0; year < growth.length; year++) {
+                    rates[year] = growth[year].sample(random);
+                }
+                double terminalGrowth = model.terminalGrowth().sample(random);
+                rates[growth.length] = terminalGrowth;
+                double wacc = dcfUtil.calculateWACCFromFinancialAndMarketData(company.riskFreeRate(),
+                        model.beta().sample(random), company.interestExpense(), company.totalDebt(),
+                        company.marketCapitalization(), company.taxProvision(), company.pretaxIncome(),
+                        model.marketRiskPremium().sample(random));
+                if (!(wacc > 0 && wacc > terminalGrowth)) {
+                    partial.completed++;
+                    partial.invalid++;
+                    continue;
+                }
+                partial.add(dcfUtil.calculateDCF(company.lastYearFCF(), rates, wacc, company.numberOfShares(),
+                        company.netDebt()));
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.stockapp.StockApp.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rough estimator of the retained heap size of cached payloads (price series, statement lists,
+ * overviews). It is used as the cache weigher, so it has to be cheap rather than exact: it
+ * assumes a 64-bit JVM with compressed references and counts each referenced value once.
+ * Objects, arrays and collections reached again (shared or cyclic references) only count as a
+ * reference, so arbitrary object graphs can be weighed.
+ */
+public final class PayloadSizeEstimator {
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int BIG_DECIMAL = 40;
+    private static final int LOCAL_DATE = 24;
+    private static final int STRING = 40;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private PayloadSizeEstimator() {
+    }
+
+    /**
+     * Estimates the size in bytes of the given payload.
+     *
+     * @param value The cached value (a model object, a collection of them, or null).
+     * @return The estimated size in bytes, at least 1.
+     */
+    public static long estimateBytes(Object value) {
+        return Math.max(1, estimate(value, Collections.newSetFromMap(new IdentityHashMap<>())));
+    }
+
+    private static long estimate(Object value, Set<Object> visited) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return STRING + s.length();
+        }
+        if (value instanceof BigDecimal) {
+            return BIG_DECIMAL;
+        }
+        if (value instanceof LocalDate) {
+            return LOCAL_DATE;
+        }
+        if (value instanceof ByteBuffer buffer) {
+            // Direct and mapped buffers live outside the heap; only the buffer object counts.
+            return buffer.isDirect() ? OBJECT_HEADER * 4L : OBJECT_HEADER * 4L + buffer.capacity();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            return OBJECT_HEADER;
+        }
+        if (!visited.add(value)) {
+            return 0;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER * 2L + (long) REFERENCE * collection.size();
+            for (Object element : collection) {
+                size += estimate(element, visited);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_HEADER * 2L + 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), visited) + estimate(entry.getValue(), visited);
+            }
+            return size;
+        }
+        if (value.getClass().isArray()) {
+            Class<?> component = value.getClass().getComponentType();
+            int slot = component == long.class || component == double.class ? 8
+                    : component == int.class || component == float.class || !component.isPrimitive() ? 4
+                    : component == char.class || component == short.class ? 2 : 1;
+            return OBJECT_HEADER + (long) Array.getLength(value) * slot;
+        }
+        return estimateObject(value, visited);
+    }
+
+    private static long estimateObject(Object value, Set<Object> visited) {
+        long size = OBJECT_HEADER;
+        for (Field field : FIELDS.get(value.getClass())) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                size += (type == long.class || type == double.class) ? 8 : 4;
+                continue;
+            }
+            size += REFERENCE;
+            // Symbols are shared between all rows of a series, so they are not counted per row.
+            if (!"symbol".equals(field.getName())) {
+                try {
+                    size += estimate(field.get(value), visited);
+                } catch (IllegalAccessException e) {
+                    size += OBJECT_HEADER;
+                }
+            }
+        }
+        return size;
+    }
+}
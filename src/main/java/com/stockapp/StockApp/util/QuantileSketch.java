@@ -0,0 +1,187 @@
+package com.stockapp.StockApp.util;
+
+/**
+ * Streaming quantile sketch with a relative accuracy guarantee, in the style of DDSketch.
+ * <p>
+ * Values are counted in logarithmically sized buckets: bucket {@code i} holds the values in
+ * {@code (gamma^(i-1), gamma^i]}, with {@code gamma = (1 + a) / (1 - a)} for the relative
+ * accuracy {@code a}. Every quantile is returned within {@code a} of the exact value (relative
+ * to it), whatever the number of values added, and memory only grows with the logarithm of the
+ * value range. Negative values are kept in a mirrored set of buckets. Sketches with the same
+ * accuracy can be merged, so parallel workers each fill their own and combine them at the end.
+ * Not thread-safe.
+ */
+public final class QuantileSketch {
+    /** Values closer to zero than this are counted as zero. */
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param relativeAccuracy The relative accuracy of the quantiles, e.g. 0.005 for 0.5%.
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adds a value; NaN and infinite values are ignored.
+     *
+     * @param value The value.
+     */
+    public void add(double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        if (value > MIN_INDEXABLE) {
+            positive.add(index(value), 1);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of another sketch to this one.
+     *
+     * @param other A sketch with the same relative accuracy.
+     * @throws IllegalArgumentException If the accuracies differ.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy.");
+        }
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param quantile The quantile, between 0 and 1.
+     * @return The estimated value at the quantile, or NaN if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (Math.max(0, Math.min(1, quantile)) * (count - 1));
+        double value;
+        long seen = 0;
+        int i = negative.counts.length - 1;
+        for (; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                break;
+            }
+        }
+        if (i >= 0) {
+            value = -value(negative.offset + i);
+        } else if (seen + zeroCount > rank) {
+            value = 0;
+        } else {
+            seen += zeroCount;
+            i = 0;
+            while (i < positive.counts.length - 1 && (seen += positive.counts[i]) <= rank) {
+                i++;
+            }
+            value = value(positive.offset + i);
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Visits the non-empty buckets in ascending order of value.
+     *
+     * @param consumer Receives the representative value and the count of each bucket.
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            if (negative.counts[i] > 0) {
+                consumer.accept(-value(negative.offset + i), negative.counts[i]);
+            }
+        }
+        if (zeroCount > 0) {
+            consumer.accept(0, zeroCount);
+        }
+        for (int i = 0; i < positive.counts.length; i++) {
+            if (positive.counts[i] > 0) {
+                consumer.accept(value(positive.offset + i), positive.counts[i]);
+            }
+        }
+    }
+
+    public long getCount() { return count; }
+    public double getMin() { return count == 0 ? Double.NaN : min; }
+    public double getMax() { return count == 0 ? Double.NaN : max; }
+    public double getRelativeAccuracy() { return relativeAccuracy; }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * @return The value within the relative accuracy of every value of the bucket.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Receives the buckets of a sketch.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(double value, long count);
+    }
+
+    /**
+     * Counts per bucket index, in an array growing in both directions as needed.
+     */
+    private static final class Buckets {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void add(int index, long n) {
+            if (counts.length == 0) {
+                counts = new long[64];
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                int from = Math.min(offset, index - 16);
+                int to = Math.max(offset + counts.length, index + 17);
+                long[] grown = new long[Math.max(to - from, counts.length * 2)];
+                System.arraycopy(counts, 0, grown, offset - from, counts.length);
+                counts = grown;
+                offset = from;
+            }
+            counts[index - offset] += n;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] > 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+    }
+}
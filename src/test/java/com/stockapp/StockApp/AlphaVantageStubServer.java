@@ -0,0 +1,358 @@
+package com.stockapp.StockApp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.stockapp.StockApp.model.URLCreator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the Alpha Vantage query endpoint, so that the app can be exercised over
+ * real HTTP without network access or API quota. Point {@code alphavantage.base-url} at
+ * {@link #getBaseUrl()}.
+ * <p>
+ * Time series are synthetic (a random walk seeded by the symbol, so repeated and compact/full
+ * requests agree); overview and statements are the recorded IBM fixtures with the symbol
+ * replaced. Latency, a stall halfway through the body, bodies cut off halfway, the share of 503
+ * errors and the share of rate limit notes (answered with status 200, like the real API) can be
+ * changed while the server runs.
+ */
+public final class AlphaVantageStubServer implements AutoCloseable {
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 2, 28);
+    private static final int DAILY_FULL_ROWS = 5000;
+    private static final int DAILY_COMPACT_ROWS = 100;
+    private static final int WEEKLY_ROWS = 1040;
+    private static final int MONTHLY_ROWS = 300;
+    private static final String[] FIELDS = {"1. open", "2. high", "3. low", "4. close", "5. adjusted close", "6. volume"};
+    private static final String RATE_LIMIT_NOTE = "{\"Note\": \"Thank you for using Alpha Vantage! Our standard API call "
+            + "frequency is 5 calls per minute and 25 calls per day.\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong gzipResponses = new AtomicLong();
+
+    private volatile Duration minLatency = Duration.ZERO;
+    private volatile Duration maxLatency = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile double rateLimitNoteRate;
+    private volatile Duration bodyStall = Duration.ZERO;
+    private volatile boolean truncateBodies;
+    private volatile String apiKey;
+
+    private AlphaVantageStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "alphavantage-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/query", this::handle);
+    }
+
+    /**
+     * Starts a stub on a free loopback port.
+     *
+     * @return The running stub; close it to stop it.
+     * @throws IOException If the server socket cannot be opened.
+     */
+    public static AlphaVantageStubServer start() throws IOException {
+        AlphaVantageStubServer stub = new AlphaVantageStubServer();
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * @return The query endpoint of the stub, e.g. {@code http://127.0.0.1:40123/query}.
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/query";
+    }
+
+    /**
+     * @param min The minimum delay before a response is sent.
+     * @param max The maximum delay; delays are uniformly distributed in between.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withLatency(Duration min, Duration max) {
+        this.minLatency = min;
+        this.maxLatency = max.compareTo(min) < 0 ? min : max;
+        return this;
+    }
+
+    /**
+     * @param errorRate The share of requests answered with status 503.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * @param rateLimitNoteRate The share of requests answered with a rate limit note instead of data.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withRateLimitNoteRate(double rateLimitNoteRate) {
+        this.rateLimitNoteRate = rateLimitNoteRate;
+        return this;
+    }
+
+    /**
+     * @param bodyStall How long the stub pauses after sending the first half of a response
+     *                  body (uncompressed); zero to send bodies at once.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withBodyStall(Duration bodyStall) {
+        this.bodyStall = bodyStall;
+        return this;
+    }
+
+    /**
+     * @param truncateBodies Whether only the first half of every body (uncompressed) is sent,
+     *                       as a complete response with status 200.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withTruncatedBodies(boolean truncateBodies) {
+        this.truncateBodies = truncateBodies;
+        return this;
+    }
+
+    /**
+     * @param apiKey The only API key accepted, or null to accept any key.
+     * @return This stub.
+     */
+    public AlphaVantageStubServer withApiKey(String apiKey) {
+        this.apiKey = apiKey;
+        return this;
+    }
+
+    /**
+     * @return The number of requests received so far.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return The number of responses sent gzip encoded so far.
+     */
+    public long getGzipResponseCount() {
+        return gzipResponses.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            delay();
+
+            double draw = ThreadLocalRandom.current().nextDouble();
+            if (draw < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body;
+            if (draw < errorRate + rateLimitNoteRate) {
+                body = RATE_LIMIT_NOTE.getBytes(StandardCharsets.UTF_8);
+            } else if (apiKey != null && !apiKey.equals(query.get("apikey"))) {
+                body = errorMessage("the parameter apikey is invalid or missing.");
+            } else {
+                body = responseFor(query.get("function"), query.get("symbol"), query.get("outputsize"));
+            }
+            send(exchange, body);
+        }
+    }
+
+    private void delay() {
+        long min = minLatency.toNanos();
+        long max = maxLatency.toNanos();
+        long nanos = max > min ? ThreadLocalRandom.current().nextLong(min, max) : min;
+        if (nanos > 0) {
+            try {
+                Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        Duration stall = bodyStall;
+        if (truncateBodies) {
+            exchange.sendResponseHeaders(200, body.length / 2);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body, 0, body.length / 2);
+            }
+        } else if (!stall.isZero()) {
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body, 0, body.length / 2);
+            out.flush();
+            try {
+                Thread.sleep(stall.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            out.write(body, body.length / 2, body.length - body.length / 2);
+            out.close();
+        } else if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            gzipResponses.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(body);
+            }
+        } else {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private byte[] responseFor(String functionName, String symbol, String outputSize) {
+        URLCreator.FunctionType function;
+        try {
+            function = URLCreator.FunctionType.valueOf(functionName);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return errorMessage("Invalid API call. Please retry or visit the documentation for " + functionName + ".");
+        }
+        if (symbol == null || symbol.isBlank()) {
+            return errorMessage("Invalid API call. Please retry or visit the documentation for " + functionName + ".");
+        }
+        boolean compact = "compact".equals(outputSize);
+        return responses.computeIfAbsent(function + "/" + symbol + (compact ? "/compact" : ""),
+                key -> responseBody(function, symbol, compact).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] errorMessage(String message) {
+        return ("{\"Error Message\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds the response the stub serves for a request; also used as benchmark payload.
+     *
+     * @param function The Alpha Vantage function.
+     * @param symbol   The stock symbol.
+     * @param compact  Whether only the latest 100 rows of a daily series are requested.
+     * @return The JSON response body.
+     */
+    public static String responseBody(URLCreator.FunctionType function, String symbol, boolean compact) {
+        return switch (function) {
+            case TIME_SERIES_DAILY_ADJUSTED -> timeSeries(function, symbol, DAILY_FULL_ROWS, compact ? DAILY_COMPACT_ROWS : DAILY_FULL_ROWS);
+            case TIME_SERIES_WEEKLY_ADJUSTED -> timeSeries(function, symbol, WEEKLY_ROWS, WEEKLY_ROWS);
+            case TIME_SERIES_MONTHLY_ADJUSTED -> timeSeries(function, symbol, MONTHLY_ROWS, MONTHLY_ROWS);
+            case OVERVIEW, INCOME_STATEMENT, BALANCE_SHEET, CASH_FLOW ->
+                    Fixtures.forFunction(function).replace("\"IBM\"", "\"" + symbol + "\"");
+        };
+    }
+
+    /**
+     * Builds a time series response, newest row first like the real API. The series always
+     * has {@code rows} rows; only the newest {@code returned} ones are written.
+     */
+    private static String timeSeries(URLCreator.FunctionType function, String symbol, int rows, int returned) {
+        LocalDate[] dates = new LocalDate[rows];
+        LocalDate date = LAST_DAY;
+        for (int i = rows - 1; i >= 0; i--) {
+            dates[i] = date;
+            date = switch (function) {
+                case TIME_SERIES_DAILY_ADJUSTED -> previousWeekday(date);
+                case TIME_SERIES_WEEKLY_ADJUSTED -> date.minusWeeks(1);
+                default -> date.minusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+            };
+        }
+
+        Random random = new Random(symbol.hashCode() * 31L + function.ordinal());
+        double volatility = switch (function) {
+            case TIME_SERIES_DAILY_ADJUSTED -> 0.015;
+            case TIME_SERIES_WEEKLY_ADJUSTED -> 0.035;
+            default -> 0.07;
+        };
+        double[] closes = new double[rows];
+        double price = 20 + random.nextDouble() * 200;
+        for (int i = 0; i < rows; i++) {
+            price = Math.max(1, price * (1 + 0.002 * volatility + volatility * random.nextGaussian()));
+            closes[i] = price;
+        }
+
+        StringBuilder json = new StringBuilder(returned * 220);
+        json.append("{\"Meta Data\": {\"1. Information\": \"Synthetic prices\", \"2. Symbol\": \"").append(symbol)
+                .append("\", \"3. Last Refreshed\": \"").append(LAST_DAY).append("\"}, \"")
+                .append(function.getJsonFunction()).append("\": {");
+        for (int i = rows - 1; i >= rows - returned; i--) {
+            double close = closes[i];
+            double open = i > 0 ? closes[i - 1] : close;
+            String[] values = {format(open), format(Math.max(open, close) * 1.01), format(Math.min(open, close) * 0.99),
+                    format(close), format(close * 0.97), Long.toString(1_000_000 + (long) (close * 10_000) % 9_000_000)};
+            if (i < rows - 1) {
+                json.append(',');
+            }
+            json.append('"').append(dates[i]).append("\": {");
+            for (int f = 0; f < FIELDS.length; f++) {
+                json.append(f == 0 ? "" : ", ").append('"').append(FIELDS[f]).append("\": \"").append(values[f]).append('"');
+            }
+            json.append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    private static LocalDate previousWeekday(LocalDate date) {
+        LocalDate previous = date.minusDays(1);
+        while (previous.getDayOfWeek() == DayOfWeek.SATURDAY || previous.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            previous = previous.minusDays(1);
+        }
+        return previous;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+}
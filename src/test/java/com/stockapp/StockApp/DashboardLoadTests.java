@@ -0,0 +1,268 @@
+package com.stockapp.StockApp;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Replays dashboard traffic against the running app, with Alpha Vantage replaced by the local
+ * {@link AlphaVantageStubServer}, and reports throughput and latency percentiles per endpoint.
+ * <p>
+ * Excluded from the normal build; run it with {@code mvn test -Pload-test}. Knobs (system
+ * properties): {@code load.users}, {@code load.seconds}, {@code load.warmup-seconds},
+ * {@code load.symbols}, {@code load.think-ms} and, for the stub, {@code load.stub.min-latency-ms},
+ * {@code load.stub.max-latency-ms}, {@code load.stub.error-rate}, {@code load.stub.note-rate}.
+ * The report is printed and written to {@code target/load-report.txt}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "alphavantage.quota.enabled=false",
+        "stockapp.response-store.enabled=false",
+        "stockapp.market-data.history-store=memory"})
+class DashboardLoadTests {
+    private static final AlphaVantageStubServer STUB = startStub();
+    private static final String DCF_BODY = "{\"growthRates\": [0.08, 0.07, 0.06, 0.05, 0.04, 0.025]}";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Samples> samples = new ConcurrentSkipListMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("alphavantage.base-url", STUB::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    void dashboardTraffic() throws Exception {
+        int users = Integer.getInteger("load.users", 32);
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmUpSeconds = Integer.getInteger("load.warmup-seconds", 5);
+        String[] symbols = symbols(Integer.getInteger("load.symbols", 40));
+        double[] popularity = zipf(symbols.length, 1.1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(warmUpSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            sessions.add(pool.submit(() -> {
+                while (System.nanoTime() < end) {
+                    session(symbols[pick(popularity)]);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> session : sessions) {
+            session.get();
+        }
+        pool.shutdown();
+
+        String report = report(Duration.ofNanos(end - measureFrom), users);
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "load-report.txt"), report);
+
+        assertTrue(samples.values().stream().mapToInt(Samples::count).sum() > 0, "No request was measured");
+    }
+
+    /**
+     * One visit of a company dashboard: the company list, the prices (as a bundle or section by
+     * section), sometimes the daily chart, the statements and a DCF valuation.
+     */
+    private void session(String symbol) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String dashboard = "/api/stockDashboard/" + symbol;
+        get("GET /api/companies", "/api/companies");
+        if (random.nextBoolean()) {
+            get("GET bundle", dashboard + "/bundle?sections=stocks,overview");
+        } else {
+            get("GET stocks", dashboard + "/stocks");
+            get("GET overview", dashboard + "/overview");
+        }
+        if (random.nextDouble() < 0.4) {
+            get("GET stocks/daily", dashboard + "/stocks/daily?from=2024-03-01");
+        }
+        if (random.nextDouble() < 0.3) {
+            get("GET incomeStatement", dashboard + "/incomeStatement");
+            get("GET balanceSheet", dashboard + "/balanceSheet");
+            get("GET cashFlowStatement", dashboard + "/cashFlowStatement");
+        }
+        if (random.nextDouble() < 0.2) {
+            send("POST dcfData", HttpRequest.newBuilder(uri("/api/" + symbol + "/dcfData"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(DCF_BODY)));
+        }
+    }
+
+    private void get(String endpoint, String path) throws InterruptedException {
+        send(endpoint, HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private void send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        int thinkMs = Integer.getInteger("load.think-ms", 20);
+        if (thinkMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMs + 1));
+        }
+        long started = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        }
+        if (started >= measureFrom) {
+            samples.computeIfAbsent(endpoint, key -> new Samples()).add(System.nanoTime() - started, failed);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String report(Duration measured, int users) {
+        double seconds = measured.toNanos() / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Dashboard load: %d users, %.0f s measured, stub latency %s-%s ms, "
+                        + "error rate %s, note rate %s, %d upstream requests%n", users, seconds,
+                System.getProperty("load.stub.min-latency-ms", "50"), System.getProperty("load.stub.max-latency-ms", "300"),
+                System.getProperty("load.stub.error-rate", "0.01"), System.getProperty("load.stub.note-rate", "0.01"),
+                STUB.getRequestCount()));
+        report.append(String.format(Locale.ROOT, "%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        Samples all = new Samples();
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            report.append(entry.getValue().row(entry.getKey(), seconds));
+            all.addAll(entry.getValue());
+        }
+        report.append(all.row("all", seconds));
+        return report.toString();
+    }
+
+    private static AlphaVantageStubServer startStub() {
+        try {
+            return AlphaVantageStubServer.start()
+                    .withLatency(Duration.ofMillis(Long.getLong("load.stub.min-latency-ms", 50)),
+                            Duration.ofMillis(Long.getLong("load.stub.max-latency-ms", 300)))
+                    .withErrorRate(Double.parseDouble(System.getProperty("load.stub.error-rate", "0.01")))
+                    .withRateLimitNoteRate(Double.parseDouble(System.getProperty("load.stub.note-rate", "0.01")));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start the Alpha Vantage stub", e);
+        }
+    }
+
+    private static String[] symbols(int count) {
+        String[] symbols = new String[count];
+        symbols[0] = "IBM";
+        for (int i = 1; i < count; i++) {
+            symbols[i] = "SYM" + i;
+        }
+        return symbols;
+    }
+
+    /**
+     * @return The cumulative probabilities of a Zipf distribution: a few symbols get most visits.
+     */
+    private static double[] zipf(int count, double exponent) {
+        double[] cumulative = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * Latencies and error count of one endpoint.
+     */
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long latency, boolean failed) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized String row(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return String.format(Locale.ROOT, "%-22s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint, count, errors,
+                    count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
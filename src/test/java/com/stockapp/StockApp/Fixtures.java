@@ -0,0 +1,54 @@
+package com.stockapp.StockApp;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import com.stockapp.StockApp.model.URLCreator;
+
+/**
+ * Recorded Alpha Vantage responses used by the tests, stored under {@code fixtures/}.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param function The Alpha Vantage function.
+     * @return The recorded JSON response for that function.
+     */
+    public static String forFunction(URLCreator.FunctionType function) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/IBM_" + function.name() + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture for " + function);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param url An Alpha Vantage query URL.
+     * @return The recorded JSON response for the function requested by the URL.
+     */
+    public static String forUrl(String url) {
+        for (URLCreator.FunctionType function : URLCreator.FunctionType.values()) {
+            if (url.contains("function=" + function.name() + "&")) {
+                return forFunction(function);
+            }
+        }
+        throw new IllegalArgumentException("No fixture for " + url);
+    }
+
+    /**
+     * @param url An Alpha Vantage query URL.
+     * @return The recorded response for the function requested by the URL, as a body stream.
+     */
+    public static InputStream streamForUrl(String url) {
+        return new ByteArrayInputStream(forUrl(url).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package com.stockapp.StockApp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.stockapp.StockApp.service.MarketDataService;
+import com.stockapp.StockApp.service.UpstreamQuotaScheduler;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheConfigTests {
+    private final MarketDataCacheProperties properties = new MarketDataCacheProperties();
+
+    @Test
+    void everySpecGetsItsOwnTtlAndWeightBound() {
+        properties.getSpecs().put("overview", spec(Duration.ofDays(7), Duration.ofDays(1), DataSize.ofMegabytes(16)));
+        properties.getSpecs().put("balanceSheet", spec(Duration.ofDays(180), null, DataSize.ofMegabytes(32)));
+
+        CacheManager cacheManager = cacheManager();
+
+        Policy<Object, Object> overview = nativeCache(cacheManager, "overview").policy();
+        assertEquals(Duration.ofDays(7), overview.expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertEquals(Duration.ofDays(1), overview.refreshAfterWrite().orElseThrow().getRefreshesAfter());
+        assertEquals(DataSize.ofMegabytes(16).toBytes(), overview.eviction().orElseThrow().getMaximum());
+        Policy<Object, Object> balanceSheet = nativeCache(cacheManager, "balanceSheet").policy();
+        assertEquals(Duration.ofDays(180), balanceSheet.expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertFalse(balanceSheet.refreshAfterWrite().isPresent());
+        assertEquals(DataSize.ofMegabytes(32).toBytes(), balanceSheet.eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void cachesWithoutSpecAreBoundedByTheDefaults() {
+        properties.getDefaults().setTtl(Duration.ofMinutes(30));
+        properties.getDefaults().setMaxWeight(DataSize.ofKilobytes(64));
+
+        Policy<Object, Object> unknown = nativeCache(cacheManager(), "somethingElse").policy();
+
+        assertEquals(Duration.ofMinutes(30), unknown.expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertEquals(DataSize.ofKilobytes(64).toBytes(), unknown.eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void entriesAreEvictedByEstimatedSize() {
+        properties.getSpecs().put("stocks", spec(Duration.ofDays(1), null, DataSize.ofKilobytes(100)));
+        Cache<Object, Object> stocks = nativeCache(cacheManager(), "stocks");
+
+        for (int i = 0; i < 20; i++) {
+            stocks.put("SYM" + i, new double[2_000]);
+        }
+        stocks.cleanUp();
+
+        assertTrue(stocks.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= DataSize.ofKilobytes(100).toBytes());
+        assertTrue(stocks.estimatedSize() < 20);
+        assertTrue(stocks.stats().evictionCount() > 0);
+    }
+
+    @Test
+    void statisticsArePublishedAsCacheMetrics() {
+        properties.getSpecs().put("overview", spec(Duration.ofDays(7), null, DataSize.ofMegabytes(16)));
+        CaffeineCache overview = (CaffeineCache) cacheManager().getCache("overview");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsRegistrar(registry, List.of(new CaffeineCacheMeterBinderProvider()))
+                .bindCacheToRegistry(overview, Tag.of("cache.manager", "cacheManager"));
+
+        overview.get("IBM");
+        overview.put("IBM", "overview");
+        overview.get("IBM");
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "overview", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "overview", "result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tags("cache", "overview").gauge().value());
+    }
+
+    private CacheManager cacheManager() {
+        return new CacheConfig().cacheManager(properties,
+                new StaticListableBeanFactory().getBeanProvider(MarketDataService.class), new SimpleAsyncTaskExecutor(),
+                new UpstreamQuotaScheduler(new AlphaVantageProperties(), new SimpleMeterRegistry()), new StandardEnvironment());
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private static MarketDataCacheProperties.Spec spec(Duration ttl, Duration refreshAfter, DataSize maxWeight) {
+        MarketDataCacheProperties.Spec spec = new MarketDataCacheProperties.Spec();
+        spec.setTtl(ttl);
+        spec.setRefreshAfter(refreshAfter);
+        spec.setMaxWeight(maxWeight);
+        return spec;
+    }
+}
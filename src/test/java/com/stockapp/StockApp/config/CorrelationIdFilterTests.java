@@ -0,0 +1,76 @@
+package com.stockapp.StockApp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.stockapp.StockApp.service.CorrelationIds;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class CorrelationIdFilterTests {
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void callerIdIsLoggedAndEchoed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/companies");
+        request.addHeader(CorrelationIds.HEADER, "dashboard-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals("dashboard-42", filter(request, response));
+        assertEquals("dashboard-42", response.getHeader(CorrelationIds.HEADER));
+        assertNull(MDC.get(CorrelationIds.MDC_KEY));
+    }
+
+    @Test
+    void missingOrImplausibleIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/companies");
+        request.addHeader(CorrelationIds.HEADER, "a\nforged log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String correlationId = filter(request, response);
+
+        assertNotEquals("a\nforged log line", correlationId);
+        assertEquals(correlationId, UUID.fromString(correlationId).toString());
+        assertEquals(correlationId, response.getHeader(CorrelationIds.HEADER));
+    }
+
+    @Test
+    void executorTasksInheritTheId() throws Exception {
+        AtomicReference<String> inTask = new AtomicReference<>();
+        Runnable task;
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(CorrelationIds.MDC_KEY, "request-1")) {
+            task = CorrelationIds.propagate(() -> inTask.set(MDC.get(CorrelationIds.MDC_KEY)));
+        }
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertEquals("request-1", inTask.get());
+    }
+
+    /**
+     * @return The correlation ID in the MDC while the request was handled.
+     */
+    private String filter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                seen.set(MDC.get(CorrelationIds.MDC_KEY));
+            }
+        }));
+        return seen.get();
+    }
+}
@@ -0,0 +1,55 @@
+package com.stockapp.StockApp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.service.AlphaVantageService;
+import com.stockapp.StockApp.service.CorrelationIds;
+import com.stockapp.StockApp.service.ValuationService;
+
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "stockapp.response-store.enabled=false",
+        "stockapp.market-data.history-store=memory"})
+class ExecutorConfigTests {
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @Autowired
+    private AsyncTaskExecutor marketDataExecutor;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Test
+    void virtualThreadModeLoadsMarketDataOnVirtualThreads() throws Exception {
+        doAnswer(invocation -> Fixtures.streamForUrl(invocation.getArgument(0)))
+                .when(alphaVantageService).openStream(anyString());
+        MDC.put(CorrelationIds.MDC_KEY, "virtual-1");
+        try {
+            assertTrue(marketDataExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+            assertEquals("virtual-1", marketDataExecutor.submit(() -> MDC.get(CorrelationIds.MDC_KEY)).get());
+        } finally {
+            MDC.remove(CorrelationIds.MDC_KEY);
+        }
+
+        List<BigDecimal> growthRates = new ArrayList<>(Collections.nCopies(10, new BigDecimal("0.05")));
+        growthRates.add(new BigDecimal("0.02"));
+        assertNotNull(valuationService.calculateDCF(growthRates, "IBM"));
+    }
+}
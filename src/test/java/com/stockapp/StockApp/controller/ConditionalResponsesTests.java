@@ -0,0 +1,151 @@
+package com.stockapp.StockApp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.model.MarketDataset;
+import com.stockapp.StockApp.service.AlphaVantageService;
+import com.stockapp.StockApp.service.MarketDataService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "stockapp.response-store.enabled=false", "stockapp.market-data.history-store=memory",
+        "stockapp.universe.warm-up.enabled=false", "stockapp.cache.specs.incomeStatement.refresh-after=1s"})
+class ConditionalResponsesTests {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @Autowired
+    private MarketDataService marketDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void stubUpstream() throws Exception {
+        doAnswer(invocation -> Fixtures.streamForUrl(invocation.getArgument(0)))
+                .when(alphaVantageService).openStream(anyString());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(alphaVantageService);
+    }
+
+    @Test
+    void unchangedDataIsAnsweredWithAnEmpty304() throws Exception {
+        HttpResponse<byte[]> first = get("/api/stockDashboard/IBM/overview", null);
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(200, first.statusCode());
+        assertEquals("max-age=86400, public", first.headers().firstValue("Cache-Control").orElseThrow());
+
+        HttpResponse<byte[]> second = get("/api/stockDashboard/IBM/overview", eTag);
+
+        assertEquals(304, second.statusCode());
+        assertEquals(0, second.body().length);
+        assertEquals(eTag, second.headers().firstValue("ETag").orElseThrow());
+        assertEquals(200, get("/api/stockDashboard/IBM/balanceSheet", eTag).statusCode());
+        verify(alphaVantageService, times(2)).openStream(anyString());
+    }
+
+    @Test
+    void refreshedDataGetsANewETag() throws Exception {
+        String eTag = get("/api/stockDashboard/IBM/overview", null).headers().firstValue("ETag").orElseThrow();
+
+        cacheManager.getCache("overview").put("IBM", marketDataService.reload(MarketDataset.OVERVIEW, "IBM"));
+        HttpResponse<byte[]> response = get("/api/stockDashboard/IBM/overview", eTag);
+
+        assertEquals(200, response.statusCode());
+        assertNotEquals(eTag, response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void conditionalRequestsRefreshStaleEntries() throws Exception {
+        String eTag = get("/api/stockDashboard/IBM/incomeStatement", null).headers().firstValue("ETag").orElseThrow();
+        Thread.sleep(1100);
+
+        // The stale entry is still current for the client, but the lookup reloads it.
+        assertEquals(304, get("/api/stockDashboard/IBM/incomeStatement", eTag).statusCode());
+        verify(alphaVantageService, timeout(2000).times(2)).openStream(contains("function=INCOME_STATEMENT&"));
+        LoadingCache<?, ?> incomeStatements = (LoadingCache<?, ?>) cacheManager.getCache("incomeStatement").getNativeCache();
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (!incomeStatements.policy().refreshes().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        HttpResponse<byte[]> response = get("/api/stockDashboard/IBM/incomeStatement", eTag);
+        assertEquals(200, response.statusCode());
+        assertNotEquals(eTag, response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void lastModifiedDateRevalidatesClientsWithoutETag() throws Exception {
+        HttpResponse<byte[]> first = get("/api/stockDashboard/IBM/overview", null);
+        String lastModified = first.headers().firstValue("Last-Modified").orElseThrow();
+
+        assertEquals(304, get("/api/stockDashboard/IBM/overview", null, lastModified).statusCode());
+        assertEquals(200, get("/api/stockDashboard/IBM/overview", "W/\"outdated\"", lastModified).statusCode());
+        assertEquals(200, get("/api/stockDashboard/IBM/overview", null, "yesterday").statusCode());
+
+        Thread.sleep(1100);
+        cacheManager.getCache("overview").put("IBM", marketDataService.reload(MarketDataset.OVERVIEW, "IBM"));
+        HttpResponse<byte[]> refreshed = get("/api/stockDashboard/IBM/overview", null, lastModified);
+
+        assertEquals(200, refreshed.statusCode());
+        assertNotEquals(lastModified, refreshed.headers().firstValue("Last-Modified").orElseThrow());
+    }
+
+    @Test
+    void largeResponsesAreCompressed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/stockDashboard/IBM/balanceSheet"))
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertNotNull(response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        return get(path, ifNoneMatch, null);
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch, String ifModifiedSince)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        if (ifModifiedSince != null) {
+            request.header("If-Modified-Since", ifModifiedSince);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,215 @@
+package com.stockapp.StockApp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.model.MarketDataset;
+import com.stockapp.StockApp.service.AlphaVantageService;
+import com.stockapp.StockApp.service.DashboardBundleService;
+import com.stockapp.StockApp.service.MarketDataService;
+import com.stockapp.StockApp.service.ValuationService;
+import com.stockapp.StockApp.util.Distribution;
+
+@SpringBootTest(properties = {"stockapp.response-store.enabled=false", "stockapp.market-data.history-store=memory"})
+class StockChartsControllerTests {
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @Autowired
+    private StockChartsController controller;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MarketDataService marketDataService;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void stubUpstream() throws Exception {
+        doAnswer(invocation -> Fixtures.streamForUrl(invocation.getArgument(0)))
+                .when(alphaVantageService).openStream(anyString());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(alphaVantageService);
+    }
+
+    @Test
+    void dcfOnWarmSymbolMakesNoUpstreamCalls() throws Exception {
+        controller.getOverview("IBM", null, null);
+        controller.getAnnualIncomeStatements("IBM", null, null);
+        controller.getAnnualBalanceSheet("IBM", null, null);
+        controller.getAnnualCashFlow("IBM", null, null);
+        verify(alphaVantageService, times(4)).openStream(anyString());
+        clearInvocations(alphaVantageService);
+
+        ResponseEntity<Map<String, Object>> response = controller.handleDCFConnection(growthRates(), "IBM");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(response.getBody().get("value"));
+        verify(alphaVantageService, never()).openStream(anyString());
+    }
+
+    @Test
+    void coldDcfFetchesEachDatasetOnce() throws Exception {
+        controller.handleDCFConnection(growthRates(), "IBM");
+        controller.handleDCFConnection(growthRates(), "ibm");
+
+        verify(alphaVantageService, times(4)).openStream(anyString());
+    }
+
+    @Test
+    void bundleReturnsReadySectionsWhenOneFails() throws Exception {
+        doThrow(new RuntimeException("Error in API: 503"))
+                .when(alphaVantageService).openStream(contains("function=BALANCE_SHEET&"));
+
+        ResponseEntity<DashboardBundleService.Bundle> response = controller.getDashboardBundle("IBM",
+                List.of("overview", "balanceSheet", "cashFlowStatement"), null, null);
+
+        DashboardBundleService.Bundle bundle = response.getBody();
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(bundle.section(MarketDataset.OVERVIEW));
+        assertNotNull(bundle.section(MarketDataset.CASH_FLOW_STATEMENT));
+        assertEquals(List.of("balanceSheet"), List.copyOf(bundle.errors().keySet()));
+
+        JsonNode json = objectMapper.valueToTree(bundle);
+        assertEquals("IBM", json.get("symbol").asText());
+        assertEquals("IBM", json.get("overview").get("symbol").asText());
+        assertTrue(json.get("cashFlowStatement").isArray());
+        assertFalse(json.has("sections"));
+        assertTrue(json.get("errors").has("balanceSheet"));
+    }
+
+    @Test
+    void batchValuesScenariosInRequestOrderWithOneLoad() throws Exception {
+        List<BigDecimal> rates = growthRates().getGrowthRates();
+        StockChartsController.DCFScenarios request = new StockChartsController.DCFScenarios();
+        request.setScenarios(List.of(
+                new ValuationService.Scenario(rates, null),
+                new ValuationService.Scenario(rates, new BigDecimal("0.12")),
+                new ValuationService.Scenario(rates, new BigDecimal("0.01")),
+                new ValuationService.Scenario(null, null)));
+
+        ResponseEntity<Map<String, Object>> response = controller.handleDCFBatch(request, "IBM");
+
+        assertEquals(200, response.getStatusCode().value());
+        List<?> scenarios = (List<?>) response.getBody().get("scenarios");
+        assertEquals(4, scenarios.size());
+        ValuationService.ScenarioValuation atWacc = (ValuationService.ScenarioValuation) scenarios.get(0);
+        ValuationService.ScenarioValuation overridden = (ValuationService.ScenarioValuation) scenarios.get(1);
+        assertEquals(response.getBody().get("wacc"), atWacc.discountRate());
+        assertEquals(controller.handleDCFConnection(growthRates(), "IBM").getBody().get("value"), atWacc.value());
+        assertEquals(new BigDecimal("0.12"), overridden.discountRate());
+        assertTrue(overridden.value().compareTo(atWacc.value()) < 0);
+        assertNotNull(((ValuationService.ScenarioValuation) scenarios.get(2)).error());
+        assertNotNull(((ValuationService.ScenarioValuation) scenarios.get(3)).error());
+        verify(alphaVantageService, times(4)).openStream(anyString());
+    }
+
+    @Test
+    void valuationInputsAreDerivedAgainOnlyAfterADatasetChanged() throws Exception {
+        ValuationService.ValuationInputs inputs = valuationService.loadValuationInputs("IBM");
+        assertSame(inputs, valuationService.loadValuationInputs("ibm"));
+
+        // A refresh replaces the cached overview; the next valuation reads the new value.
+        cacheManager.getCache("overview").put("IBM", marketDataService.reload(MarketDataset.OVERVIEW, "IBM"));
+        ValuationService.ValuationInputs refreshed = valuationService.loadValuationInputs("IBM");
+
+        assertNotEquals(inputs.version(), refreshed.version());
+        assertEquals(inputs.wacc(), refreshed.wacc());
+        assertSame(refreshed, valuationService.loadValuationInputs("IBM"));
+        verify(alphaVantageService, times(5)).openStream(anyString());
+
+        // An evicted dataset is loaded again by the next valuation, which derives new inputs.
+        cacheManager.getCache("overview").evict("IBM");
+        assertNotEquals(refreshed.version(), valuationService.loadValuationInputs("IBM").version());
+        verify(alphaVantageService, times(6)).openStream(anyString());
+    }
+
+    @Test
+    void sensitivityGridIsCenteredOnWaccAndTerminalGrowth() throws Exception {
+        BigDecimal value = (BigDecimal) controller.handleDCFConnection(growthRates(), "IBM").getBody().get("value");
+
+        ResponseEntity<Map<String, Object>> response = controller.handleDCFSensitivity(growthRates(), "IBM",
+                51, new BigDecimal("0.002"), 51, new BigDecimal("0.001"));
+
+        assertEquals(200, response.getStatusCode().value());
+        Map<String, Object> grid = response.getBody();
+        List<?> discountRates = (List<?>) grid.get("discountRates");
+        List<?> terminalGrowthRates = (List<?>) grid.get("terminalGrowthRates");
+        List<?> values = (List<?>) grid.get("values");
+        assertEquals(51, discountRates.size());
+        assertEquals(51, values.size());
+        assertEquals(grid.get("wacc"), discountRates.get(25));
+        assertEquals(0, new BigDecimal("0.02").compareTo((BigDecimal) terminalGrowthRates.get(25)));
+        BigDecimal center = (BigDecimal) ((List<?>) values.get(25)).get(25);
+        assertEquals(value.doubleValue(), center.doubleValue(), 0.0100001);
+        assertEquals(400, controller.handleDCFSensitivity(growthRates(), "IBM", 0, new BigDecimal("0.002"), 5,
+                new BigDecimal("0.001")).getStatusCode().value());
+        verify(alphaVantageService, times(4)).openStream(anyString());
+    }
+
+    @Test
+    void simulationWithoutUncertaintyCentersOnTheValuation() throws Exception {
+        BigDecimal value = (BigDecimal) controller.handleDCFConnection(growthRates(), "IBM").getBody().get("value");
+        List<Distribution> growth = Collections.nCopies(10, Distribution.fixed(0.05));
+        ValuationService.SimulationRequest request = new ValuationService.SimulationRequest(growth,
+                Distribution.fixed(0.02), null, null, 10_000L, 7L, null, 10);
+
+        ResponseEntity<Object> response = controller.handleDCFSimulation(request, "IBM");
+
+        assertEquals(200, response.getStatusCode().value());
+        ValuationService.SimulationResult result = (ValuationService.SimulationResult) response.getBody();
+        assertEquals(10_000, result.completed());
+        assertEquals(7, result.seed());
+        assertEquals(value.doubleValue(), result.percentiles().get("p50").doubleValue(), Math.abs(value.doubleValue()) * 0.01);
+        assertEquals(10, result.histogram().counts().size());
+        assertEquals(400, controller.handleDCFSimulation(new ValuationService.SimulationRequest(growth, null, null, null,
+                null, null, null, null), "IBM").getStatusCode().value());
+        assertEquals(400, controller.handleDCFSimulation(new ValuationService.SimulationRequest(
+                Collections.nCopies(51, Distribution.fixed(0.05)), Distribution.fixed(0.02), null, null, null, null, null,
+                null), "IBM").getStatusCode().value());
+    }
+
+    private static StockChartsController.GrowthRates growthRates() {
+        List<BigDecimal> rates = new ArrayList<>(Collections.nCopies(10, new BigDecimal("0.05")));
+        rates.add(new BigDecimal("0.02"));
+        StockChartsController.GrowthRates growthRates = new StockChartsController.GrowthRates();
+        growthRates.setGrowthRates(rates);
+        return growthRates;
+    }
+}
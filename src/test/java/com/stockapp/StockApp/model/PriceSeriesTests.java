@@ -0,0 +1,42 @@
+package com.stockapp.StockApp.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PriceSeriesTests {
+
+    @Test
+    void builderKeepsDateOrderWhenPrependingPastInitialCapacity() {
+        PriceSeries.Builder builder = PriceSeries.builder("IBM", false);
+        int newest = (int) LocalDate.of(2025, 2, 28).toEpochDay();
+        for (int i = 0; i < 1000; i++) {
+            builder.prepend(newest - i, i);
+        }
+
+        PriceSeries series = builder.build();
+
+        assertEquals(1000, series.size());
+        assertEquals(newest - 999, series.epochDay(0));
+        assertEquals(999.0, series.adjustedClose(0), 1e-9);
+        assertEquals(LocalDate.of(2025, 2, 28), series.date(999));
+        assertEquals(999, series.indexOf(newest));
+    }
+
+    @Test
+    void serializesAsListOfStockRows() throws Exception {
+        PriceSeries series = PriceSeries.builder("IBM", false)
+                .append(PriceSeries.parseEpochDay("2025-01-31"), 240.5)
+                .append(PriceSeries.parseEpochDay("2025-02-28"), 250.0)
+                .build();
+
+        String json = new ObjectMapper().writeValueAsString(series);
+
+        assertEquals("[{\"symbol\":\"IBM\",\"price\":240.5,\"date\":\"2025-01-31\"},"
+                + "{\"symbol\":\"IBM\",\"price\":250.0,\"date\":\"2025-02-28\"}]", json);
+    }
+}
@@ -0,0 +1,196 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.stockapp.StockApp.AlphaVantageStubServer;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.config.ResponseStoreProperties;
+import com.stockapp.StockApp.model.Overview;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AlphaVantageServiceTests {
+    private final AlphaVantageService service = new AlphaVantageService(null, new AlphaVantageProperties(), ResponseStore.NONE,
+            new UpstreamQuotaScheduler(new AlphaVantageProperties(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+    @Test
+    void parseStockDataReturnsRowsOldestFirst() {
+        String json = Fixtures.forFunction(URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED);
+
+        PriceSeries series = service.parseStockData("IBM", json, URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED);
+
+        assertEquals(300, series.size());
+        assertEquals(LocalDate.of(2025, 2, 28), series.date(series.size() - 1));
+        assertEquals(250.0, series.adjustedClose(series.size() - 1), 1e-9);
+        for (int i = 1; i < series.size(); i++) {
+            assertTrue(series.epochDay(i - 1) < series.epochDay(i));
+        }
+    }
+
+    @Test
+    void parseStockDataRejectsRowWithoutAdjustedClose() {
+        String json = "{\"Meta Data\": {\"1. Information\": [1, {\"a\": 2}]},"
+                + "\"Monthly Adjusted Time Series\": {"
+                + "\"2025-02-28\": {\"1. open\": \"1.0\", \"5. adjusted close\": \"2.5\"},"
+                + "\"2025-01-31\": {\"1. open\": \"1.0\"}}}";
+
+        assertThrows(RuntimeException.class,
+                () -> service.parseStockData("IBM", json, URLCreator.FunctionType.TIME_SERIES_MONTHLY_ADJUSTED));
+    }
+
+    @Test
+    void fetchesFromConfiguredEndpointWithApiKey() throws Exception {
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start().withApiKey("test-key")) {
+            AlphaVantageService stubbed = serviceFor(stub);
+            URLCreator request = new URLCreator("MSFT", URLCreator.FunctionType.OVERVIEW);
+
+            Overview overview = stubbed.fetch(request, body -> stubbed.parseOverview("MSFT", body, URLCreator.FunctionType.OVERVIEW));
+
+            assertEquals("MSFT", overview.getSymbol());
+            assertEquals(1, stub.getRequestCount());
+            assertTrue(stubbed.loggableUrlOf(request).startsWith(stub.getBaseUrl() + "?function=OVERVIEW"));
+            assertTrue(stubbed.loggableUrlOf(request).endsWith("apikey=***"));
+        }
+    }
+
+    @Test
+    void rateLimitNoteIsNotParsedAsData() throws Exception {
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start().withRateLimitNoteRate(1.0)) {
+            AlphaVantageService stubbed = serviceFor(stub);
+            URLCreator request = new URLCreator("MSFT", URLCreator.FunctionType.BALANCE_SHEET);
+
+            RuntimeException e = assertThrows(RuntimeException.class, () -> stubbed.fetch(request,
+                    body -> stubbed.parseAnnualBalanceSheet("MSFT", body, URLCreator.FunctionType.BALANCE_SHEET)));
+            assertTrue(e.getMessage().contains("call frequency"));
+        }
+    }
+
+    @Test
+    void recordsUpstreamAndParseMetricsPerFunction() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start()) {
+            AlphaVantageService stubbed = serviceFor(stub, registry);
+            URLCreator request = new URLCreator("IBM", URLCreator.FunctionType.OVERVIEW);
+            AlphaVantageService.BodyParser<Overview> parser = body -> stubbed.parseOverview("IBM", body, URLCreator.FunctionType.OVERVIEW);
+
+            stubbed.fetch(request, parser);
+            stub.withErrorRate(1.0);
+            assertThrows(RuntimeException.class, () -> stubbed.fetch(request, parser));
+        }
+
+        assertEquals(1, registry.get("alphavantage.upstream.requests").tags("function", "OVERVIEW", "status", "200").timer().count());
+        assertEquals(1, registry.get("alphavantage.upstream.requests").tags("function", "OVERVIEW", "status", "503").timer().count());
+        assertEquals(1, registry.get("alphavantage.parse").tags("function", "OVERVIEW", "source", "upstream", "outcome", "success").timer().count());
+        assertEquals(Fixtures.forFunction(URLCreator.FunctionType.OVERVIEW).getBytes(StandardCharsets.UTF_8).length,
+                registry.get("alphavantage.payload.size").tags("function", "OVERVIEW").summary().totalAmount(), 0.0);
+    }
+
+    @Test
+    void decompressesGzipEncodedBodies() throws Exception {
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start()) {
+            AlphaVantageService stubbed = serviceFor(stub);
+
+            String json = stubbed.getJSONData(stubbed.urlOf(new URLCreator("IBM", URLCreator.FunctionType.OVERVIEW)));
+
+            assertEquals(Fixtures.forFunction(URLCreator.FunctionType.OVERVIEW), json);
+            assertEquals(1, stub.getGzipResponseCount());
+        }
+    }
+
+    @Test
+    void responseHeadersNotReceivedInTimeFail() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start().withLatency(Duration.ofSeconds(10), Duration.ofSeconds(10))) {
+            AlphaVantageService stubbed = serviceFor(stub, registry, Duration.ofMillis(300));
+            URLCreator request = new URLCreator("IBM", URLCreator.FunctionType.OVERVIEW);
+
+            assertThrows(HttpTimeoutException.class, () -> stubbed.getJSONData(stubbed.urlOf(request)));
+        }
+
+        assertEquals(1, registry.get("alphavantage.upstream.requests").tags("function", "OVERVIEW", "status", "TIMEOUT").timer().count());
+    }
+
+    @Test
+    void stalledBodyFailsOnceTheRequestTimeoutExpires() throws Exception {
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start().withBodyStall(Duration.ofSeconds(30))) {
+            AlphaVantageService stubbed = serviceFor(stub, new SimpleMeterRegistry(), Duration.ofMillis(500));
+            URLCreator request = new URLCreator("IBM", URLCreator.FunctionType.BALANCE_SHEET);
+            long start = System.nanoTime();
+
+            Exception e = assertThrows(Exception.class, () -> stubbed.fetch(request,
+                    body -> stubbed.parseAnnualBalanceSheet("IBM", body, URLCreator.FunctionType.BALANCE_SHEET)));
+
+            assertTrue(e.getCause() instanceof HttpTimeoutException, e.toString());
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+            assertThrows(HttpTimeoutException.class, () -> stubbed.getJSONData(stubbed.urlOf(request)));
+        }
+    }
+
+    @Test
+    void truncatedBodyFailsAndIsNotStored(@TempDir Path directory) throws Exception {
+        ResponseStoreProperties storeProperties = new ResponseStoreProperties();
+        storeProperties.setDirectory(directory);
+        DiskResponseStore store = new DiskResponseStore(storeProperties);
+        try (AlphaVantageStubServer stub = AlphaVantageStubServer.start().withTruncatedBodies(true)) {
+            AlphaVantageService stubbed = serviceFor(stub, new SimpleMeterRegistry(), store);
+            URLCreator statements = new URLCreator("IBM", URLCreator.FunctionType.BALANCE_SHEET);
+            URLCreator overview = new URLCreator("IBM", URLCreator.FunctionType.OVERVIEW);
+
+            assertThrows(UncheckedIOException.class, () -> stubbed.fetch(statements,
+                    body -> stubbed.parseAnnualBalanceSheet("IBM", body, URLCreator.FunctionType.BALANCE_SHEET)));
+            assertThrows(UncheckedIOException.class, () -> stubbed.fetch(overview,
+                    body -> stubbed.parseOverview("IBM", body, URLCreator.FunctionType.OVERVIEW)));
+        }
+
+        assertEquals(0, store.size());
+        assertNull(store.openFresh(new URLCreator("IBM", URLCreator.FunctionType.BALANCE_SHEET)));
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    private static AlphaVantageService serviceFor(AlphaVantageStubServer stub) {
+        return serviceFor(stub, new SimpleMeterRegistry());
+    }
+
+    private static AlphaVantageService serviceFor(AlphaVantageStubServer stub, SimpleMeterRegistry registry) {
+        return serviceFor(stub, registry, new AlphaVantageProperties().getHttp().getRequestTimeout());
+    }
+
+    private static AlphaVantageService serviceFor(AlphaVantageStubServer stub, SimpleMeterRegistry registry, Duration requestTimeout) {
+        return serviceFor(stub, registry, requestTimeout, ResponseStore.NONE);
+    }
+
+    private static AlphaVantageService serviceFor(AlphaVantageStubServer stub, SimpleMeterRegistry registry, ResponseStore store) {
+        return serviceFor(stub, registry, new AlphaVantageProperties().getHttp().getRequestTimeout(), store);
+    }
+
+    private static AlphaVantageService serviceFor(AlphaVantageStubServer stub, SimpleMeterRegistry registry, Duration requestTimeout,
+            ResponseStore store) {
+        AlphaVantageProperties properties = new AlphaVantageProperties();
+        properties.setBaseUrl(stub.getBaseUrl());
+        properties.setApiKey("test-key");
+        properties.getHttp().setRequestTimeout(requestTimeout);
+        return new AlphaVantageService(HttpClient.newHttpClient(), properties, store,
+                new UpstreamQuotaScheduler(properties, registry), registry);
+    }
+}
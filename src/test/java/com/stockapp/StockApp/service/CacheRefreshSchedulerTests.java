@@ -0,0 +1,110 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.stockapp.StockApp.Fixtures;
+import com.stockapp.StockApp.model.Overview;
+
+@SpringBootTest(properties = {
+        "stockapp.response-store.enabled=false",
+        "stockapp.market-data.history-store=memory",
+        "stockapp.cache.specs.overview.refresh-after=1s",
+        "stockapp.cache.specs.overview.ttl=1h",
+        "stockapp.cache.refresh.interval=1h",
+        "stockapp.cache.refresh.ahead-ratio=0.5"})
+class CacheRefreshSchedulerTests {
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @MockitoSpyBean
+    private UpstreamQuotaScheduler quotaScheduler;
+
+    @Autowired
+    private MarketDataService marketDataService;
+
+    @Autowired
+    private CacheRefreshScheduler cacheRefreshScheduler;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void stubUpstream() throws Exception {
+        doAnswer(invocation -> Fixtures.streamForUrl(invocation.getArgument(0)))
+                .when(alphaVantageService).openStream(anyString());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(alphaVantageService);
+    }
+
+    /**
+     * Waits for background reloads a test left running, so they do not call the spy while the
+     * next test stubs it.
+     */
+    @AfterEach
+    void awaitPendingRefreshes() throws Exception {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name).getNativeCache() instanceof LoadingCache<?, ?> cache) {
+                while (!cache.policy().refreshes().isEmpty() && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            }
+        }
+    }
+
+    @Test
+    void staleEntryIsServedWhileReloadingAndKeptWhenReloadFails() throws Exception {
+        Overview first = marketDataService.getOverview("IBM");
+        Thread.sleep(1100);
+        doThrow(new RuntimeException("Error in API: 503")).when(alphaVantageService).openStream(anyString());
+
+        assertSame(first, marketDataService.getOverview("IBM"));
+        verify(alphaVantageService, timeout(2000).times(2)).openStream(anyString());
+
+        assertSame(first, marketDataService.getOverview("IBM"));
+    }
+
+    @Test
+    void staleEntryIsNotReloadedIntoTheDailyReserve() throws Exception {
+        Overview first = marketDataService.getOverview("IBM");
+        Thread.sleep(1100);
+        doReturn(5).when(quotaScheduler).getRemainingToday();
+
+        assertSame(first, marketDataService.getOverview("IBM"));
+        verify(alphaVantageService, after(500).times(1)).openStream(anyString());
+
+        doCallRealMethod().when(quotaScheduler).getRemainingToday();
+        marketDataService.getOverview("IBM");
+        verify(alphaVantageService, timeout(2000).times(2)).openStream(anyString());
+    }
+
+    @Test
+    void hotEntryIsRefreshedAheadOfExpiry() throws Exception {
+        marketDataService.getOverview("IBM");
+        Thread.sleep(600);
+
+        assertEquals(1, cacheRefreshScheduler.refreshHotEntries());
+        verify(alphaVantageService, timeout(2000).times(2)).openStream(anyString());
+    }
+}
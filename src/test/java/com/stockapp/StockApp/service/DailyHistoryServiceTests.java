@@ -0,0 +1,85 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.config.MarketDataProperties;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+class DailyHistoryServiceTests {
+    private static final int DAY = 20000;
+
+    @Test
+    void mergeAppendsNewRowsAndKeepsOlderHistory() {
+        PriceSeries stored = series(DAY, 1.0, 2.0, 3.0, 4.0);
+        PriceSeries recent = series(DAY + 2, 3.0, 4.0, 5.0);
+
+        PriceSeries merged = DailyHistoryService.merge(stored, recent);
+
+        assertEquals(5, merged.size());
+        assertEquals(DAY, merged.epochDay(0));
+        assertEquals(5.0, merged.adjustedClose(4), 1e-9);
+        assertEquals(2.0, merged.adjustedClose(1), 1e-9);
+    }
+
+    @Test
+    void mergeRescalesOlderRowsAfterReadjustment() {
+        PriceSeries stored = series(DAY, 10.0, 20.0, 30.0);
+        // 2:1 split after the stored rows were fetched: upstream now reports halved closes
+        PriceSeries recent = series(DAY + 1, 10.0, 15.0, 7.0);
+
+        PriceSeries merged = DailyHistoryService.merge(stored, recent);
+
+        assertEquals(4, merged.size());
+        assertEquals(5.0, merged.adjustedClose(0), 1e-9);
+        assertEquals(10.0, merged.adjustedClose(1), 1e-9);
+        assertEquals(7.0, merged.adjustedClose(3), 1e-9);
+    }
+
+    @Test
+    void mergeWithoutCommonDateReturnsNull() {
+        PriceSeries stored = series(DAY, 1.0, 2.0);
+        PriceSeries recent = series(DAY + 5, 3.0, 4.0);
+
+        assertNull(DailyHistoryService.merge(stored, recent));
+    }
+
+    @Test
+    void refreshDownloadsFullHistoryOnceThenCompact() throws Exception {
+        AlphaVantageService service = mock(AlphaVantageService.class);
+        when(service.fetch(withOutputSize(URLCreator.OutputSize.FULL), any())).thenReturn(series(DAY, 1.0, 2.0, 3.0));
+        when(service.fetch(withOutputSize(URLCreator.OutputSize.COMPACT), any())).thenReturn(series(DAY + 2, 3.0, 4.0));
+        DailyHistoryService dailyHistory = new DailyHistoryService(service, new InFlightRequests(new AlphaVantageProperties()),
+                new InMemoryPriceHistoryStore(new MarketDataProperties()));
+
+        assertEquals(3, dailyHistory.refresh("ibm").size());
+        PriceSeries refreshed = dailyHistory.refresh("IBM");
+
+        assertEquals(4, refreshed.size());
+        assertEquals(4.0, refreshed.adjustedClose(3), 1e-9);
+        verify(service, times(1)).fetch(withOutputSize(URLCreator.OutputSize.FULL), any());
+        verify(service, times(1)).fetch(withOutputSize(URLCreator.OutputSize.COMPACT), any());
+    }
+
+    private static URLCreator withOutputSize(URLCreator.OutputSize outputSize) {
+        return argThat(request -> request != null && request.getOutputSize() == outputSize);
+    }
+
+    private static PriceSeries series(int firstDay, double... closes) {
+        PriceSeries.Builder builder = PriceSeries.builder("IBM", false);
+        for (int i = 0; i < closes.length; i++) {
+            builder.append(firstDay + i, closes[i]);
+        }
+        return builder.build();
+    }
+}
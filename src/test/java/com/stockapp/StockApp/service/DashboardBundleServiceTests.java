@@ -0,0 +1,38 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.stockapp.StockApp.config.MarketDataProperties;
+import com.stockapp.StockApp.model.CashFlow;
+import com.stockapp.StockApp.model.MarketDataset;
+
+class DashboardBundleServiceTests {
+    private final MarketDataService marketDataService = mock(MarketDataService.class);
+    private final DashboardBundleService bundleService = new DashboardBundleService(marketDataService,
+            new SimpleAsyncTaskExecutor(), new MarketDataProperties());
+
+    @Test
+    void failureWithoutMessageIsReportedByItsType() {
+        List<CashFlow> cashFlows = List.of();
+        when(marketDataService.getAnnualCashFlow("IBM")).thenReturn(cashFlows);
+        when(marketDataService.getOverview("IBM")).thenThrow(new NullPointerException());
+
+        DashboardBundleService.Bundle bundle = bundleService.loadBundle("IBM",
+                EnumSet.of(MarketDataset.OVERVIEW, MarketDataset.CASH_FLOW_STATEMENT));
+
+        assertEquals("IBM", bundle.symbol());
+        assertSame(cashFlows, bundle.section(MarketDataset.CASH_FLOW_STATEMENT));
+        assertNull(bundle.section(MarketDataset.OVERVIEW));
+        assertEquals("NullPointerException", bundle.errors().get("overview"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.stockapp.StockApp.config.ResponseStoreProperties;
+import com.stockapp.StockApp.model.URLCreator;
+
+class DiskResponseStoreTests {
+    private static final String BODY = "{\"Symbol\": \"IBM\", \"Description\": \"International Business Machines\"}";
+    private static final URLCreator OVERVIEW = new URLCreator("IBM", URLCreator.FunctionType.OVERVIEW);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void committedResponseIsServedAfterRestart() throws Exception {
+        record(new DiskResponseStore(properties()), OVERVIEW, BODY, true);
+
+        DiskResponseStore restarted = new DiskResponseStore(properties());
+
+        assertEquals(1, restarted.size());
+        try (InputStream stored = restarted.openFresh(OVERVIEW)) {
+            assertNotNull(stored);
+            assertEquals(BODY, new String(stored.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void discardedResponseIsNotStored() throws Exception {
+        DiskResponseStore store = new DiskResponseStore(properties());
+
+        record(store, OVERVIEW, BODY, false);
+
+        assertNull(store.openFresh(OVERVIEW));
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void staleResponseIsNotServed() throws Exception {
+        ResponseStoreProperties properties = properties();
+        properties.getFreshness().put(URLCreator.FunctionType.OVERVIEW, Duration.ZERO);
+        DiskResponseStore store = new DiskResponseStore(properties);
+
+        record(store, OVERVIEW, BODY, true);
+        Thread.sleep(5);
+
+        assertNull(store.openFresh(OVERVIEW));
+    }
+
+    @Test
+    void olderResponsesArePruned() throws Exception {
+        DiskResponseStore store = new DiskResponseStore(properties());
+
+        for (int i = 0; i < 4; i++) {
+            record(store, OVERVIEW, BODY + i, true);
+            Thread.sleep(2);
+        }
+
+        try (Stream<Path> files = Files.list(directory.resolve("IBM").resolve("OVERVIEW"))) {
+            assertEquals(2, files.count());
+        }
+        try (InputStream stored = store.openFresh(OVERVIEW)) {
+            assertEquals(BODY + 3, new String(stored.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void unsafeSymbolIsNeverStored() throws Exception {
+        DiskResponseStore store = new DiskResponseStore(properties());
+        URLCreator request = new URLCreator("../IBM", URLCreator.FunctionType.OVERVIEW);
+
+        record(store, request, BODY, true);
+
+        assertNull(store.openFresh(request));
+        assertEquals(0, store.size());
+    }
+
+    private ResponseStoreProperties properties() {
+        ResponseStoreProperties properties = new ResponseStoreProperties();
+        properties.setDirectory(directory);
+        return properties;
+    }
+
+    /**
+     * Records a body the way AlphaVantageService does, reading only part of it before the
+     * commit to check that the stored copy is still complete.
+     */
+    private static void record(ResponseStore store, URLCreator request, String body, boolean commit) throws IOException {
+        InputStream upstream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        ResponseStore.Recording recording = store.record(request, upstream);
+        try {
+            recording.read(new byte[10]);
+            if (commit) {
+                recording.commit();
+            }
+        } finally {
+            recording.discard();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+import com.stockapp.StockApp.model.URLCreator;
+
+class InFlightRequestsTests {
+    private static final int CALLERS = 8;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final InFlightRequests inFlightRequests = new InFlightRequests(new AlphaVantageProperties());
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+
+        List<Future<Object>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            release.await();
+            return value;
+        });
+        awaitCoalesced(CALLERS - 1);
+        assertEquals(1, inFlightRequests.getInFlightCount());
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertSame(value, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, inFlightRequests.getCoalescedCount());
+        assertEquals(0, inFlightRequests.getInFlightCount());
+    }
+
+    @Test
+    void leaderFailureReachesEveryWaiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        List<Future<Object>> results = callConcurrently(() -> {
+            release.await();
+            throw failure;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(0, inFlightRequests.getInFlightCount());
+    }
+
+    @Test
+    void waitersGiveUpAfterTheJoinTimeout() throws Exception {
+        AlphaVantageProperties properties = new AlphaVantageProperties();
+        properties.getQuota().setEnabled(false);
+        properties.getHttp().setRequestTimeout(Duration.ofMillis(200));
+        InFlightRequests bounded = new InFlightRequests(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = callers.submit(() -> bounded.execute("ibm", URLCreator.FunctionType.OVERVIEW, () -> {
+            release.await();
+            return "late";
+        }));
+        while (bounded.getInFlightCount() == 0) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(TimeoutException.class, () -> bounded.execute("IBM", URLCreator.FunctionType.OVERVIEW, () -> "own"));
+
+        release.countDown();
+        assertEquals("late", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void compactAndFullSeriesAreLoadedSeparately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> full = callers.submit(() -> inFlightRequests.execute("IBM",
+                URLCreator.FunctionType.TIME_SERIES_DAILY_ADJUSTED, URLCreator.OutputSize.FULL, () -> {
+                    release.await();
+                    return "full";
+                }));
+        while (inFlightRequests.getInFlightCount() == 0) {
+            Thread.sleep(5);
+        }
+
+        assertEquals("compact", inFlightRequests.execute("IBM", URLCreator.FunctionType.TIME_SERIES_DAILY_ADJUSTED,
+                URLCreator.OutputSize.COMPACT, () -> "compact"));
+
+        release.countDown();
+        assertEquals("full", full.get(5, TimeUnit.SECONDS));
+        assertEquals(0, inFlightRequests.getCoalescedCount());
+    }
+
+    private List<Future<Object>> callConcurrently(Callable<Object> loader) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // Symbols differing in case share one entry.
+            String symbol = i % 2 == 0 ? "ibm" : "IBM";
+            results.add(callers.submit(() -> inFlightRequests.execute(symbol, URLCreator.FunctionType.OVERVIEW, loader)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlightRequests.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(inFlightRequests.getCoalescedCount() >= expected, "callers did not join the in-flight load");
+    }
+}
@@ -0,0 +1,121 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.stockapp.StockApp.model.MappedPriceSeries;
+import com.stockapp.StockApp.model.PriceSeries;
+import com.stockapp.StockApp.model.URLCreator;
+
+class MappedPriceHistoryStoreTests {
+    private static final URLCreator.FunctionType DAILY = URLCreator.FunctionType.TIME_SERIES_DAILY_ADJUSTED;
+    private static final int DAY = 20000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedSeriesIsServedFromMappedFileAfterRestart() {
+        PriceSeries saved = new MappedPriceHistoryStore(directory).save("IBM", DAILY, series(DAY, 1.0, 2.0, 3.0));
+
+        PriceSeries loaded = new MappedPriceHistoryStore(directory).load("IBM", DAILY);
+
+        assertInstanceOf(MappedPriceSeries.class, saved);
+        assertEquals(3, loaded.size());
+        assertEquals(DAY + 2, loaded.epochDay(2));
+        assertEquals(3.0, loaded.adjustedClose(2), 1e-9);
+        assertNull(new MappedPriceHistoryStore(directory).load("MSFT", DAILY));
+    }
+
+    @Test
+    void newerRowsAreAppendedAndEarlierViewsStayValid() throws Exception {
+        MappedPriceHistoryStore store = new MappedPriceHistoryStore(directory);
+        PriceSeries first = store.save("IBM", DAILY, series(DAY, 1.0, 2.0));
+        Path file = directory.resolve("IBM").resolve(DAILY.name() + ".prices");
+        Object fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+
+        PriceSeries second = store.save("IBM", DAILY, series(DAY, 1.0, 2.0, 3.0, 4.0));
+
+        assertEquals(fileKey, Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+        assertEquals(16 + 4 * 16, Files.size(file));
+        assertEquals(4, second.size());
+        assertEquals(4.0, second.adjustedClose(3), 1e-9);
+        assertEquals(2, first.size());
+        assertEquals(2.0, first.adjustedClose(1), 1e-9);
+    }
+
+    @Test
+    void readjustedHistoryRewritesFile() {
+        MappedPriceHistoryStore store = new MappedPriceHistoryStore(directory);
+        PriceSeries first = store.save("IBM", DAILY, series(DAY, 10.0, 20.0));
+
+        PriceSeries second = store.save("IBM", DAILY, series(DAY, 5.0, 10.0, 12.0));
+
+        assertEquals(5.0, second.adjustedClose(0), 1e-9);
+        assertEquals(3, new MappedPriceHistoryStore(directory).load("IBM", DAILY).size());
+        assertEquals(10.0, first.adjustedClose(0), 1e-9);
+    }
+
+    @Test
+    void rewriteGoesToANewGenerationAndRemovesThePreviousOne() throws Exception {
+        MappedPriceHistoryStore store = new MappedPriceHistoryStore(directory);
+        store.save("IBM", DAILY, series(DAY, 10.0, 20.0));
+
+        store.save("IBM", DAILY, series(DAY, 5.0, 10.0, 12.0));
+        store.save("IBM", DAILY, series(DAY, 2.5, 5.0, 6.0));
+
+        try (Stream<Path> files = Files.list(directory.resolve("IBM"))) {
+            assertEquals(List.of(DAILY.name() + ".2.prices"), files.map(file -> file.getFileName().toString()).toList());
+        }
+        PriceSeries loaded = new MappedPriceHistoryStore(directory).load("IBM", DAILY);
+        assertEquals(2.5, loaded.adjustedClose(0), 1e-9);
+    }
+
+    @Test
+    void corruptFileIsSetAsideAndWrittenAgain() throws Exception {
+        Path file = directory.resolve("IBM").resolve(DAILY.name() + ".prices");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "not a price file at all".getBytes(StandardCharsets.UTF_8));
+        MappedPriceHistoryStore store = new MappedPriceHistoryStore(directory);
+
+        assertNull(store.load("IBM", DAILY));
+        assertTrue(Files.exists(file.resolveSibling(DAILY.name() + ".prices.corrupt")));
+
+        store.save("IBM", DAILY, series(DAY, 1.0, 2.0));
+        assertEquals(2, new MappedPriceHistoryStore(directory).load("IBM", DAILY).size());
+    }
+
+    @Test
+    void rangeIsViewOfMappedRecords() {
+        PriceSeries saved = new MappedPriceHistoryStore(directory).save("IBM", DAILY, series(DAY, 1.0, 2.0, 3.0, 4.0));
+
+        PriceSeries range = saved.between(LocalDate.ofEpochDay(DAY + 1), LocalDate.ofEpochDay(DAY + 2));
+
+        assertInstanceOf(MappedPriceSeries.class, range);
+        assertEquals(2, range.size());
+        assertEquals(2.0, range.adjustedClose(0), 1e-9);
+        assertEquals(DAY + 2, range.epochDay(1));
+        assertEquals(0, saved.between(LocalDate.ofEpochDay(DAY + 10), null).size());
+    }
+
+    private static PriceSeries series(int firstDay, double... closes) {
+        PriceSeries.Builder builder = PriceSeries.builder("IBM", false);
+        for (int i = 0; i < closes.length; i++) {
+            builder.append(firstDay + i, closes[i]);
+        }
+        return builder.build();
+    }
+}
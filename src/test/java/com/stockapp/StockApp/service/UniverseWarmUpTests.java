@@ -0,0 +1,79 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.stockapp.StockApp.Fixtures;
+
+@SpringBootTest(properties = {
+        "stockapp.response-store.enabled=false",
+        "stockapp.market-data.history-store=memory",
+        "stockapp.universe.companies[0].symbol=IBM",
+        "stockapp.universe.companies[0].name=International Business Machines",
+        "stockapp.universe.warm-up.sections=STOCKS,OVERVIEW,INCOME_STATEMENT,BALANCE_SHEET",
+        "stockapp.universe.warm-up.parallelism=2",
+        "stockapp.universe.warm-up.ready-threshold=0.75"})
+class UniverseWarmUpTests {
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @Autowired
+    private UniverseWarmUp warmUp;
+
+    @Autowired
+    private MarketDataService marketDataService;
+
+    @Autowired
+    @Qualifier("warmUpHealthIndicator")
+    private HealthIndicator warmUpHealth;
+
+    @Test
+    void notReadyUntilThresholdThenServesFromCache() throws Exception {
+        CountDownLatch upstream = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            upstream.await(5, TimeUnit.SECONDS);
+            return Fixtures.streamForUrl(invocation.getArgument(0));
+        }).when(alphaVantageService).openStream(anyString());
+
+        var run = warmUp.start();
+        verify(alphaVantageService, timeout(2000).times(2)).openStream(anyString());
+        assertFalse(warmUp.isReady());
+        assertEquals(Status.OUT_OF_SERVICE, warmUpHealth.health().getStatus());
+
+        upstream.countDown();
+        run.get(10, TimeUnit.SECONDS);
+
+        assertTrue(warmUp.isReady());
+        assertEquals(Status.UP, warmUpHealth.health().getStatus());
+        assertEquals(4, warmUp.getLoaded());
+        assertEquals(0, warmUp.getFailed());
+        assertEquals(4, warmUpHealth.health().getDetails().get("loaded"));
+
+        clearInvocations(alphaVantageService);
+        marketDataService.getStockData("IBM");
+        marketDataService.getOverview("IBM");
+        marketDataService.getAnnualIncomeStatements("IBM");
+        marketDataService.getAnnualBalanceSheet("IBM");
+        verify(alphaVantageService, never()).openStream(anyString());
+    }
+}
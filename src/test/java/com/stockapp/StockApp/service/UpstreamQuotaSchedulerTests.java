@@ -0,0 +1,81 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.stockapp.StockApp.config.AlphaVantageProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamQuotaSchedulerTests {
+
+    @Test
+    void burstIsServedAtOnceThenFailsFastWhenWaitExceedsDeadline() throws Exception {
+        UpstreamQuotaScheduler scheduler = scheduler(60, 2, 0, Duration.ofMillis(100));
+
+        scheduler.acquire(RequestPriority.INTERACTIVE);
+        scheduler.acquire(RequestPriority.INTERACTIVE);
+        long start = System.nanoTime();
+        QuotaExceededException e = assertThrows(QuotaExceededException.class,
+                () -> scheduler.acquire(RequestPriority.INTERACTIVE));
+
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(100).toNanos());
+        assertTrue(e.getRetryAfter().toMillis() > 100);
+    }
+
+    @Test
+    void dailyBudgetRejectsOnceUsedUp() throws Exception {
+        UpstreamQuotaScheduler scheduler = scheduler(60, 5, 2, Duration.ofSeconds(1));
+
+        scheduler.acquire(RequestPriority.INTERACTIVE);
+        scheduler.acquire(RequestPriority.BACKGROUND);
+
+        assertEquals(0, scheduler.getRemainingToday());
+        assertThrows(QuotaExceededException.class, () -> scheduler.acquire(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    void interactiveRequestGoesAheadOfWaitingBackgroundRequest() throws Exception {
+        UpstreamQuotaScheduler scheduler = scheduler(600, 1, 0, Duration.ofSeconds(5));
+        scheduler.acquire(RequestPriority.INTERACTIVE);
+        List<RequestPriority> served = new CopyOnWriteArrayList<>();
+
+        Thread background = new Thread(() -> acquire(scheduler, RequestPriority.BACKGROUND, served));
+        background.start();
+        while (scheduler.getWaitingCount() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread interactive = new Thread(() -> acquire(scheduler, RequestPriority.INTERACTIVE, served));
+        interactive.start();
+        background.join();
+        interactive.join();
+
+        assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND), served);
+    }
+
+    private static void acquire(UpstreamQuotaScheduler scheduler, RequestPriority priority, List<RequestPriority> served) {
+        try {
+            scheduler.acquire(priority);
+            served.add(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UpstreamQuotaScheduler scheduler(int perMinute, int burst, int perDay, Duration maxWait) {
+        AlphaVantageProperties properties = new AlphaVantageProperties();
+        properties.getQuota().setRequestsPerMinute(perMinute);
+        properties.getQuota().setBurst(burst);
+        properties.getQuota().setRequestsPerDay(perDay);
+        properties.getQuota().setInteractiveWait(maxWait);
+        properties.getQuota().setBackgroundWait(maxWait);
+        return new UpstreamQuotaScheduler(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,55 @@
+package com.stockapp.StockApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.stockapp.StockApp.Fixtures;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = {"stockapp.response-store.enabled=false", "stockapp.market-data.history-store=memory"})
+class ValuationServiceTests {
+
+    @MockitoSpyBean
+    private AlphaVantageService alphaVantageService;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void stubUpstream() throws Exception {
+        doAnswer(invocation -> Fixtures.streamForUrl(invocation.getArgument(0)))
+                .when(alphaVantageService).openStream(anyString());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void warmInputsAreReadFromTheCachesWithoutFanningOut() throws Exception {
+        long fanOuts = registry.timer("stockapp.dcf.inputs").count();
+        ValuationService.ValuationInputs first = valuationService.loadValuationInputs("ibm");
+        assertEquals(fanOuts + 1, registry.timer("stockapp.dcf.inputs").count());
+
+        assertSame(first, valuationService.loadValuationInputs("IBM"));
+        assertEquals(fanOuts + 1, registry.timer("stockapp.dcf.inputs").count());
+        verify(alphaVantageService, times(4)).openStream(anyString());
+    }
+}
@@ -0,0 +1,115 @@
+package com.stockapp.StockApp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class DCFValuationUtilTests {
+    /** One cent, plus slack for a HALF_UP tie rounded differently by the two modes. */
+    private static final double TOLERANCE = 0.0100001;
+
+    private final DCFValuationUtil fast = new DCFValuationUtil(DCFValuationUtil.Precision.DOUBLE);
+    private final DCFValuationUtil exact = new DCFValuationUtil(DCFValuationUtil.Precision.BIG_DECIMAL);
+
+    @Test
+    void doubleStaysWithinACentOfTheBigDecimalReference() {
+        Random random = new Random(42);
+        for (int run = 0; run < 2000; run++) {
+            int years = 1 + random.nextInt(20);
+            List<BigDecimal> growthRates = new ArrayList<>();
+            for (int i = 0; i < years; i++) {
+                growthRates.add(rate(-0.10 + 0.35 * random.nextDouble()));
+            }
+            BigDecimal terminalGrowth = rate(0.04 * random.nextDouble());
+            growthRates.add(terminalGrowth);
+            BigDecimal discountRate = terminalGrowth.add(rate(0.005 + 0.15 * random.nextDouble()));
+            BigDecimal lastYearFCF = BigDecimal.valueOf(random.nextLong(1_000_000L, 100_000_000_000L));
+            BigDecimal shares = BigDecimal.valueOf(random.nextLong(1_000_000L, 10_000_000_000L));
+            BigDecimal netDebt = BigDecimal.valueOf(random.nextLong(-10_000_000_000L, 200_000_000_000L));
+
+            BigDecimal reference = exact.calculateDCF(lastYearFCF, growthRates, discountRate, shares, netDebt);
+            BigDecimal price = fast.calculateDCF(lastYearFCF, growthRates, discountRate, shares, netDebt);
+
+            assertEquals(reference.doubleValue(), price.doubleValue(), TOLERANCE,
+                    "run " + run + ": " + growthRates + " at " + discountRate);
+            assertEquals(2, price.scale());
+        }
+    }
+
+    @Test
+    void ibmValuationAgreesInBothModes() {
+        List<BigDecimal> growthRates = new ArrayList<>(Arrays.asList(rate(0.08), rate(0.07), rate(0.06), null, rate(0.04)));
+        growthRates.add(new BigDecimal("0.025"));
+        BigDecimal lastYearFCF = new BigDecimal("12634000000");
+        BigDecimal wacc = new BigDecimal("0.0903");
+        BigDecimal shares = new BigDecimal("927256000");
+        BigDecimal netDebt = new BigDecimal("41049400000");
+
+        BigDecimal reference = exact.calculateDCF(lastYearFCF, growthRates, wacc, shares, netDebt);
+
+        assertEquals(reference.doubleValue(), fast.calculateDCF(lastYearFCF, growthRates, wacc, shares, netDebt).doubleValue(),
+                TOLERANCE);
+    }
+
+    @Test
+    void sensitivityGridMatchesSingleValuations() {
+        double[] growthRates = {0.08, 0.07, 0.06, 0.05, 0.04, 0.025};
+        double[] discountRates = new double[37];
+        for (int i = 0; i < discountRates.length; i++) {
+            discountRates[i] = -0.01 + 0.005 * i;
+        }
+        double[] terminalGrowthRates = {0.0, 0.01, 0.02, 0.03, 0.04};
+        double[] projected = fast.projectCashFlows(12_634_000_000.0, growthRates);
+
+        double[][] grid;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            grid = fast.calculateSensitivityGrid(projected, discountRates, terminalGrowthRates, 927_256_000.0,
+                    41_049_400_000.0, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int row = 0; row < discountRates.length; row++) {
+            for (int column = 0; column < terminalGrowthRates.length; column++) {
+                double r = discountRates[row];
+                double g = terminalGrowthRates[column];
+                if (r <= 0 || r <= g) {
+                    assertTrue(Double.isNaN(grid[row][column]), r + " / " + g);
+                    continue;
+                }
+                double[] rates = growthRates.clone();
+                rates[rates.length - 1] = g;
+                double expected = fast.calculateDCF(12_634_000_000.0, rates, r, 927_256_000.0, 41_049_400_000.0);
+                assertEquals(expected, grid[row][column], Math.abs(expected) * 1e-12, r + " / " + g);
+            }
+        }
+    }
+
+    @Test
+    void invalidInputsAreRejectedInBothModes() {
+        List<BigDecimal> growthRates = List.of(rate(0.05), rate(0.03));
+        BigDecimal shares = new BigDecimal("1000");
+        for (DCFValuationUtil util : List.of(fast, exact)) {
+            assertThrows(ArithmeticException.class,
+                    () -> util.calculateDCF(BigDecimal.TEN, growthRates, rate(0.03), shares, BigDecimal.ZERO));
+            assertThrows(IllegalArgumentException.class,
+                    () -> util.calculateDCF(BigDecimal.TEN.negate(), growthRates, rate(0.08), shares, BigDecimal.ZERO));
+            assertThrows(ArithmeticException.class,
+                    () -> util.calculateDCF(BigDecimal.TEN, growthRates, rate(0.08), BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+    }
+
+    private static BigDecimal rate(double value) {
+        return BigDecimal.valueOf(Math.round(value * 10_000) / 10_000.0);
+    }
+}
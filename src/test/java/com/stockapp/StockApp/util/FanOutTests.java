@@ -0,0 +1,102 @@
+package com.stockapp.StockApp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutTests {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void tasksRunConcurrentlyAndCompleteTogether() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (FanOut fanOut = new FanOut(executor, Duration.ofSeconds(5))) {
+            Future<String> a = fanOut.submit(() -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return "a";
+            });
+            Future<String> b = fanOut.submit(() -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return "b";
+            });
+
+            fanOut.awaitAll();
+
+            assertEquals("a", a.get());
+            assertEquals("b", b.get());
+        }
+    }
+
+    @Test
+    void firstFailureIsThrownWithoutWaitingForTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("balance sheet failed");
+        long start = System.nanoTime();
+        try (FanOut fanOut = new FanOut(executor, Duration.ofSeconds(30))) {
+            fanOut.submit(() -> release.await(30, TimeUnit.SECONDS));
+            fanOut.submit(() -> {
+                throw failure;
+            });
+
+            assertSame(failure, assertThrows(IllegalStateException.class, fanOut::awaitAll));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void deadlineFailsTheGroupAndLetsRunningTasksFinish() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        try {
+            try (FanOut fanOut = new FanOut(single, Duration.ofMillis(100))) {
+                fanOut.submit(() -> {
+                    try {
+                        finished.set(release.await(10, TimeUnit.SECONDS));
+                        return null;
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        throw e;
+                    }
+                });
+                fanOut.submit(() -> queuedRan.getAndSet(true));
+
+                assertThrows(TimeoutException.class, fanOut::awaitAll);
+            }
+            release.countDown();
+            single.shutdown();
+            assertTrue(single.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertFalse(interrupted.get());
+            assertTrue(finished.get());
+            assertFalse(queuedRan.get());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.stockapp.StockApp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class MonteCarloDCFTests {
+    private static final MonteCarloDCF.Company IBM = new MonteCarloDCF.Company(12_634_000_000.0, 927_256_000.0,
+            41_049_400_000.0, 0.0461, 1_712_000_000.0, 58_642_000_000.0, 236_574_000_000.0, -218_000_000.0,
+            5_797_000_000.0);
+
+    private final DCFValuationUtil dcfUtil = new DCFValuationUtil();
+    private final MonteCarloDCF monteCarlo = new MonteCarloDCF(dcfUtil, 0.005);
+
+    @Test
+    void sameSeedGivesTheSameResultWhateverTheParallelism() {
+        MonteCarloDCF.Inputs inputs = new MonteCarloDCF.Inputs(
+                Collections.nCopies(5, new Distribution(Distribution.Type.NORMAL, null, 0.06, 0.03, -0.2, null, 0.4)),
+                new Distribution(Distribution.Type.TRIANGULAR, null, null, null, 0.0, 0.025, 0.04),
+                new Distribution(Distribution.Type.UNIFORM, null, null, null, 0.5, null, 1.0),
+                Distribution.fixed(0.1));
+
+        MonteCarloDCF.Result sequential = run(inputs, 1, 42);
+        MonteCarloDCF.Result parallel = run(inputs, 4, 42);
+        MonteCarloDCF.Result otherSeed = run(inputs, 4, 43);
+
+        assertEquals(100_000, sequential.completed());
+        assertEquals(sequential.mean(), parallel.mean());
+        assertEquals(sequential.stdDev(), parallel.stdDev());
+        assertEquals(sequential.sketch().quantile(0.05), parallel.sketch().quantile(0.05));
+        assertEquals(sequential.sketch().quantile(0.95), parallel.sketch().quantile(0.95));
+        assertTrue(sequential.mean() != otherSeed.mean());
+        assertTrue(sequential.stdDev() > 0);
+    }
+
+    @Test
+    void fixedInputsReproduceTheSingleValuation() {
+        double[] rates = {0.08, 0.07, 0.06, 0.05, 0.04, 0.025};
+        MonteCarloDCF.Inputs inputs = new MonteCarloDCF.Inputs(
+                List.of(Distribution.fixed(0.08), Distribution.fixed(0.07), Distribution.fixed(0.06),
+                        Distribution.fixed(0.05), Distribution.fixed(0.04)),
+                Distribution.fixed(0.025), Distribution.fixed(0.71), Distribution.fixed(0.1));
+        double wacc = dcfUtil.calculateWACCFromFinancialAndMarketData(IBM.riskFreeRate(), 0.71, IBM.interestExpense(),
+                IBM.totalDebt(), IBM.marketCapitalization(), IBM.taxProvision(), IBM.pretaxIncome(), 0.1);
+        double expected = dcfUtil.calculateDCF(IBM.lastYearFCF(), rates, wacc, IBM.numberOfShares(), IBM.netDebt());
+
+        MonteCarloDCF.Result result = run(inputs, 2, 1);
+
+        assertEquals(expected, result.mean(), Math.abs(expected) * 1e-12);
+        assertEquals(0, result.stdDev(), 1e-6);
+        assertEquals(expected, result.sketch().quantile(0.5), Math.abs(expected) * 0.005);
+        assertEquals(0, result.invalid());
+    }
+
+    @Test
+    void incompleteDistributionIsRejected() {
+        MonteCarloDCF.Inputs inputs = new MonteCarloDCF.Inputs(
+                List.of(new Distribution(Distribution.Type.NORMAL, null, 0.05, null, null, null, null)),
+                Distribution.fixed(0.02), Distribution.fixed(1), Distribution.fixed(0.1));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> run(inputs, 1, 1));
+        assertEquals("growthRates[0]: stdDev is missing.", e.getMessage());
+    }
+
+    private MonteCarloDCF.Result run(MonteCarloDCF.Inputs inputs, int parallelism, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return monteCarlo.simulate(IBM, inputs, 100_000, seed, Duration.ofMinutes(1), pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.stockapp.StockApp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PayloadSizeEstimatorTests {
+
+    @Test
+    void cyclicValuesAreWeighedOnce() {
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.next = second;
+        second.next = first;
+        List<Object> selfContaining = new ArrayList<>();
+        selfContaining.add(selfContaining);
+        Map<String, Object> map = new HashMap<>();
+        map.put("self", map);
+
+        long pair = PayloadSizeEstimator.estimateBytes(first);
+
+        assertTrue(pair > 0);
+        assertEquals(pair, PayloadSizeEstimator.estimateBytes(second));
+        assertTrue(PayloadSizeEstimator.estimateBytes(selfContaining) > 0);
+        assertTrue(PayloadSizeEstimator.estimateBytes(map) > 0);
+    }
+
+    @Test
+    void sharedValuesAreCountedOnce() {
+        double[] column = new double[1000];
+        long once = PayloadSizeEstimator.estimateBytes(List.of(column));
+
+        long twice = PayloadSizeEstimator.estimateBytes(List.of(column, column));
+
+        assertTrue(once > 8 * column.length);
+        assertEquals(once + 4, twice);
+    }
+
+    private static final class Node {
+        private final String name;
+        private Node next;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.stockapp.StockApp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTests {
+
+    @Test
+    void quantilesAreWithinTheRelativeAccuracy() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < values.length; i++) {
+            // Mostly positive prices with a long right tail, some negative ones and some zeros
+            values[i] = i % 50 == 0 ? 0 : Math.exp(3 + random.nextGaussian()) - 5;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 1}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertEquals(exact, sketch.quantile(q), Math.abs(exact) * 0.01 + 1e-9, "q=" + q);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertEquals(values[0], sketch.getMin());
+        assertEquals(values[values.length - 1], sketch.getMax());
+    }
+
+    @Test
+    void mergedSketchesEqualOneSketchOfAllValues() {
+        Random random = new Random(11);
+        QuantileSketch all = new QuantileSketch(0.005);
+        QuantileSketch first = new QuantileSketch(0.005);
+        QuantileSketch second = new QuantileSketch(0.005);
+        for (int i = 0; i < 20_000; i++) {
+            double value = 100 * random.nextGaussian();
+            all.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+        }
+        first.merge(second);
+
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertEquals(all.quantile(q), first.quantile(q), "q=" + q);
+        }
+        assertEquals(all.getCount(), first.getCount());
+    }
+}